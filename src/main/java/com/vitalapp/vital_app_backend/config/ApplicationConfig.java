@@ -1,7 +1,11 @@
 package com.vitalapp.vital_app_backend.config;
 
-import com.vitalapp.vital_app_backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,20 +13,42 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import lombok.RequiredArgsConstructor;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
-    private final UserRepository userRepository;
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationConfig.class);
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final int MAX_CALIBRATED_STRENGTH = 16;
+
+    private final UserDetailsCache userDetailsCache;
+    private final CustomUserDetailsService customUserDetailsService;
+
+    /**
+     * Coste BCrypt fijo, usado cuando la calibración está desactivada.
+     */
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${security.password.target-hash-time:250ms}")
+    private Duration targetHashTime;
+
+    @Value("${security.password.min-strength:10}")
+    private int minStrength;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        return userDetailsCache::get;
     }
 
     @Bean
@@ -30,6 +56,8 @@ public class ApplicationConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash transparente en el login cuando el hash almacenado usa un coste antiguo
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
@@ -38,8 +66,23 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Encoder delegante con BCrypt como algoritmo actual.
+     *
+     * Los hashes sin prefijo {id} (anteriores a este encoder) se siguen verificando
+     * con BCrypt y, al igual que los de coste inferior al configurado, se marcan
+     * para actualización en el siguiente login correcto.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = calibrate
+                ? BCryptWorkFactorCalibrator.calibrate(targetHashTime, minStrength, MAX_CALIBRATED_STRENGTH)
+                : bcryptStrength;
+        logger.info("Usando BCrypt con coste {}", strength);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,177 @@
 package com.vitalapp.vital_app_backend.config;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Pools dedicados para los eventos de dominio, uno por tipo de evento, para que una
+ * ráfaga de citas no retrase las alertas de triaje. OutboxRelay entrega en ellos los
+ * eventos del outbox; el pool por defecto atiende los métodos @Async sin pool propio.
+ *
+ * Cada pool tiene cola acotada y una política para cuando se llena: caller-runs
+ * ejecuta la tarea en el hilo que publica (frena al productor sin perder el evento)
+ * y shed la descarta y la cuenta. Los hilos pueden ser de plataforma o virtuales
+ * (events.executor.virtual-threads, requiere JDK 21 en ejecución).
+ *
+ * Por pool (etiqueta lane) se exportan las tareas en cola y los hilos activos
+ * (events.executor.queued/active), el tiempo en cola y de ejecución de cada tarea
+ * (events.executor.wait/execution) y las tareas rechazadas (events.executor.rejected).
+ */
 @Configuration
 @EnableAsync
-public class AsyncConfig {
-}
\ No newline at end of file
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Pool de los eventos de triaje.
+     */
+    public static final String TRIAGE_EVENT_EXECUTOR = "triageEventExecutor";
+
+    /**
+     * Pool de los eventos de citas.
+     */
+    public static final String APPOINTMENT_EVENT_EXECUTOR = "appointmentEventExecutor";
+
+    /**
+     * Pool de los métodos @Async que no indican uno.
+     */
+    public static final String DEFAULT_EVENT_EXECUTOR = "defaultEventExecutor";
+
+    private final Environment environment;
+    // Los AsyncConfigurer se crean junto a los post-procesadores: el registro de métricas
+    // se obtiene al crear los pools para no inicializarlo antes de tiempo
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${events.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    public AsyncConfig(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(TRIAGE_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor triageEventExecutor() {
+        return eventExecutor("triage", 4, 500, RejectionPolicy.CALLER_RUNS);
+    }
+
+    @Bean(APPOINTMENT_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor appointmentEventExecutor() {
+        return eventExecutor("appointment", 2, 1000, RejectionPolicy.CALLER_RUNS);
+    }
+
+    @Bean(DEFAULT_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor defaultEventExecutor() {
+        return eventExecutor("default", 2, 200, RejectionPolicy.SHED);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return defaultEventExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> logger.error("Error no controlado en {}.{}: {}",
+                method.getDeclaringClass().getSimpleName(), method.getName(), ex.getMessage(), ex);
+    }
+
+    /**
+     * Crea el pool de un tipo de evento con las propiedades events.executor.&lt;lane&gt;.*
+     */
+    private ThreadPoolTaskExecutor eventExecutor(String lane, int defaultPoolSize, int defaultQueueCapacity,
+            RejectionPolicy defaultPolicy) {
+        String prefix = "events.executor." + lane + ".";
+        int poolSize = environment.getProperty(prefix + "pool-size", Integer.class, defaultPoolSize);
+        int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, defaultQueueCapacity);
+        RejectionPolicy policy = RejectionPolicy.from(
+                environment.getProperty(prefix + "rejection", defaultPolicy.name()));
+        String threadNamePrefix = "evt-" + lane + "-";
+        Tags tags = Tags.of("lane", lane);
+        MeterRegistry registry = meterRegistry.getObject();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        executor.setTaskDecorator(new EventTaskDecorator(
+                Timer.builder("events.executor.wait")
+                        .description("Tiempo que una tarea de evento espera en cola")
+                        .tags(tags)
+                        .register(registry),
+                Timer.builder("events.executor.execution")
+                        .description("Tiempo de ejecución de una tarea de evento")
+                        .tags(tags)
+                        .register(registry)));
+        executor.setRejectedExecutionHandler(policy.handler(lane, Counter.builder("events.executor.rejected")
+                .description("Tareas de evento que no cupieron en la cola")
+                .tags(tags.and("policy", policy.name().toLowerCase()))
+                .register(registry)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        // Los gauges leen el pool vigente: Spring lo crea al inicializar el bean
+        Gauge.builder("events.executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Tareas de evento en cola")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("events.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Hilos ejecutando tareas de evento")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("events.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("Hilos del pool de eventos")
+                .tags(tags)
+                .register(registry);
+        return executor;
+    }
+
+    /**
+     * Qué hacer con una tarea cuando la cola del pool está llena.
+     */
+    enum RejectionPolicy {
+        CALLER_RUNS,
+        SHED;
+
+        static RejectionPolicy from(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+
+        RejectedExecutionHandler handler(String lane, Counter rejected) {
+            return (task, pool) -> {
+                rejected.increment();
+                if (this == CALLER_RUNS) {
+                    logger.debug("Pool de eventos {} lleno: la tarea se ejecuta en el hilo que publica", lane);
+                    new ThreadPoolExecutor.CallerRunsPolicy().rejectedExecution(task, pool);
+                } else {
+                    logger.warn("Pool de eventos {} lleno: se descarta la tarea (cola: {})", lane, pool.getQueue().size());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.vitalapp.vital_app_backend.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Calibra el factor de trabajo de BCrypt para el hardware actual.
+ *
+ * Mide el tiempo de hash desde el coste mínimo hacia arriba y devuelve el mayor
+ * coste cuyo tiempo medio no supera el objetivo. Como cada incremento de coste
+ * duplica el tiempo, la medición se detiene en cuanto el siguiente paso excedería
+ * el objetivo, sin llegar a ejecutarlo.
+ */
+public final class BCryptWorkFactorCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptWorkFactorCalibrator.class);
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibracion-VitalApp-2024";
+
+    private BCryptWorkFactorCalibrator() {
+    }
+
+    /**
+     * @param target tiempo objetivo por hash
+     * @param minStrength coste mínimo aceptable (se devuelve aunque supere el objetivo)
+     * @param maxStrength coste máximo a considerar (4..31)
+     * @return coste elegido
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        long targetNanos = target.toNanos();
+        int chosen = minStrength;
+
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsed = measure(strength);
+            logger.debug("BCrypt coste {}: {} ms por hash", strength, elapsed / 1_000_000);
+
+            if (elapsed > targetNanos) {
+                break;
+            }
+            chosen = strength;
+            if (elapsed * 2 > targetNanos) {
+                break;
+            }
+        }
+
+        logger.info("Coste BCrypt calibrado: {} (objetivo {} ms)", chosen, target.toMillis());
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        // Calentamiento para no medir la carga de clases
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+        return (System.nanoTime() - start) / SAMPLES;
+    }
+}
@@ -42,7 +42,8 @@ public class CorsConfig {
             "Accept",
             "Origin",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"
+            "Access-Control-Request-Headers",
+            "X-New-Access-Token"
         ));
         
         // Tiempo máximo de cache para preflight request
@@ -1,26 +1,36 @@
 package com.vitalapp.vital_app_backend.config;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.vitalapp.vital_app_backend.model.User;
 import com.vitalapp.vital_app_backend.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserDetailsCache userDetailsCache;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        return userDetailsCache.get(username);
+    }
 
-        return user;
+    /**
+     * Persiste el hash actualizado tras un login correcto con un hash antiguo.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.invalidate(user.getUsername());
+        return userDetailsCache.get(user.getUsername());
     }
-}
\ No newline at end of file
+}
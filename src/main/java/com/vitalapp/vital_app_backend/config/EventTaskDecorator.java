@@ -0,0 +1,69 @@
+package com.vitalapp.vital_app_backend.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Decora las tareas de los pools de eventos: propaga el MDC y el contexto de
+ * seguridad del hilo que publica el evento, y mide el tiempo en cola y el de
+ * ejecución de cada tarea.
+ *
+ * Al terminar, el hilo del pool recupera el contexto que tenía, para que nada se
+ * filtre a la siguiente tarea.
+ */
+public class EventTaskDecorator implements TaskDecorator {
+
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+
+    public EventTaskDecorator(Timer waitTimer, Timer executionTimer) {
+        this.waitTimer = waitTimer;
+        this.executionTimer = executionTimer;
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SecurityContext security = copyOf(SecurityContextHolder.getContext());
+        long submittedAt = System.nanoTime();
+
+        return () -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurity = SecurityContextHolder.getContext();
+            apply(mdc);
+            SecurityContextHolder.setContext(security);
+            try {
+                task.run();
+            } finally {
+                apply(previousMdc);
+                SecurityContextHolder.setContext(previousSecurity);
+                executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    // Contexto propio de la tarea: el del publicador puede cambiar mientras espera en cola
+    private static SecurityContext copyOf(SecurityContext context) {
+        SecurityContext copy = SecurityContextHolder.createEmptyContext();
+        copy.setAuthentication(context.getAuthentication());
+        return copy;
+    }
+
+    private static void apply(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
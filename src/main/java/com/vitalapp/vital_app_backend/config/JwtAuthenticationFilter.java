@@ -1,9 +1,14 @@
 package com.vitalapp.vital_app_backend.config;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,6 +16,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.service.RefreshTokenService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +34,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserRevocationCache userRevocationCache;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Si está activo, el principal se reconstruye desde los claims firmados del token
+     * en lugar de consultar la tabla de usuarios en cada petición.
+     */
+    @Value("${jwt.stateless-principal.enabled:true}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -40,35 +61,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+
+        // Un único parseo por petición: los claims verificados se reutilizan
+        // para el subject y la expiración.
+        Claims claims;
+        boolean expired = false;
+        try {
+            claims = jwtService.extractAllClaims(jwt);
+        } catch (ExpiredJwtException e) {
+            claims = e.getClaims();
+            expired = true;
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Un refresh token solo se acepta en X-Refresh-Token, nunca como token de acceso
+        if (JwtService.isRefreshToken(claims)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else if (jwtService.isTokenExpired(jwt)) {
+            if (!expired) {
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            resolveAuthorities(claims, userDetails)
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            } else {
                 // intentar refresh
                 String refreshToken = request.getHeader("X-Refresh-Token");
                 if (refreshToken != null) {
                     try {
-                        String usernameRefresh = jwtService.extractUsername(refreshToken);
+                        Claims refreshClaims = jwtService.extractAllClaims(refreshToken);
+                        String usernameRefresh = refreshClaims.getSubject();
                         if (usernameRefresh != null && usernameRefresh.equals(userEmail)) {
-                            UserDetails userDetailsRefresh = userDetailsService.loadUserByUsername(usernameRefresh);
-                            if (jwtService.isTokenValid(refreshToken, userDetailsRefresh)) {
-                                String newAccessToken = jwtService.generateToken(userDetailsRefresh);
+                            User userRefresh = userDetailsCache.get(usernameRefresh);
+                            if (jwtService.isTokenValid(refreshClaims, userRefresh)
+                                    && refreshTokenService.isActive(refreshClaims, userRefresh)) {
+                                // Solo se renueva el token de acceso: la rotación del refresh token
+                                // queda para /auth/refresh, así las peticiones paralelas no chocan
+                                String newAccessToken = jwtService.generateToken(userRefresh);
                                 response.setHeader("X-New-Access-Token", newAccessToken);
                                 // autenticar con newAccessToken
                                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                        userDetailsRefresh,
+                                        userRefresh,
                                         null,
-                                        userDetailsRefresh.getAuthorities()
+                                        userRefresh.getAuthorities()
                                 );
                                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -83,4 +129,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene el principal del token: desde los claims en modo sin estado
+     * (con verificación de revocación en caché local) o desde la base de datos.
+     * Los tokens emitidos antes de incluir el claim de ID siguen el camino clásico.
+     *
+     * @return el principal, o null si el usuario está inactivo o revocado
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        if (!statelessPrincipal || userId == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        boolean activeAtIssue = Boolean.TRUE.equals(claims.get(JwtService.CLAIM_ACTIVE, Boolean.class));
+        if (!activeAtIssue || !userRevocationCache.isActive(userId)) {
+            return null;
+        }
+
+        return User.builder()
+                .id(userId)
+                .username(claims.getSubject())
+                .password("")
+                .active(true)
+                .build();
+    }
+
+    private Collection<? extends GrantedAuthority> resolveAuthorities(Claims claims, UserDetails userDetails) {
+        List<?> roles = claims.get(JwtService.CLAIM_ROLES, List.class);
+        if (!statelessPrincipal || roles == null) {
+            return userDetails.getAuthorities();
+        }
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+    }
+}
@@ -1,28 +1,52 @@
 package com.vitalapp.vital_app_backend.config;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+
+import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.vitalapp.vital_app_backend.model.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
 
+    /**
+     * Claims propios embebidos en cada token para reconstruir el principal
+     * sin consultar la tabla de usuarios.
+     */
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ACTIVE = "active";
+    public static final String CLAIM_ROLES = "roles";
+
+    /**
+     * Tipo de token: un refresh token no sirve como token de acceso ni al revés.
+     */
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -32,6 +56,49 @@ public class JwtService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    /**
+     * Clave HMAC y parser construidos una sola vez al arrancar.
+     */
+    private SecretKey signInKey;
+    private JwtParser jwtParser;
+
+    /**
+     * Claims ya verificados, indexados por el hash SHA-256 del token.
+     * Cada entrada vive como máximo hasta la expiración del propio token.
+     */
+    private Cache<String, Claims> claimsCache;
+
+    @PostConstruct
+    void init() {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long millisToExpiry = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millisToExpiry, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -50,45 +117,96 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    /**
+     * Genera un refresh token con el identificador (jti) registrado en el almacén de rotación.
+     */
+    public String generateRefreshToken(UserDetails userDetails, String jti) {
+        return buildToken(Map.of(Claims.ID, jti, CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH), userDetails, refreshExpiration);
+    }
+
+    /**
+     * Indica si los claims son de un refresh token. Los emitidos antes de incluir el
+     * tipo se reconocen por el jti, que los tokens de acceso nunca llevan.
+     */
+    public static boolean isRefreshToken(Claims claims) {
+        Object type = claims.get(CLAIM_TOKEN_TYPE);
+        return type != null ? TOKEN_TYPE_REFRESH.equals(type) : claims.getId() != null;
+    }
+
+    public long getRefreshExpiration() {
+        return refreshExpiration;
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
         long currentTimeMillis = System.currentTimeMillis();
 
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.putIfAbsent(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS);
+        if (userDetails instanceof User user) {
+            claims.putIfAbsent(CLAIM_USER_ID, user.getId());
+            claims.putIfAbsent(CLAIM_ACTIVE, user.isActive());
+        }
+        claims.putIfAbsent(CLAIM_ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+
         return Jwts.builder()
-                .claims(extraClaims)
+                .claims(claims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(currentTimeMillis))
                 .expiration(new Date(currentTimeMillis + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    /**
+     * Valida claims ya extraídos sin volver a parsear el token.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenExpired(extractAllClaims(token));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Devuelve los claims de un token con firma verificada.
+     *
+     * La firma se verifica una única vez por token; las llamadas posteriores
+     * se resuelven desde la caché hasta que el token expira. Un token inválido
+     * o expirado nunca entra en la caché y propaga la excepción de jjwt.
+     *
+     * @param token JWT compacto
+     * @return claims verificados
+     */
+    public Claims extractAllClaims(String token) {
+        String key = hashToken(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        claimsCache.put(key, claims);
+        return claims;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
-}
\ No newline at end of file
+}
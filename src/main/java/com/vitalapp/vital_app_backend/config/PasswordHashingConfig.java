@@ -0,0 +1,40 @@
+package com.vitalapp.vital_app_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pool dedicado para el hashing y la verificación de contraseñas (BCrypt).
+ *
+ * BCrypt consume CPU de forma deliberada. Aislarlo en un pool pequeño con cola
+ * acotada evita que una ráfaga de logins ocupe todos los hilos de Tomcat y deje
+ * sin CPU a los endpoints clínicos. Cuando la cola se llena, la tarea se rechaza
+ * y el cliente recibe 503 con Retry-After.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Value("${security.password-hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${security.password-hashing.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int threads = poolSize > 0
+                ? poolSize
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pwd-hash-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,47 @@
+package com.vitalapp.vital_app_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Habilita las tareas programadas (@Scheduled) de la aplicación.
+ *
+ * Las tareas cortas (heartbeat SSE, agrupación de cambios, recordatorios, recargas de
+ * cachés) comparten el planificador por defecto, dimensionado con
+ * spring.task.scheduling.pool.size. Las que pueden ocupar su hilo durante segundos
+ * (el relay del outbox, que espera a los listeners, y las purgas por lotes con pausas)
+ * indican {@code scheduler = BATCH_SCHEDULER} y corren en un planificador propio, para
+ * no retrasar a las demás.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Planificador de las tareas programadas de larga duración.
+     */
+    public static final String BATCH_SCHEDULER = "batchTaskScheduler";
+
+    @Value("${scheduling.batch.pool-size:3}")
+    private int batchPoolSize;
+
+    /**
+     * Planificador por defecto; al declarar otro, Spring Boot ya no crea el suyo.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(BATCH_SCHEDULER)
+    public ThreadPoolTaskScheduler batchTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(batchPoolSize);
+        scheduler.setThreadNamePrefix("batch-scheduling-");
+        return scheduler;
+    }
+}
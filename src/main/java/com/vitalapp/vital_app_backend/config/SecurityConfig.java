@@ -2,6 +2,7 @@ package com.vitalapp.vital_app_backend.config;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -70,6 +71,9 @@ public class SecurityConfig {
             .cors(cors -> {})  // Habilitar CORS
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Los despachos asíncronos (SSE, streaming) ya se autorizaron en la petición original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Rutas públicas
                 .requestMatchers("/").permitAll()
                 .requestMatchers("/health").permitAll()
@@ -83,8 +87,8 @@ public class SecurityConfig {
                     "/api-docs/**"
                 ).permitAll()
 
-                // Actuator (health checks)
-                .requestMatchers("/actuator/**").permitAll()
+                // Actuator (health checks); las métricas requieren autenticación
+                .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
 
                 // Todos los demás endpoints requieren autenticación
                 .anyRequest().authenticated()
@@ -111,7 +115,8 @@ public class SecurityConfig {
         ));
         config.addAllowedHeader("*");
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
+        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With",
+                "X-New-Access-Token"));
         config.setMaxAge(3600L);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
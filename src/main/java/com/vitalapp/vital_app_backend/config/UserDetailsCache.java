@@ -0,0 +1,86 @@
+package com.vitalapp.vital_app_backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de usuarios por username delante de {@link UserRepository#findByUsername}.
+ *
+ * Está acotada en tamaño y expira por tiempo. Las entradas consultadas se recargan
+ * en segundo plano antes de expirar, de modo que una ráfaga de logins al cambio de
+ * turno no se convierte en miles de consultas idénticas. Los usuarios inexistentes
+ * no se cachean. Publica aciertos y fallos como métricas {@code cache.*} con
+ * {@code cache=users.details}.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final LoadingCache<String, User> usersByUsername;
+
+    @Autowired
+    public UserDetailsCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.user-details-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-details-cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${security.user-details-cache.refresh-after-write:5m}") Duration refreshAfterWrite) {
+        this(userRepository, meterRegistry, maxSize, expireAfterWrite, refreshAfterWrite,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    UserDetailsCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            long maxSize,
+            Duration expireAfterWrite,
+            Duration refreshAfterWrite,
+            Ticker ticker,
+            Executor refreshExecutor) {
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(username -> userRepository.findByUsername(username).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByUsername, "users.details");
+    }
+
+    /**
+     * Obtiene el usuario desde la caché, cargándolo de la base de datos si no está.
+     *
+     * @throws UsernameNotFoundException si el usuario no existe
+     */
+    public User get(String username) {
+        User user = usersByUsername.get(username);
+        if (user == null) {
+            throw new UsernameNotFoundException("Usuario no encontrado: " + username);
+        }
+        return user;
+    }
+
+    /**
+     * Descarta la entrada del usuario tras un cambio (alta, baja, desactivación o contraseña).
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            usersByUsername.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vitalapp.vital_app_backend.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.vitalapp.vital_app_backend.repository.UserRepository;
+
+/**
+ * Caché local del estado activo de los usuarios para el modo de principal sin estado.
+ *
+ * Cuando el principal se reconstruye desde los claims del JWT ya no se consulta
+ * la tabla de usuarios en cada petición. Esta caché acota cuánto tarda en surtir
+ * efecto una desactivación: cada entrada se recarga desde la base de datos como
+ * máximo una vez por ventana, y los cambios hechos en este nodo la invalidan al instante.
+ */
+@Component
+public class UserRevocationCache {
+
+    private final LoadingCache<Long, Boolean> activeByUserId;
+
+    public UserRevocationCache(
+            UserRepository userRepository,
+            @Value("${jwt.stateless-principal.revocation-window:60s}") Duration revocationWindow,
+            @Value("${jwt.stateless-principal.revocation-cache.max-size:10000}") long maxSize) {
+        this.activeByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(revocationWindow)
+                .build(userId -> userRepository.findActiveById(userId).orElse(false));
+    }
+
+    /**
+     * Indica si el usuario sigue activo; un usuario inexistente se considera revocado.
+     */
+    public boolean isActive(Long userId) {
+        return userId != null && Boolean.TRUE.equals(activeByUserId.get(userId));
+    }
+
+    /**
+     * Descarta el estado conocido del usuario para que la próxima petición lo relea.
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            activeByUserId.invalidate(userId);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.vitalapp.vital_app_backend.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,6 +12,10 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Configuración de CORS para permitir peticiones desde el frontend
  * Los orígenes permitidos se cargan desde la variable de entorno CORS_ORIGINS
  * Ejemplo: http://localhost:3001,http://localhost:3000,https://mi-app.vercel.app
+ *
+ * También fija el pool de las respuestas asíncronas de MVC (exportaciones NDJSON): al
+ * definir otros ejecutores, Spring Boot no crea applicationTaskExecutor y MVC usaría un
+ * SimpleAsyncTaskExecutor sin límite de hilos.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -16,6 +23,28 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${cors.allowed.origins:http://localhost:3001,http://localhost:3000}")
     private String allowedOrigins;
 
+    @Value("${web.async.pool-size:8}")
+    private int asyncPoolSize;
+
+    @Value("${web.async.queue-capacity:16}")
+    private int asyncQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncPoolSize);
+        executor.setMaxPoolSize(asyncPoolSize);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Dividir los orígenes por coma
@@ -0,0 +1,113 @@
+package com.vitalapp.vital_app_backend.controller;
+
+import com.vitalapp.vital_app_backend.dto.alert.AlertSubscriptionCreateDTO;
+import com.vitalapp.vital_app_backend.dto.alert.AlertSubscriptionResponseDTO;
+import com.vitalapp.vital_app_backend.service.AlertRoutingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alert-subscriptions")
+@RequiredArgsConstructor
+@Tag(name = "Alert Subscriptions", description = "Reglas de enrutamiento de avisos al personal de guardia")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AlertSubscriptionController {
+
+    private final AlertRoutingService alertRoutingService;
+
+    @Operation(
+        summary = "Obtener reglas de avisos",
+        description = "Retorna las reglas de enrutamiento de avisos, todas o las de un usuario"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lista de reglas obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping
+    public ResponseEntity<List<AlertSubscriptionResponseDTO>> getSubscriptions(
+        @Parameter(description = "ID del usuario suscrito", example = "1")
+        @RequestParam(required = false) Long userId
+    ) {
+        List<AlertSubscriptionResponseDTO> subscriptions = userId != null
+                ? alertRoutingService.getSubscriptionsByUserId(userId)
+                : alertRoutingService.getAllSubscriptions();
+        return ResponseEntity.ok(subscriptions);
+    }
+
+    @Operation(
+        summary = "Crear regla de avisos",
+        description = "Suscribe a un usuario, con un rol, a los avisos desde una severidad mínima, "
+            + "opcionalmente limitados a una especialidad y a un turno (puede cruzar la medianoche)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Regla creada exitosamente",
+            content = @Content(schema = @Schema(implementation = AlertSubscriptionResponseDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Datos inválidos"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Usuario no encontrado"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping
+    public ResponseEntity<AlertSubscriptionResponseDTO> createSubscription(
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Datos de la regla a crear",
+            required = true,
+            content = @Content(schema = @Schema(implementation = AlertSubscriptionCreateDTO.class))
+        )
+        @Valid @RequestBody AlertSubscriptionCreateDTO dto
+    ) {
+        AlertSubscriptionResponseDTO created = alertRoutingService.createSubscription(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @Operation(
+        summary = "Eliminar regla de avisos",
+        description = "Elimina una regla de enrutamiento de avisos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Regla eliminada"),
+        @ApiResponse(responseCode = "404", description = "Regla no encontrada")
+    })
+    @PreAuthorize("hasRole('USER')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSubscription(
+        @Parameter(description = "ID de la regla", example = "1")
+        @PathVariable Long id
+    ) {
+        alertRoutingService.deleteSubscription(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,6 +4,11 @@ import com.vitalapp.vital_app_backend.dto.appointment.*;
 import com.vitalapp.vital_app_backend.model.AppointmentStatus;
 import com.vitalapp.vital_app_backend.service.AppointmentService;
 import com.vitalapp.vital_app_backend.service.AuthorizationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
+import com.vitalapp.vital_app_backend.service.ExportStreamLimiter;
+import com.vitalapp.vital_app_backend.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +19,15 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,7 +38,9 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final ObjectMapper objectMapper;
     private final AuthorizationService authorizationService;
+    private final ExportStreamLimiter exportStreamLimiter;
 
     /**
      * Helper method to build OK response
@@ -40,7 +51,7 @@ public class AppointmentController {
 
     @Operation(
         summary = "Obtener todas las citas",
-        description = "Retorna la lista completa de citas médicas registradas en el sistema"
+        description = "Retorna las citas médicas registradas en el sistema, paginadas en orden de ID"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -54,8 +65,73 @@ public class AppointmentController {
     })
     @PreAuthorize("hasRole('USER')")
     @GetMapping
-    public ResponseEntity<List<AppointmentResponseDTO>> getAllAppointments() {
-        return buildOkResponse(appointmentService.getAllAppointments());
+    public ResponseEntity<PageResponseDTO<AppointmentResponseDTO>> getAllAppointments(
+            @Parameter(description = "Número de página (comienza en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return buildOkResponse(appointmentService.getAllAppointments(page, size));
+    }
+
+    @Operation(
+        summary = "Obtener citas por cursor",
+        description = "Paginación por keyset en orden de ID: cada página continúa desde el cursor devuelto por la anterior "
+            + "sin recorrer las filas previas. Se activa con pagination=cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping(params = "pagination=cursor")
+    public ResponseEntity<CursorPageResponseDTO<AppointmentResponseDTO>> getAllAppointmentsByCursor(
+            @Parameter(description = "Cursor devuelto en nextCursor por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return buildOkResponse(appointmentService.getAppointmentsByCursor(cursor, size));
+    }
+
+    @Operation(
+        summary = "Exportar citas en streaming",
+        description = "Devuelve las citas registradas como NDJSON (un documento JSON por línea), "
+            + "leyendo la tabla por lotes sin cargarla completa en memoria"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Flujo NDJSON iniciado"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Demasiadas exportaciones en curso"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAppointments() {
+        StreamingResponseBody body = output -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output)) {
+                appointmentService.streamAllAppointments(writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(exportStreamLimiter.limit(body));
     }
 
     @Operation(
@@ -131,7 +207,7 @@ public class AppointmentController {
 
     @Operation(
         summary = "Obtener citas próximas",
-        description = "Retorna las citas programadas para fechas futuras"
+        description = "Retorna las citas no canceladas programadas para fechas futuras"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -148,6 +224,39 @@ public class AppointmentController {
         return buildOkResponse(appointmentService.getUpcomingAppointments());
     }
 
+    @Operation(
+        summary = "Obtener horarios disponibles",
+        description = "Retorna los huecos libres de un día para un doctor o, si no se indica, para los doctores "
+            + "de una especialidad, dentro del horario de atención"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Horarios disponibles obtenidos exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Falta el doctor o la especialidad"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado"
+        )
+    })
+    @GetMapping("/available-slots")
+    public ResponseEntity<List<AvailableSlotDTO>> getAvailableSlots(
+        @Parameter(description = "Día a consultar", example = "2025-03-10")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @Parameter(description = "Nombre del doctor")
+        @RequestParam(required = false) String doctor,
+        @Parameter(description = "Especialidad, si no se indica el doctor")
+        @RequestParam(required = false) String specialty,
+        @Parameter(description = "Duración de la cita en minutos", example = "30")
+        @RequestParam(defaultValue = "30") int duration
+    ) {
+        return buildOkResponse(appointmentService.getAvailableSlots(doctor, specialty, date, duration));
+    }
+
     @Operation(
         summary = "Crear nueva cita",
         description = "Registra una nueva cita médica en el sistema"
@@ -165,6 +274,10 @@ public class AppointmentController {
         @ApiResponse(
             responseCode = "401",
             description = "No autenticado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El doctor ya tiene una cita en ese horario"
         )
     })
     @PostMapping
@@ -2,6 +2,7 @@ package com.vitalapp.vital_app_backend.controller;
 
 import com.vitalapp.vital_app_backend.dto.auth.*;
 import com.vitalapp.vital_app_backend.service.AuthService;
+import com.vitalapp.vital_app_backend.service.LoginThrottleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,6 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottleService loginThrottleService;
 
     @Operation(
         summary = "Registrar nuevo usuario",
@@ -36,10 +39,21 @@ public class AuthController {
         @ApiResponse(
             responseCode = "400",
             description = "Datos inválidos o usuario/email ya existe"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Demasiados intentos desde la misma IP"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Servicio de autenticación saturado, reintentar según Retry-After"
         )
     })
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDTO> register(@Valid @RequestBody RegisterRequestDTO request) {
+    public ResponseEntity<AuthResponseDTO> register(
+            @Valid @RequestBody RegisterRequestDTO request,
+            HttpServletRequest httpRequest) {
+        loginThrottleService.checkRegister(httpRequest.getRemoteAddr());
         AuthResponseDTO response = authService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -57,11 +71,23 @@ public class AuthController {
         @ApiResponse(
             responseCode = "401",
             description = "Credenciales inválidas"
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Demasiados intentos para el usuario o la IP"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Servicio de autenticación saturado, reintentar según Retry-After"
         )
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
+    public ResponseEntity<AuthResponseDTO> login(
+            @Valid @RequestBody LoginRequestDTO request,
+            HttpServletRequest httpRequest) {
+        loginThrottleService.checkLogin(request.getUsername(), httpRequest.getRemoteAddr());
         AuthResponseDTO response = authService.login(request);
+        loginThrottleService.recordSuccess(request.getUsername());
         return ResponseEntity.ok(response);
     }
 
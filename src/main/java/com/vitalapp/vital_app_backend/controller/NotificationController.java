@@ -1,8 +1,14 @@
 package com.vitalapp.vital_app_backend.controller;
 
 import com.vitalapp.vital_app_backend.dto.notification.*;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.service.NotificationPushService;
 import com.vitalapp.vital_app_backend.service.NotificationService;
-import com.vitalapp.vital_app_backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
+import com.vitalapp.vital_app_backend.service.ExportStreamLimiter;
+import com.vitalapp.vital_app_backend.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,10 +20,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,11 +37,13 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final NotificationPushService notificationPushService;
+    private final ObjectMapper objectMapper;
+    private final ExportStreamLimiter exportStreamLimiter;
 
     @Operation(
         summary = "Obtener todas las notificaciones",
-        description = "Retorna la lista completa de notificaciones del sistema"
+        description = "Retorna las notificaciones del sistema, paginadas en orden de ID"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -46,9 +56,71 @@ public class NotificationController {
         )
     })
     @GetMapping
-    public ResponseEntity<List<NotificationResponseDTO>> getAllNotifications() {
-        List<NotificationResponseDTO> notifications = notificationService.getAllNotifications();
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<PageResponseDTO<NotificationResponseDTO>> getAllNotifications(
+            @Parameter(description = "Número de página (comienza en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getAllNotifications(page, size));
+    }
+
+    @Operation(
+        summary = "Obtener notificaciones por cursor",
+        description = "Paginación por keyset en orden de ID: cada página continúa desde el cursor devuelto por la anterior "
+            + "sin recorrer las filas previas. Se activa con pagination=cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        )
+    })
+    @GetMapping(params = "pagination=cursor")
+    public ResponseEntity<CursorPageResponseDTO<NotificationResponseDTO>> getAllNotificationsByCursor(
+            @Parameter(description = "Cursor devuelto en nextCursor por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getNotificationsByCursor(cursor, size));
+    }
+
+    @Operation(
+        summary = "Exportar notificaciones en streaming",
+        description = "Devuelve las notificaciones registradas como NDJSON (un documento JSON por línea), "
+            + "leyendo la tabla por lotes sin cargarla completa en memoria"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Flujo NDJSON iniciado"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Demasiadas exportaciones en curso"
+        )
+    })
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamNotifications() {
+        StreamingResponseBody body = output -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output)) {
+                notificationService.streamAllNotifications(writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(exportStreamLimiter.limit(body));
     }
 
     @Operation(
@@ -163,19 +235,37 @@ public class NotificationController {
         )
     })
     @GetMapping("/unread")
-    public ResponseEntity<List<NotificationResponseDTO>> getMyUnreadNotifications() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-
-        // Obtener el usuario por username
-        var user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        // Obtener notificaciones no leídas del usuario
+    public ResponseEntity<List<NotificationResponseDTO>> getMyUnreadNotifications(@AuthenticationPrincipal User user) {
+        // El principal del token ya trae el ID del usuario
         List<NotificationResponseDTO> notifications = notificationService.getUnreadNotifications(user.getId());
         return ResponseEntity.ok(notifications);
     }
 
+    @Operation(
+        summary = "Suscribirse a mis notificaciones",
+        description = "Abre un canal Server-Sent Events con las notificaciones del usuario autenticado: "
+            + "notification (nueva), read, read-all y unread-count (al conectar). Al reconectar con Last-Event-ID "
+            + "se reenvían las notificaciones posteriores. Sustituye el sondeo de /unread y /unread/count"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Canal de eventos abierto"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado"
+        )
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToMyNotifications(
+        @AuthenticationPrincipal User user,
+        @Parameter(description = "ID (instante en milisegundos) del último evento recibido, enviado por el navegador al reconectar")
+        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return notificationPushService.subscribe(user.getId(), lastEventId);
+    }
+
     @Operation(
         summary = "Crear nueva notificación",
         description = "Registra una nueva notificación en el sistema"
@@ -260,12 +350,14 @@ public class NotificationController {
 
     @Operation(
         summary = "Marcar todas las notificaciones como leídas",
-        description = "Cambia el estado de todas las notificaciones de un usuario a leídas"
+        description = "Cambia el estado de todas las notificaciones de un usuario a leídas con una sola "
+            + "actualización y devuelve cuántas se marcaron"
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Todas las notificaciones marcadas como leídas"
+            description = "Todas las notificaciones marcadas como leídas",
+            content = @Content(schema = @Schema(implementation = Integer.class))
         ),
         @ApiResponse(
             responseCode = "401",
@@ -273,12 +365,12 @@ public class NotificationController {
         )
     })
     @PutMapping("/recipient/{recipientId}/read-all")
-    public ResponseEntity<Void> markAllAsRead(
+    public ResponseEntity<Integer> markAllAsRead(
         @Parameter(description = "ID del destinatario", example = "1")
         @PathVariable Long recipientId
     ) {
-        notificationService.markAllAsRead(recipientId);
-        return ResponseEntity.ok().build();
+        int updated = notificationService.markAllAsRead(recipientId);
+        return ResponseEntity.ok(updated);
     }
 
     @Operation(
@@ -300,12 +392,14 @@ public class NotificationController {
 
     @Operation(
         summary = "Eliminar notificaciones expiradas",
-        description = "Elimina todas las notificaciones que han expirado"
+        description = "Elimina todas las notificaciones que han expirado y devuelve cuántas se eliminaron. "
+            + "La purga programada hace lo mismo por lotes"
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Notificaciones expiradas eliminadas"
+            description = "Notificaciones expiradas eliminadas",
+            content = @Content(schema = @Schema(implementation = Integer.class))
         ),
         @ApiResponse(
             responseCode = "401",
@@ -313,8 +407,8 @@ public class NotificationController {
         )
     })
     @DeleteMapping("/expired")
-    public ResponseEntity<Void> deleteExpiredNotifications() {
-        notificationService.deleteExpiredNotifications();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> deleteExpiredNotifications() {
+        int deleted = notificationService.deleteExpiredNotifications();
+        return ResponseEntity.ok(deleted);
     }
 }
\ No newline at end of file
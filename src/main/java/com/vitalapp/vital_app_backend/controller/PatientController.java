@@ -1,5 +1,6 @@
 package com.vitalapp.vital_app_backend.controller;
 
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.patient.*;
 import com.vitalapp.vital_app_backend.model.Gender;
@@ -102,6 +103,60 @@ public class PatientController {
         return ResponseEntity.ok(patients);
     }
 
+    @Operation(
+        summary = "Obtener pacientes por cursor",
+        description = "Paginación por keyset: cada página continúa desde el cursor devuelto por la anterior "
+            + "sin recorrer las filas previas. Se activa con pagination=cursor; el total solo se calcula con includeTotal=true"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de pacientes obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido o de otro ordenamiento"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping(params = "pagination=cursor")
+    public ResponseEntity<CursorPageResponseDTO<PatientResponseDTO>> getAllPatientsByCursor(
+            @Parameter(description = "Cursor devuelto en nextCursor por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo para ordenar: id, fullName, documentNumber o birthDate", example = "fullName")
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento", example = "ASC")
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @Parameter(description = "Filtrar por nombre completo")
+            @RequestParam(required = false) String fullName,
+            @Parameter(description = "Filtrar por número de documento")
+            @RequestParam(required = false) String documentNumber,
+            @Parameter(description = "Filtrar por teléfono")
+            @RequestParam(required = false) String phone,
+            @Parameter(description = "Filtrar por género")
+            @RequestParam(required = false) Gender gender,
+            @Parameter(description = "Fecha de nacimiento desde (YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate birthDateFrom,
+            @Parameter(description = "Fecha de nacimiento hasta (YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate birthDateTo,
+            @Parameter(description = "Filtrar por estado activo")
+            @RequestParam(required = false) Boolean active,
+            @Parameter(description = "Calcular el total de elementos (ejecuta un COUNT adicional)")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        return ResponseEntity.ok(patientService.getPatientsByCursor(
+            cursor, size, sortBy, sortDirection,
+            fullName, documentNumber, phone, gender,
+            birthDateFrom, birthDateTo, active, includeTotal
+        ));
+    }
+
     @Operation(
         summary = "Obtener pacientes activos",
         description = "Retorna la lista de pacientes que están marcados como activos en el sistema"
@@ -189,10 +244,12 @@ public class PatientController {
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/search")
     public ResponseEntity<List<PatientResponseDTO>> searchPatients(
-        @Parameter(description = "Nombre a buscar", example = "Juan")
-        @RequestParam String name
+        @Parameter(description = "Nombre a buscar (sin distinguir mayúsculas ni tildes)", example = "Juan")
+        @RequestParam String name,
+        @Parameter(description = "Número máximo de resultados (máximo 100)", example = "20")
+        @RequestParam(defaultValue = "" + PatientService.DEFAULT_SEARCH_RESULTS) int limit
     ) {
-        List<PatientResponseDTO> patients = patientService.searchPatientsByName(name);
+        List<PatientResponseDTO> patients = patientService.searchPatientsByName(name, limit);
         return ResponseEntity.ok(patients);
     }
 
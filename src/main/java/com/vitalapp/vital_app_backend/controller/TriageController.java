@@ -3,7 +3,13 @@ package com.vitalapp.vital_app_backend.controller;
 import com.vitalapp.vital_app_backend.dto.triage.*;
 import com.vitalapp.vital_app_backend.model.TriageStatus;
 import com.vitalapp.vital_app_backend.service.AuthorizationService;
+import com.vitalapp.vital_app_backend.service.TriageQueueService;
 import com.vitalapp.vital_app_backend.service.TriageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
+import com.vitalapp.vital_app_backend.service.ExportStreamLimiter;
+import com.vitalapp.vital_app_backend.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,9 +21,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,11 +37,14 @@ import java.util.List;
 public class TriageController {
 
     private final TriageService triageService;
+    private final TriageQueueService triageQueueService;
+    private final ObjectMapper objectMapper;
     private final AuthorizationService authorizationService;
+    private final ExportStreamLimiter exportStreamLimiter;
 
     @Operation(
         summary = "Obtener todos los triajes",
-        description = "Retorna la lista completa de triajes médicos registrados en el sistema"
+        description = "Retorna los triajes médicos registrados en el sistema, paginados en orden de ID"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -47,9 +58,127 @@ public class TriageController {
     })
     @PreAuthorize("hasRole('USER')")
     @GetMapping
-    public ResponseEntity<List<TriageResponseDTO>> getAllTriages() {
-        List<TriageResponseDTO> triages = triageService.getAllTriages();
-        return ResponseEntity.ok(triages);
+    public ResponseEntity<PageResponseDTO<TriageResponseDTO>> getAllTriages(
+            @Parameter(description = "Número de página (comienza en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(triageService.getAllTriages(page, size));
+    }
+
+    @Operation(
+        summary = "Obtener triajes por cursor",
+        description = "Paginación por keyset en orden de ID: cada página continúa desde el cursor devuelto por la anterior "
+            + "sin recorrer las filas previas. Se activa con pagination=cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping(params = "pagination=cursor")
+    public ResponseEntity<CursorPageResponseDTO<TriageResponseDTO>> getAllTriagesByCursor(
+            @Parameter(description = "Cursor devuelto en nextCursor por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(triageService.getTriagesByCursor(cursor, size));
+    }
+
+    @Operation(
+        summary = "Exportar triajes en streaming",
+        description = "Devuelve los triajes registradas como NDJSON (un documento JSON por línea), "
+            + "leyendo la tabla por lotes sin cargarla completa en memoria"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Flujo NDJSON iniciado"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado - Token requerido"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Demasiadas exportaciones en curso"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamTriages() {
+        StreamingResponseBody body = output -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output)) {
+                triageService.streamAllTriages(writer::write);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(exportStreamLimiter.limit(body));
+    }
+
+    @Operation(
+        summary = "Siguiente paciente en la cola de triaje",
+        description = "Retorna el triaje pendiente de mayor severidad y, a igual severidad, el que más tiempo lleva "
+            + "esperando. Se resuelve desde la cola en memoria, sin consultar la base de datos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Siguiente triaje pendiente",
+            content = @Content(schema = @Schema(implementation = TriageResponseDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "204",
+            description = "No hay triajes pendientes"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/queue/next")
+    public ResponseEntity<TriageResponseDTO> getNextInQueue() {
+        return triageQueueService.next()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @Operation(
+        summary = "Cola de triaje",
+        description = "Retorna los primeros triajes de la cola ordenados por severidad y tiempo de espera. "
+            + "Se resuelve desde la cola en memoria, sin consultar la base de datos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cola obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "No autenticado"
+        )
+    })
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/queue")
+    public ResponseEntity<List<TriageResponseDTO>> getQueue(
+        @Parameter(description = "Estado de la cola: PENDING o IN_PROGRESS", example = "PENDING")
+        @RequestParam(defaultValue = "PENDING") TriageStatus status,
+        @Parameter(description = "Número de triajes a devolver (máximo 100)", example = "10")
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(triageQueueService.top(status, limit));
     }
 
     @Operation(
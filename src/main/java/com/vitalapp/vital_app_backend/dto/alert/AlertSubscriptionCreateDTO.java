@@ -0,0 +1,39 @@
+package com.vitalapp.vital_app_backend.dto.alert;
+
+import java.time.LocalTime;
+
+import com.vitalapp.vital_app_backend.model.StaffRole;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertSubscriptionCreateDTO {
+
+    @NotNull(message = "El ID del usuario es obligatorio")
+    private Long userId;
+
+    @NotNull(message = "El rol es obligatorio")
+    private StaffRole role;
+
+    @Size(max = 100, message = "La especialidad no puede exceder 100 caracteres")
+    private String specialty;
+
+    @NotNull(message = "La severidad mínima es obligatoria")
+    @Min(value = 1, message = "La severidad mínima debe ser al menos 1")
+    @Max(value = 5, message = "La severidad mínima no puede exceder 5")
+    private Integer minSeverity;
+
+    private LocalTime shiftStart;
+
+    private LocalTime shiftEnd;
+}
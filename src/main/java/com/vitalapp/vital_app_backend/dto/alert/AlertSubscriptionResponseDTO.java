@@ -0,0 +1,28 @@
+package com.vitalapp.vital_app_backend.dto.alert;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.vitalapp.vital_app_backend.model.StaffRole;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertSubscriptionResponseDTO {
+
+    private Long id;
+    private Long userId;
+    private String username;
+    private StaffRole role;
+    private String specialty;
+    private int minSeverity;
+    private LocalTime shiftStart;
+    private LocalTime shiftEnd;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.vitalapp.vital_app_backend.dto.appointment;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hueco libre en la agenda de un doctor con la duración solicitada.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+
+    private String doctor;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+}
@@ -0,0 +1,67 @@
+package com.vitalapp.vital_app_backend.dto.common;
+
+import com.vitalapp.vital_app_backend.exception.custom.BusinessException;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponseDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    /**
+     * Token para pedir la página siguiente; null en la última página.
+     */
+    private String nextCursor;
+    /**
+     * Total de elementos que cumplen los filtros; solo se calcula si se solicita.
+     */
+    private Long totalElements;
+
+    /**
+     * Construye una página ordenada por ID ascendente a partir de hasta size + 1 filas;
+     * la fila sobrante solo indica que existe una página siguiente.
+     */
+    public static <E, T> CursorPageResponseDTO<T> ofIdOrdered(
+            List<E> rows, int size, Function<E, Long> idOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Long lastId = idOf.apply(pageRows.get(pageRows.size() - 1));
+            nextCursor = new KeysetCursor("id", false, null, lastId).encode();
+        }
+
+        return CursorPageResponseDTO.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * ID de la última fila entregada según el cursor (0 para la primera página).
+     */
+    public static long lastIdFrom(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        if (!"id".equals(position.sortBy()) || position.descending()) {
+            throw new BusinessException("El cursor no corresponde al ordenamiento solicitado");
+        }
+        return position.id();
+    }
+}
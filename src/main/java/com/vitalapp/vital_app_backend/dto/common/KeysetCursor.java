@@ -0,0 +1,51 @@
+package com.vitalapp.vital_app_backend.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.vitalapp.vital_app_backend.exception.custom.BusinessException;
+
+/**
+ * Posición de continuación para paginación por keyset.
+ *
+ * Guarda el campo y la dirección de ordenamiento junto con el valor de ese campo
+ * y el ID de la última fila entregada. Se serializa como Base64 URL-safe para que
+ * el cliente lo trate como un token opaco.
+ *
+ * @param sortBy campo de ordenamiento
+ * @param descending true si el orden es descendente
+ * @param value valor del campo de orden en la última fila (null si la fila no lo tenía)
+ * @param id ID de la última fila, usado como desempate
+ */
+public record KeysetCursor(String sortBy, boolean descending, String value, Long id) {
+
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_MARKER = "-";
+    private static final String VALUE_MARKER = "=";
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR
+                + (descending ? "D" : "A") + SEPARATOR
+                + id + SEPARATOR
+                + (value == null ? NULL_MARKER : VALUE_MARKER + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws BusinessException si el token no es un cursor válido
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new BusinessException("Cursor inválido");
+            }
+
+            String value = parts[3].startsWith(VALUE_MARKER) ? parts[3].substring(1) : null;
+            return new KeysetCursor(parts[0], "D".equals(parts[1]), value, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor inválido", e);
+        }
+    }
+}
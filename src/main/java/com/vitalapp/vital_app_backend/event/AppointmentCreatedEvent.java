@@ -1,23 +1,20 @@
 package com.vitalapp.vital_app_backend.event;
 
-import com.vitalapp.vital_app_backend.model.Appointment;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import java.time.LocalDateTime;
 
-@Getter
-@AllArgsConstructor
-public class AppointmentCreatedEvent {
-    private final Appointment appointment;
-    private final Long patientId;
-    private final LocalDateTime scheduledAt;
-    private final LocalDateTime timestamp;
+import com.vitalapp.vital_app_backend.model.Appointment;
+
+/**
+ * Cita creada. Solo lleva IDs y fechas: los listeners no reciben la entidad.
+ */
+public record AppointmentCreatedEvent(Long appointmentId, Long patientId, LocalDateTime scheduledAt,
+        LocalDateTime timestamp) {
 
-    // Constructor adicional que recibe solo Appointment
-    public AppointmentCreatedEvent(Appointment appointment) {
-        this.appointment = appointment;
-        this.patientId = appointment.getPatient() != null ? appointment.getPatient().getId() : null;
-        this.scheduledAt = appointment.getScheduledAt();
-        this.timestamp = LocalDateTime.now();
+    public static AppointmentCreatedEvent from(Appointment appointment) {
+        return new AppointmentCreatedEvent(
+                appointment.getId(),
+                appointment.getPatient() != null ? appointment.getPatient().getId() : null,
+                appointment.getScheduledAt(),
+                LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
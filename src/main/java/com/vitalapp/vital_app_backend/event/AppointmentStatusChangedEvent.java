@@ -1,26 +1,36 @@
 package com.vitalapp.vital_app_backend.event;
 
+import java.time.LocalDateTime;
+
 import com.vitalapp.vital_app_backend.model.Appointment;
 import com.vitalapp.vital_app_backend.model.AppointmentStatus;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import java.time.LocalDateTime;
 
-@Getter
-@AllArgsConstructor
-public class AppointmentStatusChangedEvent {
-    private final Appointment appointment;
-    private final AppointmentStatus oldStatus;
-    private final AppointmentStatus newStatus;
-    private final Long patientId;
-    private final LocalDateTime timestamp;
+/**
+ * Cambio de estado de una cita. Solo lleva IDs, estados y fechas: los listeners no
+ * reciben la entidad. Los cambios seguidos de una cita se entregan como su cambio neto.
+ */
+public record AppointmentStatusChangedEvent(Long appointmentId, Long patientId, AppointmentStatus oldStatus,
+        AppointmentStatus newStatus, LocalDateTime scheduledAt, LocalDateTime timestamp)
+        implements CoalescibleEvent<AppointmentStatusChangedEvent> {
+
+    public static AppointmentStatusChangedEvent from(Appointment appointment, AppointmentStatus oldStatus,
+            AppointmentStatus newStatus) {
+        return new AppointmentStatusChangedEvent(
+                appointment.getId(),
+                appointment.getPatient() != null ? appointment.getPatient().getId() : null,
+                oldStatus,
+                newStatus,
+                appointment.getScheduledAt(),
+                LocalDateTime.now());
+    }
 
-    // Constructor adicional que recibe Appointment, oldStatus, newStatus
-    public AppointmentStatusChangedEvent(Appointment appointment, AppointmentStatus oldStatus, AppointmentStatus newStatus) {
-        this.appointment = appointment;
-        this.oldStatus = oldStatus;
-        this.newStatus = newStatus;
-        this.patientId = appointment.getPatient() != null ? appointment.getPatient().getId() : null;
-        this.timestamp = LocalDateTime.now();
+    /**
+     * Cambio neto: estado inicial de este cambio y datos del siguiente. Una cita que pasa
+     * de SCHEDULED a CONFIRMED y a IN_PROGRESS queda como SCHEDULED -> IN_PROGRESS.
+     */
+    @Override
+    public AppointmentStatusChangedEvent coalesce(AppointmentStatusChangedEvent next) {
+        return new AppointmentStatusChangedEvent(next.appointmentId(), next.patientId(), oldStatus,
+                next.newStatus(), next.scheduledAt(), next.timestamp());
     }
-}
\ No newline at end of file
+}
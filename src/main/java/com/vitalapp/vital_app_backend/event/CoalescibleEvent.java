@@ -0,0 +1,15 @@
+package com.vitalapp.vital_app_backend.event;
+
+/**
+ * Evento de dominio cuyos envíos seguidos sobre el mismo agregado pueden entregarse
+ * como uno solo. OutboxRelay combina, dentro del lote reclamado, los eventos
+ * consecutivos de un agregado que son de la misma clase y marca todas sus filas como
+ * entregadas al entregar el combinado.
+ */
+public interface CoalescibleEvent<E extends CoalescibleEvent<E>> {
+
+    /**
+     * Cambio neto de este evento seguido de next.
+     */
+    E coalesce(E next);
+}
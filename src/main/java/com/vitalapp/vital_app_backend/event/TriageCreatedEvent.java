@@ -1,23 +1,19 @@
 package com.vitalapp.vital_app_backend.event;
 
-import com.vitalapp.vital_app_backend.model.Triage;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import java.time.LocalDateTime;
 
-@Getter
-@AllArgsConstructor
-public class TriageCreatedEvent {
-    private final Triage triage;
-    private final Long patientId;
-    private final Integer severityLevel;
-    private final LocalDateTime timestamp;
+import com.vitalapp.vital_app_backend.model.Triage;
+
+/**
+ * Triaje creado. Solo lleva IDs y valores: los listeners no reciben la entidad.
+ */
+public record TriageCreatedEvent(Long triageId, Long patientId, int severityLevel, LocalDateTime timestamp) {
 
-    // Constructor adicional que recibe solo Triage
-    public TriageCreatedEvent(Triage triage) {
-        this.triage = triage;
-        this.patientId = triage.getPatient() != null ? triage.getPatient().getId() : null;
-        this.severityLevel = triage.getSeverityLevel();
-        this.timestamp = LocalDateTime.now();
+    public static TriageCreatedEvent from(Triage triage) {
+        return new TriageCreatedEvent(
+                triage.getId(),
+                triage.getPatient() != null ? triage.getPatient().getId() : null,
+                triage.getSeverityLevel(),
+                LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
@@ -1,40 +1,49 @@
 package com.vitalapp.vital_app_backend.event.listener;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.event.AppointmentCreatedEvent;
 import com.vitalapp.vital_app_backend.event.AppointmentStatusChangedEvent;
 import com.vitalapp.vital_app_backend.model.AppointmentStatus;
 import com.vitalapp.vital_app_backend.model.Notification;
 import com.vitalapp.vital_app_backend.model.NotificationPriority;
 import com.vitalapp.vital_app_backend.model.NotificationType;
-import com.vitalapp.vital_app_backend.model.Patient;
-import com.vitalapp.vital_app_backend.model.User;
-import com.vitalapp.vital_app_backend.repository.PatientRepository;
 import com.vitalapp.vital_app_backend.service.NotificationService;
+import com.vitalapp.vital_app_backend.service.PatientLookupCache;
 
+/**
+ * OutboxRelay invoca estos métodos en el pool de citas.
+ *
+ * Los cambios de estado seguidos de una misma cita llegan ya combinados por el relay
+ * (AppointmentStatusChangedEvent es combinable): una cita que pasa de SCHEDULED a
+ * CONFIRMED y a IN_PROGRESS en pocos segundos se procesa una vez, como SCHEDULED ->
+ * IN_PROGRESS, y la que vuelve a su estado inicial no se procesa. Como no se guarda
+ * nada en memoria, el evento solo se marca como entregado cuando se ha procesado.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AppointmentEventListener {
 
     private final NotificationService notificationService;
-    private final PatientRepository patientRepository;
+    private final PatientLookupCache patientLookupCache;
+
+    public AppointmentEventListener(NotificationService notificationService, PatientLookupCache patientLookupCache) {
+        this.notificationService = notificationService;
+        this.patientLookupCache = patientLookupCache;
+    }
 
     @EventListener
-    @Async
     public void handleAppointmentCreated(AppointmentCreatedEvent event) {
         try {
-            log.info("Procesando evento de creación de cita para paciente ID: {}", event.getPatientId());
+            log.info("Procesando evento de creación de cita para paciente ID: {}", event.patientId());
 
             // Obtener el paciente para verificar si tiene usuario asociado
-            Patient patient = patientRepository.findById(event.getPatientId()).orElse(null);
+            PatientResponseDTO patient = patientLookupCache.findById(event.patientId()).orElse(null);
             if (patient == null) {
-                log.warn("Paciente no encontrado con ID: {}", event.getPatientId());
+                log.warn("Paciente no encontrado con ID: {}", event.patientId());
                 return;
             }
 
@@ -51,45 +60,49 @@ public class AppointmentEventListener {
     }
 
     @EventListener
-    @Async
     public void handleAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+        if (event.oldStatus() == event.newStatus()) {
+            return;
+        }
+        processStatusChange(event, patientLookupCache.findById(event.patientId()).orElse(null));
+    }
+
+    private void processStatusChange(AppointmentStatusChangedEvent event, PatientResponseDTO patient) {
         try {
             log.info("Procesando cambio de status de cita: {} -> {}",
-                    event.getOldStatus(), event.getNewStatus());
+                    event.oldStatus(), event.newStatus());
 
-            // Obtener el paciente
-            Patient patient = patientRepository.findById(event.getPatientId()).orElse(null);
             if (patient == null) {
-                log.warn("Paciente no encontrado con ID: {}", event.getPatientId());
+                log.warn("Paciente no encontrado con ID: {}", event.patientId());
                 return;
             }
 
             // Verificar el nuevo status y crear notificación apropiada
             Notification notification = null;
 
-            if (event.getNewStatus() == AppointmentStatus.CONFIRMED) {
+            if (event.newStatus() == AppointmentStatus.CONFIRMED) {
                 notification = Notification.builder()
                         .recipient(null) // No hay usuario asociado al paciente
                         .title("✅ Cita Confirmada")
-                        .message("Tu cita del " + event.getAppointment().getScheduledAt() + " ha sido confirmada")
+                        .message("Tu cita del " + event.scheduledAt() + " ha sido confirmada")
                         .type(NotificationType.SUCCESS)
                         .priority(NotificationPriority.MEDIUM)
                         .relatedEntityType("APPOINTMENT")
-                        .relatedEntityId(event.getAppointment().getId())
+                        .relatedEntityId(event.appointmentId())
                         .read(false)
                         .build();
-            } else if (event.getNewStatus() == AppointmentStatus.CANCELLED) {
+            } else if (event.newStatus() == AppointmentStatus.CANCELLED) {
                 notification = Notification.builder()
                         .recipient(null) // No hay usuario asociado al paciente
                         .title("❌ Cita Cancelada")
-                        .message("Tu cita del " + event.getAppointment().getScheduledAt() + " ha sido cancelada")
+                        .message("Tu cita del " + event.scheduledAt() + " ha sido cancelada")
                         .type(NotificationType.WARNING)
                         .priority(NotificationPriority.HIGH)
                         .relatedEntityType("APPOINTMENT")
-                        .relatedEntityId(event.getAppointment().getId())
+                        .relatedEntityId(event.appointmentId())
                         .read(false)
                         .build();
-            } else if (event.getNewStatus() == AppointmentStatus.IN_PROGRESS) {
+            } else if (event.newStatus() == AppointmentStatus.IN_PROGRESS) {
                 notification = Notification.builder()
                         .recipient(null) // No hay usuario asociado al paciente
                         .title("🏥 Cita en Progreso")
@@ -97,7 +110,7 @@ public class AppointmentEventListener {
                         .type(NotificationType.INFO)
                         .priority(NotificationPriority.LOW)
                         .relatedEntityType("APPOINTMENT")
-                        .relatedEntityId(event.getAppointment().getId())
+                        .relatedEntityId(event.appointmentId())
                         .read(false)
                         .build();
             }
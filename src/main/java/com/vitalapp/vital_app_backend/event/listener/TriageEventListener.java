@@ -1,70 +1,59 @@
 package com.vitalapp.vital_app_backend.event.listener;
 
+import java.time.LocalDateTime;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import com.vitalapp.vital_app_backend.event.TriageCreatedEvent;
 import com.vitalapp.vital_app_backend.model.Notification;
 import com.vitalapp.vital_app_backend.model.NotificationPriority;
 import com.vitalapp.vital_app_backend.model.NotificationType;
-import com.vitalapp.vital_app_backend.model.User;
-import com.vitalapp.vital_app_backend.repository.UserRepository;
+import com.vitalapp.vital_app_backend.service.AlertRoutingService;
+import com.vitalapp.vital_app_backend.service.AlertRoutingService.AlertRoute;
 import com.vitalapp.vital_app_backend.service.NotificationService;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TriageEventListener {
 
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
-
+    private final AlertRoutingService alertRoutingService;
+
+    /**
+     * Lo invoca OutboxRelay en el pool de triajes. Los errores se propagan para que el
+     * evento se reintente; reentregar un evento no duplica las alertas.
+     *
+     * La alerta llega al personal de guardia cuyas reglas cubren la severidad en el
+     * momento de la entrega; si ninguna regla aplica, a todos los usuarios activos.
+     */
     @EventListener
-    @Async
     public void handleTriageCreated(TriageCreatedEvent event) {
-        try {
-            log.info("Procesando evento de creación de triage con severidad: {}", event.getSeverityLevel());
-
-            if (event.getSeverityLevel() >= 4) {
-                // Buscar todos los usuarios activos
-                List<User> allUsers = userRepository.findAll();
-                List<User> activeUsers = allUsers.stream()
-                    .filter(User::isActive)
-                    .toList();
-
-                if (activeUsers.isEmpty()) {
-                    log.warn("No se encontraron usuarios activos para notificar");
-                    return;
-                }
-
-                for (User user : activeUsers) {
-                    try {
-                        Notification notification = Notification.builder()
-                                .recipient(user)
-                                .title("⚠️ TRIAJE DE ALTA PRIORIDAD")
-                                .message("Nuevo triaje con severidad " + event.getSeverityLevel() + " para paciente ID: " + event.getPatientId())
-                                .type(NotificationType.ALERT)
-                                .priority(event.getSeverityLevel() == 5 ? NotificationPriority.URGENT : NotificationPriority.HIGH)
-                                .relatedEntityType("TRIAGE")
-                                .relatedEntityId(event.getTriage().getId())
-                                .read(false)
-                                .build();
-
-                        notificationService.saveNotification(notification);
-                        log.info("Notificación enviada a usuario {} por triage de alta prioridad", user.getUsername());
-                    } catch (Exception e) {
-                        log.error("Error al crear notificación para usuario {}: {}", user.getUsername(), e.getMessage());
-                    }
-                }
+        log.info("Procesando evento de creación de triage con severidad: {}", event.severityLevel());
+
+        if (event.severityLevel() >= 4) {
+            // Una sola sentencia INSERT ... SELECT para todos los destinatarios
+            Notification template = Notification.builder()
+                    .title("⚠️ TRIAJE DE ALTA PRIORIDAD")
+                    .message("Nuevo triaje con severidad " + event.severityLevel() + " para paciente ID: " + event.patientId())
+                    .type(NotificationType.ALERT)
+                    .priority(event.severityLevel() == 5 ? NotificationPriority.URGENT : NotificationPriority.HIGH)
+                    .relatedEntityType("TRIAGE")
+                    .relatedEntityId(event.triageId())
+                    .build();
+
+            AlertRoute route = alertRoutingService.routeTriage(event.severityLevel(), LocalDateTime.now());
+            int created = route.broadcast()
+                    ? notificationService.createForActiveUsers(template)
+                    : notificationService.createForUsers(template, route.recipients());
+            if (created == 0) {
+                log.warn("No se encontraron destinatarios activos sin notificar para el triage {}", event.triageId());
+            } else {
+                log.info("{} notificaciones enviadas por triage de alta prioridad {}", created, event.triageId());
             }
-        } catch (Exception e) {
-            log.error("Error procesando evento TriageCreatedEvent: {}", e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
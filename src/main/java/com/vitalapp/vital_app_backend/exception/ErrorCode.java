@@ -14,6 +14,7 @@ public enum ErrorCode {
     INVALID_CREDENTIALS("INVALID_CREDENTIALS", "Credenciales inválidas"),
     TOKEN_EXPIRED("TOKEN_EXPIRED", "Token expirado"),
     INVALID_TOKEN("INVALID_TOKEN", "Token inválido"),
+    TOO_MANY_REQUESTS("TOO_MANY_REQUESTS", "Demasiadas solicitudes"),
 
     // Errores de recursos
     RESOURCE_NOT_FOUND("RESOURCE_NOT_FOUND", "Recurso no encontrado"),
@@ -21,10 +22,12 @@ public enum ErrorCode {
 
     // Errores de negocio
     BUSINESS_ERROR("BUSINESS_ERROR", "Error de negocio"),
+    SCHEDULE_CONFLICT("SCHEDULE_CONFLICT", "Horario ocupado"),
 
     // Errores del sistema
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "Error interno del servidor"),
-    DATABASE_ERROR("DATABASE_ERROR", "Error de base de datos");
+    DATABASE_ERROR("DATABASE_ERROR", "Error de base de datos"),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE", "Servicio no disponible temporalmente");
 
     private final String code;
     private final String description;
@@ -0,0 +1,21 @@
+package com.vitalapp.vital_app_backend.exception.custom;
+
+import com.vitalapp.vital_app_backend.exception.ErrorCode;
+
+public class ScheduleConflictException extends RuntimeException {
+    private final ErrorCode errorCode;
+
+    public ScheduleConflictException(String message) {
+        super(message);
+        this.errorCode = ErrorCode.SCHEDULE_CONFLICT;
+    }
+
+    public ScheduleConflictException(String message, Throwable cause) {
+        super(message, cause);
+        this.errorCode = ErrorCode.SCHEDULE_CONFLICT;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
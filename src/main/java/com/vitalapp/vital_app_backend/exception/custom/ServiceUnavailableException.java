@@ -0,0 +1,28 @@
+package com.vitalapp.vital_app_backend.exception.custom;
+
+import com.vitalapp.vital_app_backend.exception.ErrorCode;
+
+public class ServiceUnavailableException extends RuntimeException {
+    private final ErrorCode errorCode;
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.errorCode = ErrorCode.SERVICE_UNAVAILABLE;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.errorCode = ErrorCode.SERVICE_UNAVAILABLE;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
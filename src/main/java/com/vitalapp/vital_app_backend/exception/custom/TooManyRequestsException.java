@@ -0,0 +1,22 @@
+package com.vitalapp.vital_app_backend.exception.custom;
+
+import com.vitalapp.vital_app_backend.exception.ErrorCode;
+
+public class TooManyRequestsException extends RuntimeException {
+    private final ErrorCode errorCode;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.errorCode = ErrorCode.TOO_MANY_REQUESTS;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vitalapp.vital_app_backend.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.vitalapp.vital_app_backend.dto.alert.AlertSubscriptionCreateDTO;
+import com.vitalapp.vital_app_backend.dto.alert.AlertSubscriptionResponseDTO;
+import com.vitalapp.vital_app_backend.model.AlertSubscription;
+
+@Component
+public class AlertSubscriptionMapper {
+
+    /**
+     * Convierte un AlertSubscriptionCreateDTO a una entidad AlertSubscription, sin usuario
+     */
+    public AlertSubscription toEntity(AlertSubscriptionCreateDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+
+        String specialty = dto.getSpecialty() != null ? dto.getSpecialty().strip() : null;
+        return AlertSubscription.builder()
+                .role(dto.getRole())
+                .specialty(specialty == null || specialty.isEmpty() ? null : specialty)
+                .minSeverity(dto.getMinSeverity())
+                .shiftStart(dto.getShiftStart())
+                .shiftEnd(dto.getShiftEnd())
+                .build();
+    }
+
+    /**
+     * Convierte una entidad AlertSubscription a AlertSubscriptionResponseDTO
+     */
+    public AlertSubscriptionResponseDTO toResponseDTO(AlertSubscription subscription) {
+        if (subscription == null) {
+            return null;
+        }
+
+        return AlertSubscriptionResponseDTO.builder()
+                .id(subscription.getId())
+                .userId(subscription.getUser() != null ? subscription.getUser().getId() : null)
+                .username(subscription.getUser() != null ? subscription.getUser().getUsername() : null)
+                .role(subscription.getRole())
+                .specialty(subscription.getSpecialty())
+                .minSeverity(subscription.getMinSeverity())
+                .shiftStart(subscription.getShiftStart())
+                .shiftEnd(subscription.getShiftEnd())
+                .createdAt(subscription.getCreatedAt())
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentCreateDTO;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentResponseDTO;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentUpdateDTO;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.model.Appointment;
 
 @Component
@@ -35,10 +36,30 @@ public class AppointmentMapper {
             return null;
         }
 
-        AppointmentResponseDTO dto = new AppointmentResponseDTO();
-        dto.setId(entity.getId());
+        AppointmentResponseDTO dto = toResponseDTOWithoutPatient(entity);
         dto.setPatientId(entity.getPatient() != null ? entity.getPatient().getId() : null);
         dto.setPatientName(entity.getPatient() != null ? entity.getPatient().getFullName() : null);
+        return dto;
+    }
+
+    /**
+     * Convierte una entidad Appointment a AppointmentResponseDTO tomando los datos del paciente
+     * de su resumen, sin inicializar la asociación
+     */
+    public AppointmentResponseDTO toResponseDTO(Appointment entity, PatientResponseDTO patient) {
+        if (entity == null) {
+            return null;
+        }
+
+        AppointmentResponseDTO dto = toResponseDTOWithoutPatient(entity);
+        dto.setPatientId(patient.getId());
+        dto.setPatientName(patient.getFullName());
+        return dto;
+    }
+
+    private AppointmentResponseDTO toResponseDTOWithoutPatient(Appointment entity) {
+        AppointmentResponseDTO dto = new AppointmentResponseDTO();
+        dto.setId(entity.getId());
         dto.setDoctor(entity.getDoctor());
         dto.setSpecialty(entity.getSpecialty());
         dto.setScheduledAt(entity.getScheduledAt());
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 import com.vitalapp.vital_app_backend.dto.triage.TriageCreateDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageUpdateDTO;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.model.Triage;
 
 @Component
@@ -37,10 +38,30 @@ public class TriageMapper {
             return null;
         }
 
-        TriageResponseDTO dto = new TriageResponseDTO();
-        dto.setId(entity.getId());
+        TriageResponseDTO dto = toResponseDTOWithoutPatient(entity);
         dto.setPatientId(entity.getPatient() != null ? entity.getPatient().getId() : null);
         dto.setPatientName(entity.getPatient() != null ? entity.getPatient().getFullName() : null);
+        return dto;
+    }
+
+    /**
+     * Convierte una entidad Triage a TriageResponseDTO tomando los datos del paciente
+     * de su resumen, sin inicializar la asociación
+     */
+    public TriageResponseDTO toResponseDTO(Triage entity, PatientResponseDTO patient) {
+        if (entity == null) {
+            return null;
+        }
+
+        TriageResponseDTO dto = toResponseDTOWithoutPatient(entity);
+        dto.setPatientId(patient.getId());
+        dto.setPatientName(patient.getFullName());
+        return dto;
+    }
+
+    private TriageResponseDTO toResponseDTOWithoutPatient(Triage entity) {
+        TriageResponseDTO dto = new TriageResponseDTO();
+        dto.setId(entity.getId());
         dto.setSymptoms(entity.getSymptoms());
         dto.setBloodPressure(entity.getBloodPressure());
         dto.setHeartRate(entity.getHeartRate());
@@ -0,0 +1,72 @@
+package com.vitalapp.vital_app_backend.model;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Regla de enrutamiento de avisos: el usuario recibe, en el rol indicado, las alertas
+ * con severidad a partir de minSeverity. Sin especialidad cubre todas; sin turno,
+ * todo el día. El turno termina en shiftEnd (excluido) y puede cruzar la medianoche.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "alert_subscriptions", indexes = {
+        @Index(name = "idx_alert_subscriptions_user_id", columnList = "user_id, id")
+})
+public class AlertSubscription {
+
+    @Id
+    @PooledSequence("alert_subscriptions_seq")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StaffRole role;
+
+    @Column(length = 100)
+    private String specialty;
+
+    @Column(nullable = false)
+    private int minSeverity;
+
+    @Column
+    private LocalTime shiftStart;
+
+    @Column
+    private LocalTime shiftEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -6,32 +6,49 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "appointments")
+@NamedEntityGraph(name = Appointment.SUMMARY_GRAPH, attributeNodes = {@NamedAttributeNode("patient")})
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_patient_status", columnList = "patient_id, status"),
+        @Index(name = "idx_appointments_status_scheduled", columnList = "status, scheduled_at"),
+        @Index(name = "idx_appointments_scheduled_at", columnList = "scheduled_at")
+})
 public class Appointment {
 
+    /**
+     * Plan de carga de los listados: trae el paciente en la misma consulta,
+     * que es lo que necesita el DTO de respuesta.
+     */
+    public static final String SUMMARY_GRAPH = "Appointment.summary";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("appointments_seq")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
@@ -6,31 +6,50 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@NamedEntityGraph(name = Notification.SUMMARY_GRAPH, attributeNodes = {@NamedAttributeNode("recipient")})
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_id", columnList = "recipient_id, id"),
+        @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at DESC"),
+        @Index(name = "idx_notifications_recipient_read_at", columnList = "recipient_id, read_at"),
+        @Index(name = "idx_notifications_related_entity", columnList = "related_entity_type, related_entity_id"),
+        @Index(name = "idx_notifications_expires_at", columnList = "expires_at")
+})
 public class Notification {
 
+    /**
+     * Plan de carga de los listados: trae el destinatario en la misma consulta,
+     * que es lo que necesita el DTO de respuesta.
+     */
+    public static final String SUMMARY_GRAPH = "Notification.summary";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("notifications_seq")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "recipient_id", nullable = false)
     private User recipient;
 
@@ -0,0 +1,72 @@
+package com.vitalapp.vital_app_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de dominio pendiente de entrega, escrito en la misma transacción que el
+ * cambio que lo origina. OutboxRelay lo entrega a los listeners y marca processedAt.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_processed", columnList = "processed_at, id"),
+        @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_type, aggregate_id, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @PooledSequence("outbox_events_seq")
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // Evento en el formato binario de DomainEventCodec
+    @Column(nullable = false, length = 512)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Los reintentos no se reclaman antes de esta fecha
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+}
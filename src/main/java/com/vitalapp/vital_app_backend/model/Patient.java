@@ -1,5 +1,7 @@
 package com.vitalapp.vital_app_backend.model;
 
+import com.vitalapp.vital_app_backend.util.TextNormalizer;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,12 +19,19 @@ import java.time.Period;
 public class Patient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("patients_seq")
     private Long id;
 
     @Column(name = "full_name")
     private String fullName;
 
+    /**
+     * Nombre en minúsculas y sin tildes, indexado para la búsqueda.
+     * Se recalcula a partir de fullName en cada inserción o actualización.
+     */
+    @Column(name = "search_name")
+    private String searchName;
+
     @Column(name = "document_number", unique = true)
     private String documentNumber;
 
@@ -60,4 +69,10 @@ public class Patient {
         }
         return this.age;
     }
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    protected void updateSearchName() {
+        this.searchName = TextNormalizer.forSearch(this.fullName);
+    }
+}
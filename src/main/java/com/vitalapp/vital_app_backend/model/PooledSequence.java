@@ -0,0 +1,28 @@
+package com.vitalapp.vital_app_backend.model;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * ID generado por una secuencia de base de datos con el optimizador pooled: cada
+ * llamada a la secuencia reserva un bloque de IDs, de modo que Hibernate puede
+ * agrupar los INSERT en lotes JDBC (con IDENTITY cada INSERT es un viaje aparte).
+ *
+ * El tamaño del bloque se toma de {@link PooledSequenceGenerator#ALLOCATION_SIZE_SETTING}
+ * y debe coincidir con el INCREMENT BY de la secuencia.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledSequence {
+
+    /**
+     * Nombre de la secuencia en la base de datos.
+     */
+    String value();
+}
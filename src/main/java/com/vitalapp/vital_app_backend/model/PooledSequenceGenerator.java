@@ -0,0 +1,44 @@
+package com.vitalapp.vital_app_backend.model;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generador de {@link PooledSequence}: una {@link SequenceStyleGenerator} con el
+ * optimizador pooled cuyo tamaño de bloque es configurable al arrancar.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Propiedad de Hibernate con el tamaño de bloque; se define con
+     * spring.jpa.properties.vitalapp.id.allocation-size.
+     */
+    public static final String ALLOCATION_SIZE_SETTING = "vitalapp.id.allocation-size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1) {
+            throw new MappingException(ALLOCATION_SIZE_SETTING + " debe ser mayor que cero: " + allocationSize);
+        }
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, "pooled");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vitalapp.vital_app_backend.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro persistido de un refresh token emitido.
+ *
+ * Cada token pertenece a una familia (la cadena de rotaciones que parte de un login);
+ * reutilizar un token ya rotado revoca la familia entera.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean used = false;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean revoked = false;
+
+    /**
+     * El jti se asigna en memoria, así que se marca como nuevo para que
+     * saveAll haga INSERT directo en lugar de SELECT + merge.
+     */
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,7 @@
+package com.vitalapp.vital_app_backend.model;
+
+public enum StaffRole {
+    DOCTOR,
+    NURSE,
+    COORDINATOR
+}
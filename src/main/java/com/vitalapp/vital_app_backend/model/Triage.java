@@ -6,31 +6,51 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "triages")
+@NamedEntityGraph(name = Triage.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode("createdBy")
+})
+@Table(name = "triages", indexes = {
+        @Index(name = "idx_triages_patient_created", columnList = "patient_id, created_at DESC"),
+        @Index(name = "idx_triages_status_severity", columnList = "status, severity_level DESC, created_at"),
+        @Index(name = "idx_triages_severity", columnList = "severity_level")
+})
 public class Triage {
 
+    /**
+     * Plan de carga de los listados: trae el paciente y el usuario que lo registró
+     * en la misma consulta, que es lo que necesita el DTO de respuesta.
+     */
+    public static final String SUMMARY_GRAPH = "Triage.summary";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("triages_seq")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
@@ -62,7 +82,9 @@ public class Triage {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "created_by")
     private User createdBy;
 
@@ -0,0 +1,35 @@
+package com.vitalapp.vital_app_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vitalapp.vital_app_backend.model.AlertSubscription;
+
+@Repository
+public interface AlertSubscriptionRepository extends JpaRepository<AlertSubscription, Long> {
+
+    /**
+     * Reglas de los usuarios activos, para construir el índice de enrutamiento. Lee la
+     * tabla completa por diseño; el usuario no se carga, basta su ID
+     */
+    @Query("SELECT s FROM AlertSubscription s WHERE s.user.active = true")
+    List<AlertSubscription> findAllForActiveUsers();
+
+    /**
+     * Todas las reglas con su usuario, en orden de ID
+     */
+    @EntityGraph(attributePaths = "user")
+    List<AlertSubscription> findAllByOrderByIdAsc();
+
+    /**
+     * Reglas de un usuario, en orden de ID
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT s FROM AlertSubscription s WHERE s.user.id = :userId ORDER BY s.id")
+    List<AlertSubscription> findByUserId(@Param("userId") Long userId);
+}
@@ -1,39 +1,164 @@
 package com.vitalapp.vital_app_backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.vitalapp.vital_app_backend.model.Appointment;
 import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.util.EntityStreams;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    @Override
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
+    Optional<Appointment> findById(Long id);
+
+    @Override
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
+    Page<Appointment> findAll(Pageable pageable);
+
     /**
      * Busca citas por paciente
      */
-    List<Appointment> findByPatientId(Long patientId);
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
+    @Query("SELECT a FROM Appointment a WHERE a.patient.id = :patientId")
+    List<Appointment> findByPatientId(@Param("patientId") Long patientId);
 
     /**
      * Busca citas por estado
      */
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
     List<Appointment> findByStatus(AppointmentStatus status);
 
     /**
      * Busca citas entre fechas
      */
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
     List<Appointment> findByScheduledAtBetween(LocalDateTime start, LocalDateTime end);
 
     /**
      * Busca citas por paciente y estado
      */
-    List<Appointment> findByPatientIdAndStatus(Long patientId, AppointmentStatus status);
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
+    @Query("SELECT a FROM Appointment a WHERE a.patient.id = :patientId AND a.status = :status")
+    List<Appointment> findByPatientIdAndStatus(
+            @Param("patientId") Long patientId, @Param("status") AppointmentStatus status);
+
+    /**
+     * Busca citas no canceladas programadas después de una fecha, ordenadas por fecha ascendente.
+     * El estado va como literal para que PostgreSQL pueda usar el índice parcial de próximas citas.
+     */
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
+    @Query("""
+            SELECT a FROM Appointment a
+            WHERE a.scheduledAt > :date
+              AND a.status <> com.vitalapp.vital_app_backend.model.AppointmentStatus.CANCELLED
+            ORDER BY a.scheduledAt
+            """)
+    List<Appointment> findUpcoming(@Param("date") LocalDateTime date);
+
+    /**
+     * Citas que ocupan la agenda de su doctor (ni canceladas ni ausentes) programadas
+     * desde una fecha; cargan el índice de horarios en memoria al arrancar.
+     */
+    @Query("""
+            SELECT a FROM Appointment a
+            WHERE a.scheduledAt >= :from
+              AND a.status <> com.vitalapp.vital_app_backend.model.AppointmentStatus.CANCELLED
+              AND a.status <> com.vitalapp.vital_app_backend.model.AppointmentStatus.NO_SHOW
+            """)
+    List<Appointment> findBlockingFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * Citas pendientes de recordatorio programadas en el rango (desde, hasta], con solo
+     * el ID y la fecha. Usa el índice parcial de recordatorios pendientes.
+     */
+    @Query("""
+            SELECT a.id AS id, a.scheduledAt AS scheduledAt FROM Appointment a
+            WHERE a.reminderSent = false
+              AND a.status IN (com.vitalapp.vital_app_backend.model.AppointmentStatus.SCHEDULED,
+                               com.vitalapp.vital_app_backend.model.AppointmentStatus.CONFIRMED)
+              AND a.scheduledAt > :from AND a.scheduledAt <= :to
+            """)
+    List<ReminderCandidate> findReminderCandidates(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Bloquea, entre las citas indicadas, las que siguen pendientes de recordatorio, aún
+     * no han empezado y empiezan como tarde en dueUntil (ahora más la antelación): una
+     * entrada de la rueda que quedó atrás tras mover la cita en otro nodo no envía el
+     * recordatorio antes de tiempo. Las filas bloqueadas por otro nodo se saltan en lugar
+     * de esperar, de modo que varios nodos pueden repartir los recordatorios sin
+     * duplicarlos. Debe ejecutarse dentro de la transacción que envía los recordatorios.
+     */
+    @Query(value = """
+            SELECT a.id AS id, a.specialty AS specialty FROM appointments a
+            WHERE a.id IN (:ids)
+              AND a.reminder_sent = false
+              AND a.status IN ('SCHEDULED', 'CONFIRMED')
+              AND a.scheduled_at > :now
+              AND a.scheduled_at <= :dueUntil
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ClaimedReminder> claimDueReminders(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+            @Param("dueUntil") LocalDateTime dueUntil);
+
+    /**
+     * Marca como enviado el recordatorio de las citas indicadas con una sola sentencia UPDATE
+     *
+     * @return número de citas marcadas
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSent = true, a.updatedAt = :now WHERE a.id IN :ids")
+    int markRemindersSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Página por keyset: citas con ID mayor que el dado, en orden de ID
+     */
+    @EntityGraph(Appointment.SUMMARY_GRAPH)
+    List<Appointment> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todas las citas en orden de ID sin cargarlas en memoria a la vez.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreams.FETCH_SIZE_HINT))
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient ORDER BY a.id")
+    Stream<Appointment> streamAllByOrderByIdAsc();
 
     /**
-     * Busca citas programadas después de una fecha ordenadas por fecha ascendente
+     * ID y fecha de una cita pendiente de recordatorio
      */
-    List<Appointment> findByScheduledAtAfterOrderByScheduledAtAsc(LocalDateTime date);
-}
\ No newline at end of file
+    interface ReminderCandidate {
+
+        Long getId();
+
+        LocalDateTime getScheduledAt();
+    }
+
+    /**
+     * Cita reclamada para enviar su recordatorio
+     */
+    interface ClaimedReminder {
+
+        Long getId();
+
+        String getSpecialty();
+    }
+}
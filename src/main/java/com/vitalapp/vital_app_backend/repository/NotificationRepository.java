@@ -1,38 +1,299 @@
 package com.vitalapp.vital_app_backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.NotificationPriority;
 import com.vitalapp.vital_app_backend.model.NotificationType;
+import com.vitalapp.vital_app_backend.util.EntityStreams;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    @Override
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    Optional<Notification> findById(Long id);
+
+    @Override
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    Page<Notification> findAll(Pageable pageable);
+
     /**
-     * Busca notificaciones por destinatario
+     * Busca notificaciones por destinatario.
+     * Las consultas por destinatario filtran sobre la clave foránea: derivadas del nombre,
+     * filtrarían por el ID del usuario unido por el plan de carga y no usarían el índice.
      */
-    List<Notification> findByRecipientId(Long recipientId);
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId")
+    List<Notification> findByRecipientId(@Param("recipientId") Long recipientId);
 
     /**
      * Busca notificaciones no leídas por destinatario
      */
-    List<Notification> findByRecipientIdAndReadFalse(Long recipientId);
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId AND n.read = false")
+    List<Notification> findByRecipientIdAndReadFalse(@Param("recipientId") Long recipientId);
 
     /**
      * Busca notificaciones por destinatario ordenadas por fecha de creación descendente
      */
-    List<Notification> findByRecipientIdOrderByCreatedAtDesc(Long recipientId);
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId ORDER BY n.createdAt DESC")
+    List<Notification> findByRecipientIdOrderByCreatedAtDesc(@Param("recipientId") Long recipientId);
 
     /**
      * Busca notificaciones por destinatario y tipo
      */
-    List<Notification> findByRecipientIdAndType(Long recipientId, NotificationType type);
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId AND n.type = :type")
+    List<Notification> findByRecipientIdAndType(
+            @Param("recipientId") Long recipientId, @Param("type") NotificationType type);
 
     /**
      * Cuenta notificaciones no leídas por destinatario
      */
-    long countByRecipientIdAndReadFalse(Long recipientId);
-}
\ No newline at end of file
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :recipientId AND n.read = false")
+    long countByRecipientIdAndReadFalse(@Param("recipientId") Long recipientId);
+
+    /**
+     * Marca como leídas todas las notificaciones pendientes de un destinatario con una
+     * sola sentencia UPDATE
+     *
+     * @return número de notificaciones marcadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Notification n SET n.read = true, n.readAt = :readAt
+            WHERE n.recipient.id = :recipientId AND n.read = false
+            """)
+    int markAllAsReadByRecipientId(@Param("recipientId") Long recipientId, @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Elimina las notificaciones expiradas con una sola sentencia DELETE
+     *
+     * @return número de notificaciones eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * IDs de notificaciones expiradas, en orden de ID y acotados por el límite
+     */
+    @Query("SELECT n.id FROM Notification n WHERE n.expiresAt < :now ORDER BY n.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Elimina las notificaciones indicadas con una sola sentencia DELETE
+     *
+     * @return número de notificaciones eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Notificaciones de un destinatario creadas después de un instante, en orden de
+     * creación (reanudación de eventos). Los IDs no siguen el orden de confirmación,
+     * así que la reanudación no puede basarse en ellos
+     */
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.recipient.id = :recipientId AND n.createdAt > :after
+            ORDER BY n.createdAt, n.id
+            """)
+    List<Notification> findByRecipientIdAndCreatedAtAfter(
+            @Param("recipientId") Long recipientId, @Param("after") LocalDateTime after, Limit limit);
+
+    /**
+     * Notificaciones de varios destinatarios creadas después de un instante, en orden de
+     * creación (envío a las conexiones abiertas en este nodo de lo creado en otros)
+     */
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.recipient.id IN :recipientIds AND n.createdAt > :after
+            ORDER BY n.createdAt, n.id
+            """)
+    List<Notification> findByRecipientIdInAndCreatedAtAfter(
+            @Param("recipientIds") Collection<Long> recipientIds, @Param("after") LocalDateTime after, Limit limit);
+
+    /**
+     * Última lectura posterior a un instante de cada destinatario indicado que marcó
+     * notificaciones como leídas desde entonces
+     */
+    @Query("""
+            SELECT n.recipient.id AS recipientId, MAX(n.readAt) AS lastReadAt
+            FROM Notification n
+            WHERE n.recipient.id IN :recipientIds AND n.readAt > :after
+            GROUP BY n.recipient.id
+            """)
+    List<RecipientRead> findLastReadAfter(
+            @Param("recipientIds") Collection<Long> recipientIds, @Param("after") LocalDateTime after);
+
+    /**
+     * Crea la misma notificación para cada usuario activo con una única sentencia
+     * INSERT ... SELECT, sin cargar los usuarios ni insertar fila a fila. Los usuarios
+     * que ya tienen una notificación de la misma entidad relacionada se saltan, de modo
+     * que repetir la llamada para un evento reentregado no duplica filas
+     *
+     * @return número de notificaciones creadas
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO Notification (recipient, title, message, type, priority, read,
+                    relatedEntityType, relatedEntityId, createdAt)
+            SELECT u, :title, :message, :type, :priority, false,
+                    :relatedEntityType, :relatedEntityId, :createdAt
+            FROM User u
+            WHERE u.active = true
+              AND NOT EXISTS (
+                  SELECT 1 FROM Notification n
+                  WHERE n.recipient = u
+                    AND n.relatedEntityType = :relatedEntityType
+                    AND n.relatedEntityId = :relatedEntityId)
+            """)
+    int insertForActiveUsers(
+            @Param("title") String title,
+            @Param("message") String message,
+            @Param("type") NotificationType type,
+            @Param("priority") NotificationPriority priority,
+            @Param("relatedEntityType") String relatedEntityType,
+            @Param("relatedEntityId") Long relatedEntityId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Crea la misma notificación para los usuarios indicados que siguen activos con una
+     * única sentencia INSERT ... SELECT; como insertForActiveUsers, salta a quienes ya
+     * tienen una notificación de la misma entidad relacionada
+     *
+     * @return número de notificaciones creadas
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO Notification (recipient, title, message, type, priority, read,
+                    relatedEntityType, relatedEntityId, createdAt)
+            SELECT u, :title, :message, :type, :priority, false,
+                    :relatedEntityType, :relatedEntityId, :createdAt
+            FROM User u
+            WHERE u.id IN :recipientIds
+              AND u.active = true
+              AND NOT EXISTS (
+                  SELECT 1 FROM Notification n
+                  WHERE n.recipient = u
+                    AND n.relatedEntityType = :relatedEntityType
+                    AND n.relatedEntityId = :relatedEntityId)
+            """)
+    int insertForUsers(
+            @Param("recipientIds") Collection<Long> recipientIds,
+            @Param("title") String title,
+            @Param("message") String message,
+            @Param("type") NotificationType type,
+            @Param("priority") NotificationPriority priority,
+            @Param("relatedEntityType") String relatedEntityType,
+            @Param("relatedEntityId") Long relatedEntityId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Crea un recordatorio por cada cita indicada para cada destinatario indicado que siga
+     * activo con una única sentencia INSERT ... SELECT; el mensaje se compone con el
+     * doctor, la especialidad y la fecha de cada cita
+     *
+     * @return número de notificaciones creadas
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO Notification (recipient, title, message, type, priority, read,
+                    relatedEntityType, relatedEntityId, createdAt)
+            SELECT u, :title,
+                    CONCAT('Cita con ', a.doctor, ' (', a.specialty, ') el ', CAST(a.scheduledAt AS String)),
+                    :type, :priority, false, :relatedEntityType, a.id, :createdAt
+            FROM Appointment a, User u
+            WHERE a.id IN :appointmentIds
+              AND u.id IN :recipientIds
+              AND u.active = true
+            """)
+    int insertAppointmentReminders(
+            @Param("appointmentIds") Collection<Long> appointmentIds,
+            @Param("recipientIds") Collection<Long> recipientIds,
+            @Param("title") String title,
+            @Param("type") NotificationType type,
+            @Param("priority") NotificationPriority priority,
+            @Param("relatedEntityType") String relatedEntityType,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Notificaciones creadas en un instante para varias entidades relacionadas y los
+     * destinatarios dados (relectura de un envío masivo)
+     */
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.relatedEntityType = :relatedEntityType
+              AND n.relatedEntityId IN :relatedEntityIds
+              AND n.createdAt = :createdAt
+              AND n.recipient.id IN :recipientIds
+            """)
+    List<Notification> findCreatedForRelatedEntities(
+            @Param("relatedEntityType") String relatedEntityType,
+            @Param("relatedEntityIds") Collection<Long> relatedEntityIds,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("recipientIds") Collection<Long> recipientIds);
+
+    /**
+     * Notificaciones de una entidad relacionada para los destinatarios dados
+     */
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.relatedEntityType = :relatedEntityType
+              AND n.relatedEntityId = :relatedEntityId
+              AND n.recipient.id IN :recipientIds
+            """)
+    List<Notification> findByRelatedEntityTypeAndRelatedEntityIdAndRecipientIdIn(
+            @Param("relatedEntityType") String relatedEntityType,
+            @Param("relatedEntityId") Long relatedEntityId,
+            @Param("recipientIds") Collection<Long> recipientIds);
+
+    /**
+     * Página por keyset: notificaciones con ID mayor que el dado, en orden de ID
+     */
+    @EntityGraph(Notification.SUMMARY_GRAPH)
+    List<Notification> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todas las notificaciones en orden de ID sin cargarlas en memoria a la vez.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreams.FETCH_SIZE_HINT))
+    @Query("SELECT n FROM Notification n JOIN FETCH n.recipient ORDER BY n.id")
+    Stream<Notification> streamAllByOrderByIdAsc();
+
+    /**
+     * Última lectura de notificaciones de un destinatario
+     */
+    interface RecipientRead {
+
+        Long getRecipientId();
+
+        LocalDateTime getLastReadAt();
+    }
+}
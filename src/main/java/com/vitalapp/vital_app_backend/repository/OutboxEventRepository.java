@@ -0,0 +1,105 @@
+package com.vitalapp.vital_app_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vitalapp.vital_app_backend.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Bloquea los siguientes eventos pendientes que encabezan su agregado, en orden de ID:
+     * los que no tienen un evento anterior del mismo agregado sin entregar (aplazado o
+     * reclamado por otro nodo). Así un fallo aplazado retiene a los posteriores de su
+     * agregado y dos nodos nunca entregan a la vez eventos del mismo agregado. Las filas
+     * bloqueadas por otro nodo se saltan en lugar de esperar; las que agotaron sus
+     * intentos ya no se reclaman ni retienen a las demás. Debe ejecutarse dentro de la
+     * transacción que entrega los eventos.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.processed_at IS NULL
+              AND e.available_at <= :now
+              AND e.attempts < :maxAttempts
+              AND NOT EXISTS (
+                  SELECT 1 FROM outbox_events p
+                  WHERE p.aggregate_type = e.aggregate_type
+                    AND p.aggregate_id = e.aggregate_id
+                    AND p.processed_at IS NULL
+                    AND p.attempts < :maxAttempts
+                    AND p.id < e.id)
+            ORDER BY e.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimPending(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+            @Param("limit") int limit);
+
+    /**
+     * Bloquea, en orden de ID, los eventos pendientes de los agregados indicados que siguen
+     * a los ya reclamados. Solo se llama con agregados cuyo primer evento pendiente tiene
+     * bloqueado esta transacción, así que ningún otro nodo puede reclamarlos; se espera al
+     * bloqueo en lugar de saltar filas para no entregar un evento antes que el anterior.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.aggregate_type = :aggregateType
+              AND e.aggregate_id IN (:aggregateIds)
+              AND e.processed_at IS NULL
+              AND e.attempts < :maxAttempts
+              AND e.id NOT IN (:claimedIds)
+            ORDER BY e.id
+            LIMIT :limit
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<OutboxEvent> claimFollowing(@Param("aggregateType") String aggregateType,
+            @Param("aggregateIds") Collection<Long> aggregateIds, @Param("claimedIds") Collection<Long> claimedIds,
+            @Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    /**
+     * Marca como entregados los eventos indicados con una sola sentencia UPDATE
+     *
+     * @return número de eventos marcados
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :now WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Registra un intento fallido de los eventos indicados y los aplaza hasta retryAt
+     *
+     * @return número de eventos aplazados
+     */
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e
+            SET e.attempts = e.attempts + 1, e.availableAt = :retryAt, e.lastError = :error
+            WHERE e.id IN :ids
+            """)
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("retryAt") LocalDateTime retryAt,
+            @Param("error") String error);
+
+    /**
+     * IDs de eventos entregados antes de la fecha dada, en orden de ID y acotados por el límite
+     */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.processedAt < :before ORDER BY e.id")
+    List<Long> findProcessedIds(@Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * Elimina los eventos indicados con una sola sentencia DELETE
+     *
+     * @return número de eventos eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -3,6 +3,7 @@ package com.vitalapp.vital_app_backend.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -36,6 +37,31 @@ public interface PatientRepository extends JpaRepository<Patient, Long>,
     @Query("SELECT p FROM Patient p WHERE LOWER(p.fullName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Patient> findByFullNameContainingIgnoreCase(@Param("name") String name);
 
+    /**
+     * Busca pacientes por nombre normalizado usando el índice de trigramas (PostgreSQL).
+     *
+     * Coincide por subcadena o por similitud de palabra (tolera errores de escritura)
+     * y ordena por similitud descendente. En la subcadena, %, _ y {@code \} del texto se escapan
+     * para que se comparen literalmente, como en las consultas derivadas con Containing.
+     *
+     * @param query nombre ya normalizado con TextNormalizer.forSearch
+     */
+    @Query(value = """
+            SELECT * FROM patients p
+            WHERE p.search_name LIKE
+                    '%' || replace(replace(replace(:query, '\\', '\\\\'), '%', '\\%'), '_', '\\_') || '%'
+                    ESCAPE '\\'
+               OR :query <% p.search_name
+            ORDER BY word_similarity(:query, p.search_name) DESC, p.full_name, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Patient> searchByNameTrigram(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Búsqueda por subcadena del nombre normalizado, para bases sin pg_trgm (H2 en tests)
+     */
+    List<Patient> findBySearchNameContainingOrderByFullNameAscIdAsc(String query, Limit limit);
+
     /**
      * Busca paciente por número de documento y activo
      */
@@ -0,0 +1,53 @@
+package com.vitalapp.vital_app_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vitalapp.vital_app_backend.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Tokens aún vigentes, para precargar el índice en memoria al arrancar
+     */
+    List<RefreshToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Marca el token como usado (rotado) si aún no lo estaba ni está revocado. Entre
+     * varias peticiones concurrentes con el mismo token, solo una actualiza la fila
+     *
+     * @return 1 si el token se marcó; 0 si ya estaba usado, revocado o no existe
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.used = true WHERE r.jti = :jti AND r.used = false AND r.revoked = false")
+    int claimUnused(@Param("jti") String jti);
+
+    /**
+     * Revoca todos los tokens de las familias indicadas
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId IN :familyIds")
+    int revokeFamilies(@Param("familyIds") Collection<String> familyIds);
+
+    /**
+     * Revoca todos los tokens de un usuario
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.userId = :userId")
+    int revokeByUserId(@Param("userId") Long userId);
+
+    /**
+     * Elimina los tokens expirados
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,33 +1,80 @@
 package com.vitalapp.vital_app_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.vitalapp.vital_app_backend.model.Triage;
 import com.vitalapp.vital_app_backend.model.TriageStatus;
+import com.vitalapp.vital_app_backend.util.EntityStreams;
 
 @Repository
 public interface TriageRepository extends JpaRepository<Triage, Long> {
 
+    @Override
+    @EntityGraph(Triage.SUMMARY_GRAPH)
+    Optional<Triage> findById(Long id);
+
+    @Override
+    @EntityGraph(Triage.SUMMARY_GRAPH)
+    Page<Triage> findAll(Pageable pageable);
+
     /**
      * Busca triajes por paciente
      */
-    List<Triage> findByPatientId(Long patientId);
+    @EntityGraph(Triage.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Triage t WHERE t.patient.id = :patientId")
+    List<Triage> findByPatientId(@Param("patientId") Long patientId);
 
     /**
      * Busca triajes por estado
      */
+    @EntityGraph(Triage.SUMMARY_GRAPH)
     List<Triage> findByStatus(TriageStatus status);
 
+    /**
+     * Busca triajes en cualquiera de los estados dados
+     */
+    @EntityGraph(Triage.SUMMARY_GRAPH)
+    List<Triage> findByStatusIn(Collection<TriageStatus> statuses);
+
     /**
      * Busca triajes por paciente ordenados por fecha de creación descendente
      */
-    List<Triage> findByPatientIdOrderByCreatedAtDesc(Long patientId);
+    @EntityGraph(Triage.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Triage t WHERE t.patient.id = :patientId ORDER BY t.createdAt DESC")
+    List<Triage> findByPatientIdOrderByCreatedAtDesc(@Param("patientId") Long patientId);
 
     /**
      * Busca triajes con nivel de severidad mayor o igual al especificado
      */
+    @EntityGraph(Triage.SUMMARY_GRAPH)
     List<Triage> findBySeverityLevelGreaterThanEqual(Integer level);
-}
\ No newline at end of file
+
+    /**
+     * Página por keyset: triajes con ID mayor que el dado, en orden de ID
+     */
+    @EntityGraph(Triage.SUMMARY_GRAPH)
+    List<Triage> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todos los triajes en orden de ID sin cargarlos en memoria a la vez.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreams.FETCH_SIZE_HINT))
+    @Query("SELECT t FROM Triage t JOIN FETCH t.patient LEFT JOIN FETCH t.createdBy ORDER BY t.id")
+    Stream<Triage> streamAllByOrderByIdAsc();
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,4 +23,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 
+    /**
+     * Obtiene solo el estado activo de un usuario (sin cargar la entidad)
+     */
+    @Query("SELECT u.active FROM User u WHERE u.id = :id")
+    Optional<Boolean> findActiveById(@Param("id") Long id);
+
+    /**
+     * Reemplaza el hash de contraseña de un usuario
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
 }
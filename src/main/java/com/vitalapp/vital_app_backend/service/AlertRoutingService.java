@@ -0,0 +1,341 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vitalapp.vital_app_backend.dto.alert.AlertSubscriptionCreateDTO;
+import com.vitalapp.vital_app_backend.dto.alert.AlertSubscriptionResponseDTO;
+import com.vitalapp.vital_app_backend.exception.custom.BusinessException;
+import com.vitalapp.vital_app_backend.exception.custom.ResourceNotFoundException;
+import com.vitalapp.vital_app_backend.mapper.AlertSubscriptionMapper;
+import com.vitalapp.vital_app_backend.model.AlertSubscription;
+import com.vitalapp.vital_app_backend.model.StaffRole;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.AlertSubscriptionRepository;
+import com.vitalapp.vital_app_backend.repository.UserRepository;
+import com.vitalapp.vital_app_backend.util.TransactionHooks;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Destinatarios de cada aviso según las reglas de {@link AlertSubscription}: rol,
+ * severidad mínima, especialidad y turno.
+ *
+ * Las reglas se mantienen en memoria en un índice por (rol, severidad, hora del día,
+ * especialidad); cada regla ocupa las celdas de las severidades y horas que cubre.
+ * Resolver un aviso consulta un número fijo de celdas y solo recorre las reglas que
+ * coinciden, sin depender del total de reglas ni de usuarios. El índice es inmutable
+ * y se reconstruye al confirmar un cambio de reglas y periódicamente, para recoger los
+ * cambios de otras instancias y las bajas de usuarios.
+ *
+ * Publica {@code alerts.routing.fanout} (destinatarios por aviso enrutado),
+ * {@code alerts.routing.broadcast} (avisos sin regla aplicable enviados a todos los
+ * usuarios activos) y {@code alerts.routing.rules} (reglas en el índice).
+ */
+@Service
+public class AlertRoutingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertRoutingService.class);
+
+    /**
+     * Nombre de los avisos de triaje en las métricas.
+     */
+    public static final String TRIAGE_ALERT = "triage";
+
+    /**
+     * Nombre de los recordatorios de citas en las métricas.
+     */
+    public static final String REMINDER_ALERT = "appointment-reminder";
+
+    // Los recordatorios no tienen severidad: llegan a las reglas que aceptan cualquiera
+    static final int REMINDER_SEVERITY = 1;
+
+    static final int MAX_SEVERITY = 5;
+
+    // Celda de las reglas sin especialidad, que cubren todas
+    private static final String ANY_SPECIALTY = "*";
+    // Celda que consultan los avisos sin especialidad: contiene todas las reglas
+    private static final String UNSPECIFIED = "";
+
+    private static final List<Integer> ALL_HOURS = IntStream.range(0, 24).boxed().toList();
+    private static final long NANOS_PER_DAY = Duration.ofDays(1).toNanos();
+    private static final long NANOS_PER_HOUR = Duration.ofHours(1).toNanos();
+
+    private final AlertSubscriptionRepository alertSubscriptionRepository;
+    private final UserRepository userRepository;
+    private final AlertSubscriptionMapper alertSubscriptionMapper;
+    private final MeterRegistry meterRegistry;
+    private final Set<StaffRole> triageRoles;
+    private final Set<StaffRole> reminderRoles;
+    private final boolean fallbackToActiveUsers;
+
+    private volatile RoutingIndex index = RoutingIndex.EMPTY;
+
+    public AlertRoutingService(
+            AlertSubscriptionRepository alertSubscriptionRepository,
+            UserRepository userRepository,
+            AlertSubscriptionMapper alertSubscriptionMapper,
+            MeterRegistry meterRegistry,
+            @Value("${alerts.routing.triage-roles:DOCTOR,NURSE,COORDINATOR}") Set<StaffRole> triageRoles,
+            @Value("${alerts.routing.reminder-roles:DOCTOR,COORDINATOR}") Set<StaffRole> reminderRoles,
+            @Value("${alerts.routing.fallback-to-active-users:true}") boolean fallbackToActiveUsers) {
+        this.alertSubscriptionRepository = alertSubscriptionRepository;
+        this.userRepository = userRepository;
+        this.alertSubscriptionMapper = alertSubscriptionMapper;
+        this.meterRegistry = meterRegistry;
+        this.triageRoles = Set.copyOf(triageRoles);
+        this.reminderRoles = Set.copyOf(reminderRoles);
+        this.fallbackToActiveUsers = fallbackToActiveUsers;
+        Gauge.builder("alerts.routing.rules", this, service -> service.index.size())
+                .description("Reglas de avisos en el índice de enrutamiento")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+        logger.info("Índice de avisos cargado: {} reglas", index.size());
+    }
+
+    /**
+     * Reconstruye el índice con las reglas confirmadas, incluidas las de otras instancias.
+     */
+    @Scheduled(fixedDelayString = "${alerts.routing.refresh-interval:5m}",
+            initialDelayString = "${alerts.routing.refresh-interval:5m}")
+    public void refresh() {
+        reload();
+    }
+
+    // Lectura y sustitución juntas: una recarga posterior nunca publica datos anteriores
+    synchronized void reload() {
+        index = RoutingIndex.build(alertSubscriptionRepository.findAllForActiveUsers());
+    }
+
+    /**
+     * Destinatarios de un aviso de triaje con la severidad dada a esa hora.
+     */
+    public AlertRoute routeTriage(int severity, LocalDateTime at) {
+        return route(TRIAGE_ALERT, triageRoles, severity, null, at);
+    }
+
+    /**
+     * Destinatarios del recordatorio de una cita de la especialidad dada a esa hora. Sin
+     * reglas aplicables no se envía a nadie: un recordatorio no justifica avisar a todos
+     * los usuarios activos.
+     */
+    public AlertRoute routeReminder(String specialty, LocalDateTime at) {
+        return route(REMINDER_ALERT, reminderRoles, REMINDER_SEVERITY, specialty, at, false);
+    }
+
+    /**
+     * Destinatarios de un aviso: usuarios con alguna regla de uno de los roles dados
+     * que cubre la severidad, la especialidad y la hora. Un aviso sin especialidad
+     * llega a todas las reglas; uno con especialidad, a las de esa especialidad y a
+     * las que no tienen. Si ninguna regla coincide y está activado el envío de
+     * respaldo, el resultado indica que se avise a todos los usuarios activos.
+     *
+     * @param alert nombre del aviso en las métricas
+     */
+    public AlertRoute route(String alert, Set<StaffRole> roles, int severity, String specialty, LocalDateTime at) {
+        return route(alert, roles, severity, specialty, at, fallbackToActiveUsers);
+    }
+
+    private AlertRoute route(String alert, Set<StaffRole> roles, int severity, String specialty, LocalDateTime at,
+            boolean fallback) {
+        Set<Long> recipients = index.match(roles, severity, specialtyKey(specialty), at.toLocalTime());
+        if (recipients.isEmpty() && fallback) {
+            meterRegistry.counter("alerts.routing.broadcast", "alert", alert).increment();
+            return new AlertRoute(Set.of(), true);
+        }
+        DistributionSummary.builder("alerts.routing.fanout")
+                .description("Destinatarios por aviso enrutado")
+                .tag("alert", alert)
+                .register(meterRegistry)
+                .record(recipients.size());
+        return new AlertRoute(recipients, false);
+    }
+
+    /**
+     * Obtiene todas las reglas de avisos
+     */
+    @Transactional(readOnly = true)
+    public List<AlertSubscriptionResponseDTO> getAllSubscriptions() {
+        return alertSubscriptionRepository.findAllByOrderByIdAsc().stream()
+                .map(alertSubscriptionMapper::toResponseDTO)
+                .toList();
+    }
+
+    /**
+     * Obtiene las reglas de avisos de un usuario
+     */
+    @Transactional(readOnly = true)
+    public List<AlertSubscriptionResponseDTO> getSubscriptionsByUserId(Long userId) {
+        return alertSubscriptionRepository.findByUserId(userId).stream()
+                .map(alertSubscriptionMapper::toResponseDTO)
+                .toList();
+    }
+
+    /**
+     * Crea una regla de avisos; el índice se reconstruye al confirmar
+     */
+    @Transactional
+    public AlertSubscriptionResponseDTO createSubscription(AlertSubscriptionCreateDTO dto) {
+        if ((dto.getShiftStart() == null) != (dto.getShiftEnd() == null)) {
+            throw new BusinessException("El turno requiere hora de inicio y hora de fin");
+        }
+        User user = userRepository.findById(dto.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + dto.getUserId()));
+
+        AlertSubscription subscription = alertSubscriptionMapper.toEntity(dto);
+        subscription.setUser(user);
+        AlertSubscription saved = alertSubscriptionRepository.save(subscription);
+        TransactionHooks.afterCommit(this::reload);
+        return alertSubscriptionMapper.toResponseDTO(saved);
+    }
+
+    /**
+     * Elimina una regla de avisos; el índice se reconstruye al confirmar
+     */
+    @Transactional
+    public void deleteSubscription(Long id) {
+        if (!alertSubscriptionRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Regla de avisos no encontrada con ID: " + id);
+        }
+        alertSubscriptionRepository.deleteById(id);
+        TransactionHooks.afterCommit(this::reload);
+    }
+
+    private static String specialtyKey(String specialty) {
+        return specialty == null || specialty.isBlank() ? UNSPECIFIED : normalize(specialty);
+    }
+
+    private static String normalize(String specialty) {
+        return specialty.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Destinatarios de un aviso. Con broadcast, recipients está vacío y el aviso va a
+     * todos los usuarios activos.
+     */
+    public record AlertRoute(Set<Long> recipients, boolean broadcast) {
+    }
+
+    private record Cell(StaffRole role, int severity, int hour, String specialty) {
+    }
+
+    private record Rule(Long userId, LocalTime shiftStart, LocalTime shiftEnd) {
+
+        boolean allDay() {
+            return shiftStart == null || shiftEnd == null || shiftStart.equals(shiftEnd);
+        }
+
+        boolean covers(LocalTime time) {
+            if (allDay()) {
+                return true;
+            }
+            if (shiftStart.isBefore(shiftEnd)) {
+                return !time.isBefore(shiftStart) && time.isBefore(shiftEnd);
+            }
+            // Turno que cruza la medianoche
+            return !time.isBefore(shiftStart) || time.isBefore(shiftEnd);
+        }
+
+        // Horas que toca el turno, desde la de inicio hasta la del último instante
+        List<Integer> hours() {
+            if (allDay()) {
+                return ALL_HOURS;
+            }
+            long length = Math.floorMod(shiftEnd.toNanoOfDay() - shiftStart.toNanoOfDay(), NANOS_PER_DAY);
+            long lastOffset = shiftStart.toNanoOfDay() % NANOS_PER_HOUR + length - 1;
+            int count = (int) Math.min(24, lastOffset / NANOS_PER_HOUR + 1);
+            List<Integer> hours = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                hours.add((shiftStart.getHour() + i) % 24);
+            }
+            return hours;
+        }
+    }
+
+    /**
+     * Reglas agrupadas por celda. Una regla ocupa como mucho 2 × 5 × 24 celdas; en las
+     * horas de inicio y fin del turno se comprueban los minutos.
+     */
+    private static final class RoutingIndex {
+
+        static final RoutingIndex EMPTY = new RoutingIndex(Map.of(), 0);
+
+        private final Map<Cell, List<Rule>> cells;
+        private final int size;
+
+        private RoutingIndex(Map<Cell, List<Rule>> cells, int size) {
+            this.cells = cells;
+            this.size = size;
+        }
+
+        static RoutingIndex build(List<AlertSubscription> subscriptions) {
+            Map<Cell, List<Rule>> cells = new HashMap<>();
+            for (AlertSubscription subscription : subscriptions) {
+                Rule rule = new Rule(subscription.getUser().getId(),
+                        subscription.getShiftStart(), subscription.getShiftEnd());
+                String specialty = subscription.getSpecialty() != null
+                        ? normalize(subscription.getSpecialty())
+                        : ANY_SPECIALTY;
+                List<Integer> hours = rule.hours();
+                for (int severity = Math.max(1, subscription.getMinSeverity()); severity <= MAX_SEVERITY; severity++) {
+                    for (int hour : hours) {
+                        add(cells, new Cell(subscription.getRole(), severity, hour, specialty), rule);
+                        add(cells, new Cell(subscription.getRole(), severity, hour, UNSPECIFIED), rule);
+                    }
+                }
+            }
+            cells.replaceAll((cell, rules) -> List.copyOf(rules));
+            return new RoutingIndex(Map.copyOf(cells), subscriptions.size());
+        }
+
+        private static void add(Map<Cell, List<Rule>> cells, Cell cell, Rule rule) {
+            cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(rule);
+        }
+
+        Set<Long> match(Set<StaffRole> roles, int severity, String specialty, LocalTime time) {
+            Set<Long> recipients = new LinkedHashSet<>();
+            for (StaffRole role : roles) {
+                collect(new Cell(role, severity, time.getHour(), specialty), time, recipients);
+                if (!UNSPECIFIED.equals(specialty)) {
+                    collect(new Cell(role, severity, time.getHour(), ANY_SPECIALTY), time, recipients);
+                }
+            }
+            return recipients;
+        }
+
+        private void collect(Cell cell, LocalTime time, Set<Long> recipients) {
+            for (Rule rule : cells.getOrDefault(cell, List.of())) {
+                if (rule.covers(time)) {
+                    recipients.add(rule.userId());
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
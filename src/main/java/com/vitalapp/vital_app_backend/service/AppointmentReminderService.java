@@ -0,0 +1,212 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.model.Appointment;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository.ClaimedReminder;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository.ReminderCandidate;
+import com.vitalapp.vital_app_backend.service.AlertRoutingService.AlertRoute;
+import com.vitalapp.vital_app_backend.util.TimingWheel;
+import com.vitalapp.vital_app_backend.util.TransactionHooks;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Envío de recordatorios de citas con lead-time de antelación.
+ *
+ * Las citas pendientes de recordatorio se cargan en una rueda de temporización por
+ * tramos: cada recarga lee solo las citas programadas desde el final del tramo
+ * anterior hasta lead-time + refill-interval, y las citas creadas o movidas dentro
+ * del tramo ya cargado se programan al confirmarse. Así cada tick solo consulta por
+ * ID las citas que vencen, sin recorrer la tabla de citas.
+ *
+ * La rueda es local a cada nodo: las citas creadas o movidas en otro nodo dentro del
+ * tramo cargado se recogen releyendo ese tramo cada resync-interval, y al reclamar se
+ * comprueba en la base de datos que la cita sigue venciendo, de modo que una entrada
+ * desfasada no adelanta el recordatorio.
+ *
+ * Las citas vencidas se reclaman por lotes con SELECT ... FOR UPDATE SKIP LOCKED,
+ * de modo que varios nodos pueden ejecutar el envío a la vez sin duplicar
+ * recordatorios. Cada recordatorio se envía a quienes tienen una regla de avisos para
+ * la especialidad de la cita (AlertRoutingService); si nadie la cubre, no se envía y
+ * la cita queda pendiente hasta que empiece, por si entretanto se añade una regla.
+ * Cada lote crea sus notificaciones con un INSERT ... SELECT por especialidad y marca
+ * reminderSent de las citas avisadas con un solo UPDATE, en su propia transacción; si
+ * falla, sus citas se reintentan en el siguiente tick.
+ */
+@Service
+public class AppointmentReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentReminderService.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final AlertRoutingService alertRoutingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leadTime;
+    private final Duration refillInterval;
+    private final int batchSize;
+    private final TimingWheel<Long> wheel;
+
+    // Fecha de cita hasta la que la rueda está cargada
+    private volatile LocalDateTime loadedUntil;
+
+    public AppointmentReminderService(
+            AppointmentRepository appointmentRepository,
+            NotificationService notificationService,
+            AlertRoutingService alertRoutingService,
+            TransactionTemplate transactionTemplate,
+            @Value("${appointments.reminders.lead-time:24h}") Duration leadTime,
+            @Value("${appointments.reminders.tick:1m}") Duration tick,
+            @Value("${appointments.reminders.refill-interval:1h}") Duration refillInterval,
+            @Value("${appointments.reminders.batch-size:200}") int batchSize) {
+        if (batchSize < 1 || leadTime.isNegative()) {
+            throw new IllegalArgumentException("El lote y la antelación de los recordatorios no son válidos");
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.alertRoutingService = alertRoutingService;
+        this.transactionTemplate = transactionTemplate;
+        this.leadTime = leadTime;
+        this.refillInterval = refillInterval;
+        this.batchSize = batchSize;
+        LocalDateTime now = LocalDateTime.now();
+        this.wheel = new TimingWheel<>(tick, refillInterval.plus(tick), now);
+        this.loadedUntil = now;
+    }
+
+    @PostConstruct
+    void load() {
+        refill();
+        logger.info("Recordatorios de citas programados: {}", wheel.size());
+    }
+
+    /**
+     * Programa el recordatorio de una cita creada o movida. Dentro de una transacción
+     * se aplica al confirmar; las citas fuera del tramo cargado las recoge la siguiente
+     * recarga.
+     */
+    public void schedule(Appointment appointment) {
+        if (appointment == null || appointment.getId() == null || appointment.isReminderSent()) {
+            return;
+        }
+        Long id = appointment.getId();
+        LocalDateTime scheduledAt = appointment.getScheduledAt();
+        TransactionHooks.afterCommit(() -> {
+            if (scheduledAt.isAfter(LocalDateTime.now()) && !scheduledAt.isAfter(loadedUntil)) {
+                wheel.schedule(id, scheduledAt.minus(leadTime));
+            }
+        });
+    }
+
+    /**
+     * Carga en la rueda el siguiente tramo de citas pendientes de recordatorio.
+     */
+    @Scheduled(fixedDelayString = "${appointments.reminders.refill-interval:1h}",
+            initialDelayString = "${appointments.reminders.refill-interval:1h}")
+    public synchronized void refill() {
+        LocalDateTime from = loadedUntil;
+        LocalDateTime until = LocalDateTime.now().plus(leadTime).plus(refillInterval);
+        if (!until.isAfter(from)) {
+            return;
+        }
+        // Se avanza antes de consultar: lo que se confirme a partir de aquí se programa
+        // directamente, y lo confirmado antes aparece en la consulta
+        loadedUntil = until;
+        List<ReminderCandidate> candidates = appointmentRepository.findReminderCandidates(from, until);
+        candidates.forEach(candidate -> wheel.schedule(candidate.getId(), candidate.getScheduledAt().minus(leadTime)));
+        logger.debug("Recordatorios cargados hasta {}: {}", until, candidates.size());
+    }
+
+    /**
+     * Vuelve a programar las citas pendientes del tramo ya cargado: recoge las creadas o
+     * movidas en otros nodos. Programar una cita sustituye su entrada anterior.
+     */
+    @Scheduled(fixedDelayString = "${appointments.reminders.resync-interval:5m}",
+            initialDelayString = "${appointments.reminders.resync-interval:5m}")
+    public synchronized void resync() {
+        LocalDateTime until = loadedUntil;
+        List<ReminderCandidate> candidates = appointmentRepository.findReminderCandidates(LocalDateTime.now(), until);
+        candidates.forEach(candidate -> wheel.schedule(candidate.getId(), candidate.getScheduledAt().minus(leadTime)));
+        logger.debug("Recordatorios reprogramados hasta {}: {}", until, candidates.size());
+    }
+
+    /**
+     * Envía los recordatorios vencidos.
+     *
+     * @return número de citas cuyo recordatorio se envió
+     */
+    @Scheduled(fixedDelayString = "${appointments.reminders.tick:1m}",
+            initialDelayString = "${appointments.reminders.tick:1m}")
+    public int dispatch() {
+        return dispatch(LocalDateTime.now());
+    }
+
+    int dispatch(LocalDateTime now) {
+        List<Long> due = wheel.advance(now);
+        int sent = 0;
+        for (int start = 0; start < due.size(); start += batchSize) {
+            List<Long> batch = due.subList(start, Math.min(start + batchSize, due.size()));
+            sent += sendBatch(batch, now);
+        }
+        if (!due.isEmpty()) {
+            logger.debug("Recordatorios vencidos: {}, enviados por este nodo: {}", due.size(), sent);
+        }
+        return sent;
+    }
+
+    private int sendBatch(List<Long> batch, LocalDateTime now) {
+        try {
+            Integer sent = transactionTemplate.execute(status -> {
+                // Las citas que ya tienen recordatorio, han empezado o bloquea otro nodo no vuelven
+                List<ClaimedReminder> claimed =
+                        appointmentRepository.claimDueReminders(batch, now, now.plus(leadTime));
+                if (claimed.isEmpty()) {
+                    return 0;
+                }
+                // Solo se marcan las citas avisadas: las que no cubre ninguna regla siguen
+                // pendientes y se reintentan al releer el tramo, por si se añade una
+                List<Long> notified = notifySubscribers(claimed, now);
+                return notified.isEmpty() ? 0 : appointmentRepository.markRemindersSent(notified, now);
+            });
+            return sent != null ? sent : 0;
+        } catch (RuntimeException e) {
+            logger.error("Error enviando {} recordatorios de citas; se reintentarán", batch.size(), e);
+            batch.forEach(id -> wheel.schedule(id, now));
+            return 0;
+        }
+    }
+
+    // Un envío por especialidad, a quienes la cubren en este momento; devuelve las citas avisadas
+    private List<Long> notifySubscribers(List<ClaimedReminder> claimed, LocalDateTime now) {
+        Map<String, List<Long>> bySpecialty = claimed.stream()
+                .collect(Collectors.groupingBy(reminder -> Objects.toString(reminder.getSpecialty(), ""),
+                        Collectors.mapping(ClaimedReminder::getId, Collectors.toList())));
+        List<Long> notified = new ArrayList<>(claimed.size());
+        bySpecialty.forEach((specialty, ids) -> {
+            AlertRoute route = alertRoutingService.routeReminder(specialty, now);
+            if (route.recipients().isEmpty()) {
+                logger.info("Sin reglas de avisos para los recordatorios de {}: {} citas quedan pendientes",
+                        specialty.isEmpty() ? "citas sin especialidad" : specialty, ids.size());
+                return;
+            }
+            notificationService.createAppointmentReminders(ids, route.recipients());
+            notified.addAll(ids);
+        });
+        return notified;
+    }
+}
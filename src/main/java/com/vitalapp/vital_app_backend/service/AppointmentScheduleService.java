@@ -0,0 +1,400 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vitalapp.vital_app_backend.dto.appointment.AvailableSlotDTO;
+import com.vitalapp.vital_app_backend.exception.custom.ScheduleConflictException;
+import com.vitalapp.vital_app_backend.model.Appointment;
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository;
+import com.vitalapp.vital_app_backend.util.TextNormalizer;
+import com.vitalapp.vital_app_backend.util.TransactionHooks;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Agenda en memoria de cada doctor: los intervalos ocupados por sus citas activas,
+ * ordenados por hora de inicio.
+ *
+ * Como los intervalos de un mismo doctor no se solapan, el último que empieza antes
+ * del fin de un candidato es el único que puede chocar con él: comprobar un conflicto
+ * es O(log n) sobre la agenda de ese doctor, y listar los huecos libres de un día
+ * recorre solo las citas de ese día, sin consultar la tabla de citas.
+ *
+ * Se carga al arrancar con las citas desde el día en curso y se mantiene con los
+ * cambios de {@link AppointmentService}. Una reserva ocupa el hueco en el momento,
+ * para que dos peticiones simultáneas no lo obtengan ambas, y se deshace si la
+ * transacción se revierte; las liberaciones se aplican al confirmar. Entre nodos la
+ * regla la garantiza la restricción de exclusión {@value #OVERLAP_CONSTRAINT}.
+ *
+ * Los cambios hechos en otros nodos no llegan a esta agenda: un conflicto en memoria
+ * se comprueba contra la base de datos antes de rechazar la reserva, y la agenda se
+ * relee periódicamente para recoger citas nuevas, movidas o liberadas en otros nodos.
+ */
+@Service
+public class AppointmentScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentScheduleService.class);
+
+    /**
+     * Estados con los que una cita deja libre su horario.
+     */
+    public static final Set<AppointmentStatus> NON_BLOCKING_STATUSES =
+            EnumSet.of(AppointmentStatus.CANCELLED, AppointmentStatus.NO_SHOW);
+
+    /**
+     * Restricción de exclusión de PostgreSQL que impide solapamientos por doctor (migración V5).
+     */
+    public static final String OVERLAP_CONSTRAINT = "appointments_doctor_no_overlap";
+
+    /**
+     * Duración máxima de una cita en minutos, igual que la validación de los DTO.
+     */
+    static final int MAX_DURATION_MINUTES = 240;
+
+    /**
+     * Conflictos desfasados que se corrigen como mucho en una reserva antes de rechazarla.
+     */
+    private static final int MAX_STALE_CHECKS = 5;
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final AppointmentRepository appointmentRepository;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final Duration slotStep;
+
+    private final Map<String, NavigableMap<LocalDateTime, Slot>> calendars = new ConcurrentHashMap<>();
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> doctorsBySpecialty = new ConcurrentHashMap<>();
+    // Citas reservadas por transacciones en curso de este nodo: aún no son visibles en la
+    // base de datos, así que ni la comprobación de conflictos ni la relectura las retiran
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public AppointmentScheduleService(
+            AppointmentRepository appointmentRepository,
+            @Value("${appointments.schedule.day-start:08:00}") String dayStart,
+            @Value("${appointments.schedule.day-end:18:00}") String dayEnd,
+            @Value("${appointments.schedule.slot-step:15m}") Duration slotStep) {
+        this.appointmentRepository = appointmentRepository;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+        this.slotStep = slotStep;
+        if (!this.dayStart.isBefore(this.dayEnd) || slotStep.isZero() || slotStep.isNegative()) {
+            throw new IllegalArgumentException("El horario de atención o el intervalo entre huecos no son válidos");
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        List<Appointment> blocking = appointmentRepository.findBlockingFrom(loadFrom());
+        blocking.stream().map(Slot::of).forEach(this::apply);
+        logger.info("Agenda de citas cargada: {} citas de {} doctores", slots.size(), calendars.size());
+    }
+
+    /**
+     * Relee las citas desde el día en curso para recoger los cambios de otros nodos.
+     * Solo se tocan las citas que no cambiaron en este nodo mientras se leía ni tienen
+     * una reserva en curso: para esas, lo local es más reciente que lo leído.
+     */
+    @Scheduled(fixedDelayString = "${appointments.schedule.refresh-interval:5m}",
+            initialDelayString = "${appointments.schedule.refresh-interval:5m}")
+    public void refresh() {
+        Map<Long, Slot> before = new HashMap<>(slots);
+        Map<Long, Slot> loaded = new HashMap<>();
+        for (Appointment appointment : appointmentRepository.findBlockingFrom(loadFrom())) {
+            loaded.put(appointment.getId(), Slot.of(appointment));
+        }
+        int changed = 0;
+        synchronized (this) {
+            Set<Long> ids = new HashSet<>(before.keySet());
+            ids.addAll(loaded.keySet());
+            for (Long id : ids) {
+                Slot current = slots.get(id);
+                Slot fresh = loaded.get(id);
+                if (pending.contains(id) || !Objects.equals(current, before.get(id))
+                        || Objects.equals(current, fresh)) {
+                    continue;
+                }
+                if (fresh != null) {
+                    apply(fresh);
+                } else if (!current.end().isAfter(LocalDate.now().atStartOfDay())) {
+                    // Ya terminada: fuera del tramo leído, la retira evictPast
+                    continue;
+                } else {
+                    discard(id);
+                }
+                changed++;
+            }
+        }
+        logger.debug("Agenda de citas releída: {} cambios de otros nodos", changed);
+    }
+
+    /**
+     * Indica si una cita en este estado ocupa la agenda de su doctor.
+     */
+    public static boolean isBlocking(AppointmentStatus status) {
+        return status != null && !NON_BLOCKING_STATUSES.contains(status);
+    }
+
+    /**
+     * Indica si la violación de integridad procede de la restricción de solapamiento.
+     */
+    public static boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        return message != null && message.contains(OVERLAP_CONSTRAINT);
+    }
+
+    /**
+     * Ocupa el horario de una cita creada o modificada; si ya tenía otro, lo sustituye.
+     * Las citas sin ID o en un estado que no ocupa la agenda se ignoran.
+     *
+     * @throws ScheduleConflictException si el doctor ya tiene otra cita en ese horario
+     */
+    public void reserve(Appointment appointment) {
+        if (appointment == null || appointment.getId() == null || !isBlocking(appointment.getStatus())) {
+            return;
+        }
+        Slot slot = Slot.of(appointment);
+        for (int checks = 0; checks < MAX_STALE_CHECKS; checks++) {
+            Slot conflict = findConflict(slot);
+            if (conflict == null || !correctIfStale(conflict)) {
+                break;
+            }
+        }
+        Slot previous = claim(slot);
+        TransactionHooks.afterRollback(() -> restore(slot, previous));
+    }
+
+    /**
+     * Libera el horario de una cita cancelada, ausente o eliminada. Dentro de una
+     * transacción se aplica al confirmar.
+     */
+    public void release(Long appointmentId) {
+        TransactionHooks.afterCommit(() -> discard(appointmentId));
+    }
+
+    /**
+     * Huecos libres de un doctor en un día, dentro del horario de atención y a partir
+     * de ahora, alineados al intervalo configurado.
+     */
+    public List<AvailableSlotDTO> findFreeSlots(String doctor, LocalDate day, int durationMinutes) {
+        Duration length = Duration.ofMinutes(clampDuration(durationMinutes));
+        List<AvailableSlotDTO> free = new ArrayList<>();
+        collectFreeSlots(doctor, day, length, free);
+        return free;
+    }
+
+    /**
+     * Huecos libres en un día de los doctores con citas de la especialidad, ordenados
+     * por hora y doctor.
+     */
+    public List<AvailableSlotDTO> findFreeSlotsBySpecialty(String specialty, LocalDate day, int durationMinutes) {
+        if (specialty == null) {
+            return List.of();
+        }
+        Duration length = Duration.ofMinutes(clampDuration(durationMinutes));
+        List<AvailableSlotDTO> free = new ArrayList<>();
+        for (String doctor : doctorsBySpecialty.getOrDefault(TextNormalizer.forSearch(specialty), Set.of())) {
+            collectFreeSlots(doctor, day, length, free);
+        }
+        free.sort((a, b) -> {
+            int byStart = a.getStartsAt().compareTo(b.getStartsAt());
+            return byStart != 0 ? byStart : a.getDoctor().compareTo(b.getDoctor());
+        });
+        return free;
+    }
+
+    /**
+     * Retira de la agenda las citas que terminaron antes del día en curso.
+     */
+    @Scheduled(cron = "${appointments.schedule.evict-cron:0 30 0 * * *}")
+    public synchronized void evictPast() {
+        LocalDateTime cutoff = LocalDate.now().atStartOfDay();
+        List<Long> past = new ArrayList<>();
+        for (NavigableMap<LocalDateTime, Slot> calendar : calendars.values()) {
+            for (Slot slot : calendar.headMap(cutoff, false).values()) {
+                if (!slot.end().isAfter(cutoff)) {
+                    past.add(slot.appointmentId());
+                }
+            }
+        }
+        past.forEach(this::discard);
+        logger.debug("Citas pasadas retiradas de la agenda: {}", past.size());
+    }
+
+    private void collectFreeSlots(String doctor, LocalDate day, Duration length, List<AvailableSlotDTO> free) {
+        LocalDateTime open = day.atTime(dayStart);
+        LocalDateTime close = day.atTime(dayEnd);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursor = alignFrom(open, now.isAfter(open) ? now : open);
+
+        NavigableMap<LocalDateTime, Slot> calendar = calendars.getOrDefault(doctor, Collections.emptyNavigableMap());
+        // Una cita que empezó antes de la apertura puede ocupar el inicio del día
+        LocalDateTime from = calendar.lowerKey(open);
+        for (Slot busy : calendar.subMap(from != null ? from : open, true, close, false).values()) {
+            cursor = addFree(free, doctor, cursor, busy.start(), length);
+            if (busy.end().isAfter(cursor)) {
+                cursor = alignFrom(open, busy.end());
+            }
+        }
+        addFree(free, doctor, cursor, close, length);
+    }
+
+    // Añade los huecos que caben entre cursor y gapEnd y devuelve el siguiente inicio candidato
+    private LocalDateTime addFree(List<AvailableSlotDTO> free, String doctor,
+            LocalDateTime cursor, LocalDateTime gapEnd, Duration length) {
+        while (!cursor.plus(length).isAfter(gapEnd)) {
+            free.add(AvailableSlotDTO.builder()
+                    .doctor(doctor)
+                    .startsAt(cursor)
+                    .endsAt(cursor.plus(length))
+                    .build());
+            cursor = cursor.plus(slotStep);
+        }
+        return cursor;
+    }
+
+    // Primer inicio de hueco (apertura + k intervalos) que no es anterior a time
+    private LocalDateTime alignFrom(LocalDateTime open, LocalDateTime time) {
+        if (!time.isAfter(open)) {
+            return open;
+        }
+        long steps = (Duration.between(open, time).toNanos() + slotStep.toNanos() - 1) / slotStep.toNanos();
+        return open.plus(slotStep.multipliedBy(steps));
+    }
+
+    private LocalDateTime loadFrom() {
+        return LocalDate.now().atStartOfDay().minusMinutes(MAX_DURATION_MINUTES);
+    }
+
+    private static int clampDuration(int durationMinutes) {
+        return Math.max(1, Math.min(durationMinutes, MAX_DURATION_MINUTES));
+    }
+
+    // Las escrituras se serializan para que la comprobación y la reserva sean atómicas
+    // y el índice por ID y las agendas cambien juntos; las lecturas no bloquean.
+    private synchronized Slot claim(Slot slot) {
+        NavigableMap<LocalDateTime, Slot> calendar = calendars.get(slot.doctor());
+        Slot conflict = calendar != null ? findConflict(calendar, slot) : null;
+        if (conflict != null) {
+            throw new ScheduleConflictException(String.format("El doctor %s ya tiene una cita de %s a %s",
+                    slot.doctor(), conflict.start().format(TIME), conflict.end().format(TIME)));
+        }
+        Slot previous = slots.get(slot.appointmentId());
+        apply(slot);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(slot.appointmentId());
+            TransactionHooks.afterCompletion(() -> pending.remove(slot.appointmentId()));
+        }
+        return previous;
+    }
+
+    private synchronized Slot findConflict(Slot slot) {
+        NavigableMap<LocalDateTime, Slot> calendar = calendars.get(slot.doctor());
+        return calendar != null ? findConflict(calendar, slot) : null;
+    }
+
+    // Relee de la base de datos la cita con la que choca una reserva; si la agenda estaba
+    // desfasada (otro nodo la canceló, movió o eliminó) la corrige y devuelve true. La
+    // consulta se hace fuera del bloqueo para no serializar las reservas tras ella.
+    private boolean correctIfStale(Slot conflict) {
+        if (pending.contains(conflict.appointmentId())) {
+            return false;
+        }
+        Slot current = appointmentRepository.findById(conflict.appointmentId())
+                .filter(appointment -> isBlocking(appointment.getStatus()))
+                .map(Slot::of)
+                .orElse(null);
+        if (conflict.equals(current)) {
+            return false;
+        }
+        synchronized (this) {
+            if (conflict.equals(slots.get(conflict.appointmentId()))) {
+                if (current != null) {
+                    apply(current);
+                } else {
+                    discard(conflict.appointmentId());
+                }
+            }
+        }
+        logger.debug("Agenda desfasada para la cita {}: corregida desde la base de datos", conflict.appointmentId());
+        return true;
+    }
+
+    private synchronized void restore(Slot slot, Slot previous) {
+        if (slot.equals(slots.get(slot.appointmentId()))) {
+            discard(slot.appointmentId());
+            if (previous != null) {
+                apply(previous);
+            }
+        }
+    }
+
+    // El último intervalo ajeno que empieza antes del fin del candidato es el que más
+    // se extiende entre los anteriores: basta compararlo con el inicio del candidato
+    private static Slot findConflict(NavigableMap<LocalDateTime, Slot> calendar, Slot candidate) {
+        for (Slot slot : calendar.headMap(candidate.end(), false).descendingMap().values()) {
+            if (!slot.appointmentId().equals(candidate.appointmentId())) {
+                return slot.end().isAfter(candidate.start()) ? slot : null;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void apply(Slot slot) {
+        discard(slot.appointmentId());
+        calendars.computeIfAbsent(slot.doctor(), doctor -> new ConcurrentSkipListMap<>()).put(slot.start(), slot);
+        slots.put(slot.appointmentId(), slot);
+        if (slot.specialty() != null) {
+            doctorsBySpecialty.computeIfAbsent(TextNormalizer.forSearch(slot.specialty()),
+                    specialty -> ConcurrentHashMap.newKeySet()).add(slot.doctor());
+        }
+    }
+
+    private synchronized void discard(Long appointmentId) {
+        Slot previous = slots.remove(appointmentId);
+        if (previous != null) {
+            NavigableMap<LocalDateTime, Slot> calendar = calendars.get(previous.doctor());
+            calendar.remove(previous.start(), previous);
+            if (calendar.isEmpty()) {
+                calendars.remove(previous.doctor());
+            }
+        }
+    }
+
+    private record Slot(Long appointmentId, String doctor, String specialty, LocalDateTime start, LocalDateTime end) {
+
+        static Slot of(Appointment appointment) {
+            LocalDateTime start = appointment.getScheduledAt();
+            int minutes = appointment.getDuration() != null ? appointment.getDuration() : 30;
+            return new Slot(appointment.getId(), appointment.getDoctor(), appointment.getSpecialty(),
+                    start, start.plusMinutes(minutes));
+        }
+    }
+}
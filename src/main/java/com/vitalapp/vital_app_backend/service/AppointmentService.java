@@ -1,69 +1,132 @@
 package com.vitalapp.vital_app_backend.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentCreateDTO;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentResponseDTO;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentUpdateDTO;
+import com.vitalapp.vital_app_backend.dto.appointment.AvailableSlotDTO;
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.event.AppointmentCreatedEvent;
 import com.vitalapp.vital_app_backend.event.AppointmentStatusChangedEvent;
+import com.vitalapp.vital_app_backend.exception.custom.BusinessException;
+import com.vitalapp.vital_app_backend.exception.custom.ScheduleConflictException;
 import com.vitalapp.vital_app_backend.mapper.AppointmentMapper;
 import com.vitalapp.vital_app_backend.model.Appointment;
 import com.vitalapp.vital_app_backend.model.AppointmentStatus;
-import com.vitalapp.vital_app_backend.model.Patient;
 import com.vitalapp.vital_app_backend.repository.AppointmentRepository;
 import com.vitalapp.vital_app_backend.repository.PatientRepository;
+import com.vitalapp.vital_app_backend.util.EntityStreams;
 
 @Service
 @Transactional
 public class AppointmentService {
 
+    /**
+     * Tamaño máximo de página para los listados.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private PatientLookupCache patientLookupCache;
+
+    @Autowired
+    private AppointmentScheduleService appointmentScheduleService;
+
+    @Autowired
+    private AppointmentReminderService appointmentReminderService;
+
     @Autowired
     private AppointmentMapper appointmentMapper;
 
     @Autowired
-    private ApplicationEventPublisher eventPublisher;
+    private DomainEventOutbox domainEventOutbox;
 
     /**
-     * Crea una nueva cita
+     * Crea una nueva cita si el doctor tiene libre el horario
      */
     public AppointmentResponseDTO createAppointment(AppointmentCreateDTO dto) {
-        Patient patient = patientRepository.findById(dto.getPatientId())
+        // Existencia y nombre desde la caché; la asociación usa una referencia sin SELECT
+        PatientResponseDTO patient = patientLookupCache.findById(dto.getPatientId())
                 .orElseThrow(() -> new RuntimeException("Paciente no encontrado con ID: " + dto.getPatientId()));
 
         Appointment appointment = appointmentMapper.toEntity(dto);
-        appointment.setPatient(patient);
+        appointment.setPatient(patientRepository.getReferenceById(patient.getId()));
         appointment.setStatus(AppointmentStatus.SCHEDULED);
 
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        appointmentScheduleService.reserve(savedAppointment);
+        flushSchedule();
+        appointmentReminderService.schedule(savedAppointment);
 
-        // Publicar evento de creación
-        eventPublisher.publishEvent(new AppointmentCreatedEvent(savedAppointment));
+        // Evento de creación al outbox, en la misma transacción que la cita
+        domainEventOutbox.append(AppointmentCreatedEvent.from(savedAppointment));
 
-        return appointmentMapper.toResponseDTO(savedAppointment);
+        return appointmentMapper.toResponseDTO(savedAppointment, patient);
     }
 
     /**
-     * Obtiene todas las citas
+     * Obtiene citas paginadas por número de página, en orden de ID
      */
     @Transactional(readOnly = true)
-    public List<AppointmentResponseDTO> getAllAppointments() {
-        return appointmentRepository.findAll().stream()
-                .map(appointmentMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<AppointmentResponseDTO> getAllAppointments(int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), clampPageSize(size), Sort.by("id"));
+        return PageResponseDTO.from(appointmentRepository.findAll(pageable).map(appointmentMapper::toResponseDTO));
+    }
+
+    /**
+     * Obtiene citas por keyset: continúa tras el ID guardado en el cursor sin
+     * recorrer las filas anteriores ni ejecutar COUNT
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AppointmentResponseDTO> getAppointmentsByCursor(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        List<Appointment> rows = appointmentRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPageResponseDTO.lastIdFrom(cursor), Limit.of(pageSize + 1));
+        return CursorPageResponseDTO.ofIdOrdered(rows, pageSize, Appointment::getId, appointmentMapper::toResponseDTO);
+    }
+
+    /**
+     * Entrega todas las citas una a una, leyendo por lotes del cursor de la base
+     * de datos, de modo que la memoria usada no depende del tamaño de la tabla
+     *
+     * @return número de elementos entregados
+     */
+    @Transactional(readOnly = true)
+    public long streamAllAppointments(Consumer<AppointmentResponseDTO> sink) {
+        return EntityStreams.forEach(appointmentRepository.streamAllByOrderByIdAsc(), entityManager,
+                appointmentMapper::toResponseDTO, sink);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     /**
@@ -83,8 +146,25 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cita no encontrada con ID: " + id));
 
+        String previousDoctor = appointment.getDoctor();
+        LocalDateTime previousStart = appointment.getScheduledAt();
+        Integer previousDuration = appointment.getDuration();
+
         appointmentMapper.updateEntityFromDTO(dto, appointment);
+        // Una cita movida recibe el recordatorio de su nueva fecha
+        if (!Objects.equals(previousStart, appointment.getScheduledAt())) {
+            appointment.setReminderSent(false);
+        }
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+
+        boolean rescheduled = !Objects.equals(previousDoctor, updatedAppointment.getDoctor())
+                || !Objects.equals(previousStart, updatedAppointment.getScheduledAt())
+                || !Objects.equals(previousDuration, updatedAppointment.getDuration());
+        if (rescheduled) {
+            appointmentScheduleService.reserve(updatedAppointment);
+            flushSchedule();
+            appointmentReminderService.schedule(updatedAppointment);
+        }
         return appointmentMapper.toResponseDTO(updatedAppointment);
     }
 
@@ -96,6 +176,7 @@ public class AppointmentService {
             throw new RuntimeException("Cita no encontrada con ID: " + id);
         }
         appointmentRepository.deleteById(id);
+        appointmentScheduleService.release(id);
     }
 
     /**
@@ -119,11 +200,11 @@ public class AppointmentService {
     }
 
     /**
-     * Obtiene citas próximas
+     * Obtiene citas próximas, sin las canceladas
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponseDTO> getUpcomingAppointments() {
-        return appointmentRepository.findByScheduledAtAfterOrderByScheduledAtAsc(LocalDateTime.now()).stream()
+        return appointmentRepository.findUpcoming(LocalDateTime.now()).stream()
                 .map(appointmentMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -139,10 +220,17 @@ public class AppointmentService {
         appointment.setStatus(status);
         Appointment updatedAppointment = appointmentRepository.save(appointment);
 
-        // Publicar evento de cambio de status
-        eventPublisher.publishEvent(
-            new AppointmentStatusChangedEvent(updatedAppointment, oldStatus, status)
-        );
+        // Una cita reactivada vuelve a ocupar su horario; una cancelada o ausente lo libera
+        if (!AppointmentScheduleService.isBlocking(status)) {
+            appointmentScheduleService.release(id);
+        } else if (!AppointmentScheduleService.isBlocking(oldStatus)) {
+            appointmentScheduleService.reserve(updatedAppointment);
+            flushSchedule();
+            appointmentReminderService.schedule(updatedAppointment);
+        }
+
+        // Evento de cambio de status al outbox, en la misma transacción que la cita
+        domainEventOutbox.append(AppointmentStatusChangedEvent.from(updatedAppointment, oldStatus, status));
 
         return appointmentMapper.toResponseDTO(updatedAppointment);
     }
@@ -161,6 +249,37 @@ public class AppointmentService {
         }
 
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        appointmentScheduleService.release(id);
         return appointmentMapper.toResponseDTO(updatedAppointment);
     }
+
+    /**
+     * Obtiene los huecos libres de un día para un doctor o, si no se indica, para los
+     * doctores de una especialidad. Se responde desde la agenda en memoria.
+     */
+    @Transactional(readOnly = true)
+    public List<AvailableSlotDTO> getAvailableSlots(String doctor, String specialty, LocalDate date, int duration) {
+        if (doctor != null && !doctor.isBlank()) {
+            return appointmentScheduleService.findFreeSlots(doctor, date, duration);
+        }
+        if (specialty != null && !specialty.isBlank()) {
+            return appointmentScheduleService.findFreeSlotsBySpecialty(specialty, date, duration);
+        }
+        throw new BusinessException("Debe indicarse el doctor o la especialidad");
+    }
+
+    /**
+     * Envía a la base de datos la cita reservada para que la restricción de solapamiento
+     * se compruebe aquí, y traduce su violación (otro nodo reservó el mismo horario)
+     */
+    private void flushSchedule() {
+        try {
+            appointmentRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (AppointmentScheduleService.isOverlapViolation(ex)) {
+                throw new ScheduleConflictException("El doctor ya tiene una cita en ese horario", ex);
+            }
+            throw ex;
+        }
+    }
 }
\ No newline at end of file
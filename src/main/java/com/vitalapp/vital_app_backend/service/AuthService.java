@@ -5,20 +5,26 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.vitalapp.vital_app_backend.config.JwtService;
+import com.vitalapp.vital_app_backend.config.UserDetailsCache;
 import com.vitalapp.vital_app_backend.dto.auth.AuthResponseDTO;
 import com.vitalapp.vital_app_backend.dto.auth.LoginRequestDTO;
 import com.vitalapp.vital_app_backend.dto.auth.RefreshTokenRequestDTO;
 import com.vitalapp.vital_app_backend.dto.auth.RegisterRequestDTO;
+import com.vitalapp.vital_app_backend.exception.custom.InvalidTokenException;
 import com.vitalapp.vital_app_backend.model.User;
 import com.vitalapp.vital_app_backend.repository.UserRepository;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -33,7 +39,15 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
-
+    private final PasswordHashingService passwordHashingService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserDetailsCache userDetailsCache;
+
+    /**
+     * Sin transacción propia: mientras se espera al pool de hashing el hilo de la petición
+     * no debe retener una conexión del pool de Hikari. Cada acceso a datos abre la suya.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponseDTO register(RegisterRequestDTO request) {
         logger.info("Registrando usuario: {}", request.getUsername());
 
@@ -50,7 +64,7 @@ public class AuthService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.execute(() -> passwordEncoder.encode(request.getPassword())))
                 .active(true)
                 .build();
 
@@ -59,7 +73,7 @@ public class AuthService {
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getUsername());
         String token = jwtService.generateToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String refreshToken = refreshTokenService.issue(savedUser);
 
         logger.info("Tokens generados para usuario: {}", savedUser.getUsername());
 
@@ -74,17 +88,23 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Sin transacción propia, como {@link #register}: la autenticación en el pool de
+     * hashing necesita su propia conexión para cargar el usuario.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponseDTO login(LoginRequestDTO request) {
-        authenticationManager.authenticate(
+        // BCrypt se ejecuta en el pool dedicado, no en el hilo de Tomcat
+        passwordHashingService.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        ));
 
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
         String token = jwtService.generateToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String refreshToken = refreshTokenService.issue(user);
 
         return AuthResponseDTO.builder()
                 .token(token)
@@ -97,31 +117,39 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Rota el refresh token: el presentado queda usado y se devuelve uno nuevo de la
+     * misma familia. El usuario se resuelve desde la caché, sin consultas a la tabla.
+     */
     public AuthResponseDTO refreshToken(RefreshTokenRequestDTO request) {
-        String refreshToken = request.getRefreshToken();
-        String username = jwtService.extractUsername(refreshToken);
-
-        if (username != null) {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-
-            if (jwtService.isTokenValid(refreshToken, userDetails)) {
-                String newToken = jwtService.generateToken(userDetails);
-
-                return AuthResponseDTO.builder()
-                        .token(newToken)
-                        .refreshToken(refreshToken)
-                        .type("Bearer")
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
-                        .role("USER")
-                        .build();
-            }
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(request.getRefreshToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Refresh token inválido", e);
+        }
+        if (!JwtService.isRefreshToken(claims)) {
+            throw new InvalidTokenException("Refresh token inválido");
+        }
+
+        User user;
+        try {
+            user = userDetailsCache.get(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new InvalidTokenException("Refresh token inválido", e);
         }
 
-        throw new RuntimeException("Refresh token inválido");
+        String newRefreshToken = refreshTokenService.rotate(claims, user);
+        String newToken = jwtService.generateToken(user);
+
+        return AuthResponseDTO.builder()
+                .token(newToken)
+                .refreshToken(newRefreshToken)
+                .type("Bearer")
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role("USER")
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vitalapp.vital_app_backend.event.CoalescibleEvent;
+import com.vitalapp.vital_app_backend.event.DomainEventCodec;
+import com.vitalapp.vital_app_backend.model.OutboxEvent;
+import com.vitalapp.vital_app_backend.repository.OutboxEventRepository;
+
+/**
+ * Publicación de eventos de dominio mediante el outbox: el evento se guarda como una
+ * fila en la misma transacción que el cambio que lo origina, de modo que solo existe
+ * si el cambio se confirma y no se pierde si el proceso cae. OutboxRelay lo entrega
+ * después a los listeners.
+ *
+ * Los eventos combinables ({@link CoalescibleEvent}) no se reclaman hasta pasado
+ * coalesce-window: los que llegan en ese tiempo para el mismo agregado se reclaman
+ * en el mismo lote y se entregan como uno solo.
+ */
+@Service
+public class DomainEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventCodec domainEventCodec;
+    private final Duration coalesceWindow;
+
+    public DomainEventOutbox(
+            OutboxEventRepository outboxEventRepository,
+            DomainEventCodec domainEventCodec,
+            @Value("${outbox.coalesce-window:3s}") Duration coalesceWindow) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.domainEventCodec = domainEventCodec;
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    /**
+     * Añade el evento al outbox; debe llamarse dentro de la transacción del cambio
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object event) {
+        OutboxEvent row = domainEventCodec.encode(event);
+        if (event instanceof CoalescibleEvent<?> && !coalesceWindow.isZero() && !coalesceWindow.isNegative()) {
+            row.setAvailableAt(LocalDateTime.now().plus(coalesceWindow));
+        }
+        outboxEventRepository.save(row);
+    }
+}
@@ -0,0 +1,69 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.vitalapp.vital_app_backend.exception.custom.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limita las exportaciones NDJSON simultáneas.
+ *
+ * Cada exportación ocupa un hilo del pool asíncrono de MVC y una conexión del pool de
+ * la base de datos mientras dura (hasta el timeout asíncrono). Sin límite, unas pocas
+ * descargas lentas bastan para dejar sin conexiones al resto de endpoints. Con el cupo
+ * agotado se responde 503 con Retry-After sin llegar a abrir la transacción.
+ */
+@Service
+public class ExportStreamLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportStreamLimiter.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long retryAfterSeconds;
+
+    public ExportStreamLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${exports.stream.max-concurrent:4}") int maxConcurrent,
+            @Value("${exports.stream.retry-after:30s}") Duration retryAfter) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        Gauge.builder("exports.stream.active", this, ExportStreamLimiter::activeStreams)
+                .description("Exportaciones NDJSON en curso")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva un cupo y devuelve el cuerpo que lo libera al terminar, con éxito o no.
+     *
+     * @throws ServiceUnavailableException si ya hay {@code max-concurrent} exportaciones en curso
+     */
+    public StreamingResponseBody limit(StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            logger.warn("Exportación rechazada: {} en curso", maxConcurrent);
+            throw new ServiceUnavailableException(
+                    "Demasiadas exportaciones en curso, intente de nuevo más tarde", retryAfterSeconds);
+        }
+        return output -> {
+            try {
+                body.writeTo(output);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    int activeStreams() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
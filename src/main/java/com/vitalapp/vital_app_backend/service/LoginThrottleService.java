@@ -0,0 +1,90 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vitalapp.vital_app_backend.exception.custom.TooManyRequestsException;
+
+/**
+ * Limita los intentos de login y registro por username y por IP con ventanas fijas.
+ *
+ * Se evalúa antes de encolar cualquier trabajo de BCrypt, para que un cliente
+ * abusivo no pueda ocupar el pool de hashing. Los contadores viven en memoria,
+ * acotados en tamaño, y expiran al cerrar su ventana.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    private final Cache<String, AtomicInteger> attemptsByUsername;
+    private final Cache<String, AtomicInteger> attemptsByIp;
+    private final int maxAttemptsPerUsername;
+    private final int maxAttemptsPerIp;
+    private final long retryAfterSeconds;
+
+    public LoginThrottleService(
+            @Value("${security.login-throttle.window:1m}") Duration window,
+            @Value("${security.login-throttle.max-attempts-per-username:10}") int maxAttemptsPerUsername,
+            @Value("${security.login-throttle.max-attempts-per-ip:30}") int maxAttemptsPerIp,
+            @Value("${security.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.attemptsByUsername = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(window)
+                .build();
+        this.attemptsByIp = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(window)
+                .build();
+        this.maxAttemptsPerUsername = maxAttemptsPerUsername;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.retryAfterSeconds = Math.max(1, window.toSeconds());
+    }
+
+    /**
+     * Registra un intento de login y lo rechaza si supera algún límite.
+     *
+     * @throws TooManyRequestsException si el username o la IP agotaron su cupo
+     */
+    public void checkLogin(String username, String clientIp) {
+        checkIp(clientIp);
+        if (username != null && increment(attemptsByUsername, username.toLowerCase()) > maxAttemptsPerUsername) {
+            logger.warn("Demasiados intentos de login para el usuario: {}", username);
+            throw new TooManyRequestsException("Demasiados intentos de inicio de sesión, intente más tarde", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Registra un intento de registro y lo rechaza si la IP superó su cupo.
+     */
+    public void checkRegister(String clientIp) {
+        checkIp(clientIp);
+    }
+
+    /**
+     * Un login correcto reinicia el contador del usuario.
+     */
+    public void recordSuccess(String username) {
+        if (username != null) {
+            attemptsByUsername.invalidate(username.toLowerCase());
+        }
+    }
+
+    private void checkIp(String clientIp) {
+        if (clientIp != null && increment(attemptsByIp, clientIp) > maxAttemptsPerIp) {
+            logger.warn("Demasiados intentos de autenticación desde la IP: {}", clientIp);
+            throw new TooManyRequestsException("Demasiadas solicitudes desde esta dirección, intente más tarde", retryAfterSeconds);
+        }
+    }
+
+    private int increment(Cache<String, AtomicInteger> counters, String key) {
+        return counters.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+}
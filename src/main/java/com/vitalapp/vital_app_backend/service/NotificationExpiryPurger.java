@@ -0,0 +1,94 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.config.SchedulingConfig;
+import com.vitalapp.vital_app_backend.repository.NotificationRepository;
+
+/**
+ * Purga periódica de notificaciones expiradas por lotes.
+ *
+ * Cada lote lee a lo sumo batch-size IDs y los elimina en su propia transacción,
+ * de modo que ninguna sentencia bloquea muchas filas ni carga la tabla en memoria.
+ * Entre lotes se espera pause para no competir con el tráfico normal, y una
+ * ejecución procesa como máximo max-batches lotes; lo que quede se elimina en la
+ * siguiente. Las pausas ocupan el planificador de tareas largas, no el compartido.
+ */
+@Service
+public class NotificationExpiryPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationExpiryPurger.class);
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+
+    public NotificationExpiryPurger(
+            NotificationRepository notificationRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${notifications.expiry-purge.batch-size:500}") int batchSize,
+            @Value("${notifications.expiry-purge.max-batches:200}") int maxBatches,
+            @Value("${notifications.expiry-purge.pause:200ms}") Duration pause) {
+        if (batchSize < 1 || maxBatches < 1) {
+            throw new IllegalArgumentException("El tamaño y el número de lotes de la purga deben ser positivos");
+        }
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+    }
+
+    /**
+     * Elimina las notificaciones expiradas antes del inicio de la ejecución.
+     *
+     * @return número de notificaciones eliminadas
+     */
+    @Scheduled(fixedDelayString = "${notifications.expiry-purge.interval:1h}",
+            initialDelayString = "${notifications.expiry-purge.initial-delay:5m}",
+            scheduler = SchedulingConfig.BATCH_SCHEDULER)
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (batch > 0 && !pauseBetweenBatches()) {
+                break;
+            }
+            Integer removed = transactionTemplate.execute(status -> {
+                List<Long> ids = notificationRepository.findExpiredIds(now, Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : notificationRepository.deleteByIdIn(ids);
+            });
+            deleted += removed != null ? removed : 0;
+            if (removed == null || removed < batchSize) {
+                break;
+            }
+        }
+        logger.debug("Notificaciones expiradas eliminadas: {}", deleted);
+        return deleted;
+    }
+
+    private boolean pauseBetweenBatches() {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
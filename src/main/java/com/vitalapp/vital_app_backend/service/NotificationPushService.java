@@ -0,0 +1,408 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.vitalapp.vital_app_backend.dto.notification.NotificationResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.NotificationMapper;
+import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.repository.NotificationRepository;
+import com.vitalapp.vital_app_backend.repository.NotificationRepository.RecipientRead;
+import com.vitalapp.vital_app_backend.util.TransactionHooks;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Canal Server-Sent Events de notificaciones por usuario.
+ *
+ * Cada conexión es un {@link SseEmitter} sobre el soporte asíncrono del servlet,
+ * así que una conexión inactiva no ocupa ningún hilo. Los cambios confirmados en
+ * {@link NotificationService} se encolan en la cola acotada de cada conexión y un
+ * pool pequeño de hilos de envío la vacía: cada conexión recibe sus eventos en orden,
+ * un cliente lento no retrasa la petición que los originó ni a los demás clientes, y
+ * el que acumula notifications.sse.send-queue-capacity eventos sin enviar se cierra
+ * para que reconecte y se ponga al día con Last-Event-ID.
+ *
+ * Las notificaciones creadas y leídas en otros nodos no pasan por este. Con
+ * notifications.sse.multi-node.enabled (desactivado por defecto, pues con una sola
+ * instancia todo cambio pasa por aquí) cada notifications.sse.sync-interval se leen
+ * las de los usuarios conectados aquí, creadas o leídas desde la última lectura menos
+ * notifications.sse.resume-grace, y se envían las que aún no se enviaron desde este nodo.
+ *
+ * Eventos:
+ * - notification: notificación nueva; su id SSE es su fecha de creación.
+ * - read: una notificación pasó a leída; data es su ID.
+ * - read-all: todas las notificaciones del usuario pasaron a leídas.
+ * - unread-count: conteo de no leídas al conectar; su id SSE es el instante del conteo.
+ *
+ * El id SSE es un cursor temporal (milisegundos desde epoch), no el ID de la
+ * notificación: los IDs se reservan por bloques en cada instancia y no siguen el orden
+ * de confirmación. Al reconectar, el navegador envía Last-Event-ID y se reenvían las
+ * notificaciones creadas desde ese instante menos notifications.sse.resume-grace, que
+ * cubre las transacciones confirmadas con retraso y la deriva de reloj entre
+ * instancias. Algunas pueden llegar repetidas; el cliente las descarta por su ID.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushService.class);
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_READ = "read";
+    public static final String EVENT_READ_ALL = "read-all";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    /**
+     * Máximo de notificaciones reenviadas al reanudar; el resto queda reflejado en el conteo.
+     */
+    static final int MAX_REPLAY = 100;
+
+    /**
+     * Usuarios por consulta y máximo de notificaciones leídas por consulta al sincronizar
+     * con otros nodos.
+     */
+    static final int SYNC_BATCH_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final Executor pushExecutor;
+    private final long timeoutMillis;
+    private final Duration resumeGrace;
+    private final int sendQueueCapacity;
+    private final boolean multiNode;
+    private final Clock clock;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    // Notificaciones ya enviadas desde este nodo, con su fecha de creación, para no
+    // repetirlas al releer el margen en la sincronización
+    private final Map<Long, LocalDateTime> pushedCreated = new ConcurrentHashMap<>();
+    // Última lectura ya informada de cada usuario
+    private final Map<Long, LocalDateTime> pushedReads = new ConcurrentHashMap<>();
+    private volatile LocalDateTime syncedUntil;
+
+    @Autowired
+    public NotificationPushService(
+            NotificationRepository notificationRepository,
+            NotificationMapper notificationMapper,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.sse.timeout:30m}") Duration timeout,
+            @Value("${notifications.sse.resume-grace:30s}") Duration resumeGrace,
+            @Value("${notifications.sse.push-threads:4}") int pushThreads,
+            @Value("${notifications.sse.send-queue-capacity:64}") int sendQueueCapacity,
+            @Value("${notifications.sse.multi-node.enabled:false}") boolean multiNode) {
+        this(notificationRepository, notificationMapper, newPushExecutor(pushThreads), timeout, resumeGrace,
+                sendQueueCapacity, multiNode, Clock.systemDefaultZone());
+        Gauge.builder("notifications.sse.connections", this, NotificationPushService::connectionCount)
+                .description("Conexiones SSE de notificaciones abiertas")
+                .register(meterRegistry);
+    }
+
+    NotificationPushService(
+            NotificationRepository notificationRepository,
+            NotificationMapper notificationMapper,
+            Executor pushExecutor,
+            Duration timeout,
+            Duration resumeGrace,
+            int sendQueueCapacity,
+            boolean multiNode,
+            Clock clock) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.pushExecutor = pushExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.resumeGrace = resumeGrace;
+        this.sendQueueCapacity = Math.max(1, sendQueueCapacity);
+        this.multiNode = multiNode;
+        this.clock = clock;
+        this.syncedUntil = LocalDateTime.now(clock);
+    }
+
+    /**
+     * Abre un canal para el usuario.
+     *
+     * @param lastEventId último id SSE recibido en una conexión anterior, o null en la primera
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        // Se registra antes de leer el estado inicial para no perder eventos intermedios;
+        // el cliente descarta los duplicados por ID de notificación
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> registered = userConnections != null ? userConnections : new CopyOnWriteArraySet<>();
+            registered.add(connection);
+            return registered;
+        });
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+
+        try {
+            // El instante se toma antes de leer: lo confirmado después queda dentro del margen
+            long snapshotAt = clock.millis();
+            if (lastEventId != null) {
+                LocalDateTime after = toLocalDateTime(lastEventId).minus(resumeGrace);
+                List<Notification> missed = notificationRepository.findByRecipientIdAndCreatedAtAfter(
+                        userId, after, Limit.of(MAX_REPLAY));
+                for (Notification notification : missed) {
+                    emitter.send(notificationEvent(notificationMapper.toResponseDTO(notification)));
+                }
+            }
+            long unread = notificationRepository.countByRecipientIdAndReadFalse(userId);
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(snapshotAt))
+                    .name(EVENT_UNREAD_COUNT)
+                    .data(Map.of("unreadCount", unread)));
+        } catch (IOException | IllegalStateException e) {
+            unregister(connection);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Envía una notificación nueva a su destinatario cuando la transacción confirma.
+     */
+    public void notificationCreated(NotificationResponseDTO notification) {
+        Long recipientId = notification.getRecipientId();
+        if (recipientId != null && connections.containsKey(recipientId)) {
+            TransactionHooks.afterCommit(() -> {
+                if (multiNode && notification.getId() != null && notification.getCreatedAt() != null) {
+                    pushedCreated.put(notification.getId(), notification.getCreatedAt());
+                }
+                push(recipientId, () -> notificationEvent(notification));
+            });
+        }
+    }
+
+    /**
+     * Informa al destinatario que una notificación pasó a leída.
+     */
+    public void notificationRead(Long recipientId, Long notificationId) {
+        if (recipientId != null && connections.containsKey(recipientId)) {
+            TransactionHooks.afterCommit(() -> push(recipientId,
+                    () -> SseEmitter.event().name(EVENT_READ).data(notificationId)));
+        }
+    }
+
+    /**
+     * Informa al destinatario que todas sus notificaciones pasaron a leídas.
+     */
+    public void allRead(Long recipientId) {
+        if (recipientId != null && connections.containsKey(recipientId)) {
+            TransactionHooks.afterCommit(() -> push(recipientId,
+                    () -> SseEmitter.event().name(EVENT_READ_ALL).data(recipientId)));
+        }
+    }
+
+    /**
+     * Comentario periódico para que proxies y balanceadores no cierren las conexiones
+     * inactivas y para detectar clientes desconectados.
+     */
+    @Scheduled(fixedRateString = "${notifications.sse.heartbeat-interval:25s}")
+    public void heartbeat() {
+        connections.keySet().forEach(userId -> push(userId, () -> SseEmitter.event().comment("keepalive")));
+    }
+
+    /**
+     * Envía a los usuarios conectados a este nodo las notificaciones creadas en otros
+     * nodos y, tras lecturas hechas en otros nodos, el conteo actualizado de no leídas
+     * (sin id SSE, para no mover el cursor de reanudación). Solo con varias instancias.
+     */
+    @Scheduled(fixedDelayString = "${notifications.sse.sync-interval:30s}",
+            initialDelayString = "${notifications.sse.sync-interval:30s}")
+    public void syncFromOtherNodes() {
+        if (!multiNode) {
+            return;
+        }
+        // El instante se toma antes de leer: lo confirmado después entra en la siguiente
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime after = syncedUntil.minus(resumeGrace);
+        List<Long> connected = new ArrayList<>(connections.keySet());
+        for (int from = 0; from < connected.size(); from += SYNC_BATCH_SIZE) {
+            List<Long> batch = connected.subList(from, Math.min(from + SYNC_BATCH_SIZE, connected.size()));
+            List<Notification> created = notificationRepository.findByRecipientIdInAndCreatedAtAfter(
+                    batch, after, Limit.of(SYNC_BATCH_SIZE));
+            if (created.size() == SYNC_BATCH_SIZE) {
+                logger.warn("Sincronización SSE limitada a {} notificaciones; el resto llega al reconectar",
+                        SYNC_BATCH_SIZE);
+            }
+            for (Notification notification : created) {
+                if (pushedCreated.putIfAbsent(notification.getId(), notification.getCreatedAt()) == null) {
+                    NotificationResponseDTO dto = notificationMapper.toResponseDTO(notification);
+                    push(dto.getRecipientId(), () -> notificationEvent(dto));
+                }
+            }
+            for (RecipientRead read : notificationRepository.findLastReadAfter(batch, after)) {
+                LocalDateTime previous = pushedReads.put(read.getRecipientId(), read.getLastReadAt());
+                if (previous == null || previous.isBefore(read.getLastReadAt())) {
+                    long unread = notificationRepository.countByRecipientIdAndReadFalse(read.getRecipientId());
+                    push(read.getRecipientId(), () -> SseEmitter.event()
+                            .name(EVENT_UNREAD_COUNT)
+                            .data(Map.of("unreadCount", unread)));
+                }
+            }
+        }
+        // Lo anterior al margen ya no se relee
+        pushedCreated.values().removeIf(createdAt -> createdAt.isBefore(after));
+        pushedReads.values().removeIf(readAt -> readAt.isBefore(after));
+        syncedUntil = now;
+    }
+
+    /**
+     * Usuarios con al menos una conexión abierta.
+     */
+    public Set<Long> connectedUserIds() {
+        return Set.copyOf(connections.keySet());
+    }
+
+    public int connectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        connections.clear();
+        if (pushExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    // El builder de un evento no es reutilizable: se construye uno por conexión
+    private void push(Long userId, Supplier<SseEventBuilder> event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections != null) {
+            userConnections.forEach(connection -> connection.enqueue(event));
+        }
+    }
+
+    private void unregister(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private SseEventBuilder notificationEvent(NotificationResponseDTO notification) {
+        long createdAt = notification.getCreatedAt() != null
+                ? notification.getCreatedAt().atZone(clock.getZone()).toInstant().toEpochMilli()
+                : clock.millis();
+        return SseEmitter.event()
+                .id(String.valueOf(createdAt))
+                .name(EVENT_NOTIFICATION)
+                .data(notification);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    // Cada conexión tiene como mucho una tarea de envío en cola: la cola del pool queda
+    // acotada por el número de conexiones
+    private static ExecutorService newPushExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "sse-push-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Conexión abierta con su cola de eventos pendientes. Solo un hilo de envío la vacía
+     * a la vez, lo que mantiene el orden de sus eventos.
+     */
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEventBuilder>> pending = new ArrayBlockingQueue<>(sendQueueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Supplier<SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                logger.info("Conexión SSE del usuario {} cerrada: {} eventos sin enviar", userId, sendQueueCapacity);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            unregister(this);
+            pending.clear();
+            emitter.complete();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                pushExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEventBuilder> event;
+                while (!closed && (event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        logger.debug("Conexión SSE del usuario {} cerrada: {}", userId, e.getMessage());
+                        closed = true;
+                        pending.clear();
+                        unregister(this);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Un evento encolado mientras terminaba el bucle no encontró tarea de envío
+            if (!closed && !pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.vitalapp.vital_app_backend.service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.notification.NotificationCreateDTO;
 import com.vitalapp.vital_app_backend.dto.notification.NotificationResponseDTO;
 import com.vitalapp.vital_app_backend.dto.notification.NotificationUpdateDTO;
 import com.vitalapp.vital_app_backend.mapper.NotificationMapper;
 import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.NotificationPriority;
+import com.vitalapp.vital_app_backend.model.NotificationType;
 import com.vitalapp.vital_app_backend.model.User;
 import com.vitalapp.vital_app_backend.repository.NotificationRepository;
 import com.vitalapp.vital_app_backend.repository.UserRepository;
+import com.vitalapp.vital_app_backend.util.EntityStreams;
 
 @Service
 @Transactional
 public class NotificationService {
 
+    /**
+     * Tamaño máximo de página para los listados.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Tipo de entidad relacionada de las notificaciones sobre citas.
+     */
+    static final String APPOINTMENT_ENTITY = "APPOINTMENT";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -30,6 +58,9 @@ public class NotificationService {
     @Autowired
     private NotificationMapper notificationMapper;
 
+    @Autowired
+    private NotificationPushService notificationPushService;
+
     /**
      * Crea una nueva notificación
      */
@@ -41,17 +72,46 @@ public class NotificationService {
         notification.setRecipient(recipient);
 
         Notification savedNotification = notificationRepository.save(notification);
-        return notificationMapper.toResponseDTO(savedNotification);
+        NotificationResponseDTO response = notificationMapper.toResponseDTO(savedNotification);
+        notificationPushService.notificationCreated(response);
+        return response;
     }
 
     /**
-     * Obtiene todas las notificaciones
+     * Obtiene notificaciones paginadas por número de página, en orden de ID
      */
     @Transactional(readOnly = true)
-    public List<NotificationResponseDTO> getAllNotifications() {
-        return notificationRepository.findAll().stream()
-                .map(notificationMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<NotificationResponseDTO> getAllNotifications(int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), clampPageSize(size), Sort.by("id"));
+        return PageResponseDTO.from(notificationRepository.findAll(pageable).map(notificationMapper::toResponseDTO));
+    }
+
+    /**
+     * Obtiene notificaciones por keyset: continúa tras el ID guardado en el cursor sin
+     * recorrer las filas anteriores ni ejecutar COUNT
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<NotificationResponseDTO> getNotificationsByCursor(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        List<Notification> rows = notificationRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPageResponseDTO.lastIdFrom(cursor), Limit.of(pageSize + 1));
+        return CursorPageResponseDTO.ofIdOrdered(rows, pageSize, Notification::getId, notificationMapper::toResponseDTO);
+    }
+
+    /**
+     * Entrega todas las notificaciones una a una, leyendo por lotes del cursor de la base
+     * de datos, de modo que la memoria usada no depende del tamaño de la tabla
+     *
+     * @return número de elementos entregados
+     */
+    @Transactional(readOnly = true)
+    public long streamAllNotifications(Consumer<NotificationResponseDTO> sink) {
+        return EntityStreams.forEach(notificationRepository.streamAllByOrderByIdAsc(), entityManager,
+                notificationMapper::toResponseDTO, sink);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     /**
@@ -113,22 +173,27 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notificación no encontrada con ID: " + id));
 
+        boolean wasUnread = !notification.isRead();
         notification.setRead(true);
         notification.setReadAt(LocalDateTime.now());
         Notification updatedNotification = notificationRepository.save(notification);
+        if (wasUnread) {
+            notificationPushService.notificationRead(notification.getRecipient().getId(), id);
+        }
         return notificationMapper.toResponseDTO(updatedNotification);
     }
 
     /**
      * Marca todas las notificaciones como leídas para un destinatario
+     *
+     * @return número de notificaciones marcadas
      */
-    public void markAllAsRead(Long recipientId) {
-        List<Notification> unreadNotifications = notificationRepository.findByRecipientIdAndReadFalse(recipientId);
-        for (Notification notification : unreadNotifications) {
-            notification.setRead(true);
-            notification.setReadAt(LocalDateTime.now());
+    public int markAllAsRead(Long recipientId) {
+        int updated = notificationRepository.markAllAsReadByRecipientId(recipientId, LocalDateTime.now());
+        if (updated > 0) {
+            notificationPushService.allRead(recipientId);
         }
-        notificationRepository.saveAll(unreadNotifications);
+        return updated;
     }
 
     /**
@@ -141,24 +206,116 @@ public class NotificationService {
 
     /**
      * Elimina notificaciones expiradas
+     *
+     * @return número de notificaciones eliminadas
      */
-    public void deleteExpiredNotifications() {
-        List<Notification> allNotifications = notificationRepository.findAll();
-        LocalDateTime now = LocalDateTime.now();
+    public int deleteExpiredNotifications() {
+        return notificationRepository.deleteExpired(LocalDateTime.now());
+    }
 
-        List<Notification> expiredNotifications = allNotifications.stream()
-                .filter(notification -> notification.getExpiresAt() != null && notification.getExpiresAt().isBefore(now))
-                .collect(Collectors.toList());
+    /**
+     * Crea la misma notificación para todos los usuarios activos con una sola sentencia
+     * y la envía a los que tienen el canal de eventos abierto
+     *
+     * @param template título, mensaje, tipo, prioridad y entidad relacionada; el destinatario se ignora
+     * @return número de notificaciones creadas
+     */
+    public int createForActiveUsers(Notification template) {
+        int created = notificationRepository.insertForActiveUsers(
+                template.getTitle(),
+                template.getMessage(),
+                template.getType(),
+                template.getPriority(),
+                template.getRelatedEntityType(),
+                template.getRelatedEntityId(),
+                LocalDateTime.now());
 
-        if (!expiredNotifications.isEmpty()) {
-            notificationRepository.deleteAll(expiredNotifications);
+        if (created > 0) {
+            pushCreated(template, notificationPushService.connectedUserIds());
         }
+        return created;
+    }
+
+    /**
+     * Crea la misma notificación para los usuarios indicados que siguen activos con una
+     * sola sentencia y la envía a los que tienen el canal de eventos abierto
+     *
+     * @param template título, mensaje, tipo, prioridad y entidad relacionada; el destinatario se ignora
+     * @return número de notificaciones creadas
+     */
+    public int createForUsers(Notification template, Collection<Long> recipientIds) {
+        if (recipientIds.isEmpty()) {
+            return 0;
+        }
+        int created = notificationRepository.insertForUsers(
+                recipientIds,
+                template.getTitle(),
+                template.getMessage(),
+                template.getType(),
+                template.getPriority(),
+                template.getRelatedEntityType(),
+                template.getRelatedEntityId(),
+                LocalDateTime.now());
+
+        if (created > 0) {
+            Set<Long> connected = notificationPushService.connectedUserIds().stream()
+                    .filter(recipientIds::contains)
+                    .collect(Collectors.toSet());
+            pushCreated(template, connected);
+        }
+        return created;
+    }
+
+    // Solo se releen las filas de quienes pueden recibirlas en este momento
+    private void pushCreated(Notification template, Set<Long> connected) {
+        if (!connected.isEmpty() && template.getRelatedEntityType() != null) {
+            notificationRepository.findByRelatedEntityTypeAndRelatedEntityIdAndRecipientIdIn(
+                            template.getRelatedEntityType(), template.getRelatedEntityId(), connected).stream()
+                    .map(notificationMapper::toResponseDTO)
+                    .forEach(notificationPushService::notificationCreated);
+        }
+    }
+
+    /**
+     * Crea el recordatorio de cada cita indicada para los destinatarios indicados que
+     * siguen activos con una sola sentencia y lo envía a los que tienen el canal de
+     * eventos abierto
+     *
+     * @return número de notificaciones creadas
+     */
+    public int createAppointmentReminders(Collection<Long> appointmentIds, Collection<Long> recipientIds) {
+        if (appointmentIds.isEmpty() || recipientIds.isEmpty()) {
+            return 0;
+        }
+        // Sin fracciones por debajo del milisegundo, para releer las filas por su fecha exacta
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int created = notificationRepository.insertAppointmentReminders(
+                appointmentIds,
+                recipientIds,
+                "⏰ Recordatorio de Cita",
+                NotificationType.INFO,
+                NotificationPriority.MEDIUM,
+                APPOINTMENT_ENTITY,
+                createdAt);
+
+        Set<Long> connected = notificationPushService.connectedUserIds().stream()
+                .filter(recipientIds::contains)
+                .collect(Collectors.toSet());
+        if (created > 0 && !connected.isEmpty()) {
+            notificationRepository.findCreatedForRelatedEntities(
+                            APPOINTMENT_ENTITY, appointmentIds, createdAt, connected).stream()
+                    .map(notificationMapper::toResponseDTO)
+                    .forEach(notificationPushService::notificationCreated);
+        }
+        return created;
     }
 
     /**
      * Guarda una notificación directamente (para uso interno de listeners)
      */
     public Notification saveNotification(Notification notification) {
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        notificationPushService.notificationCreated(notificationMapper.toResponseDTO(savedNotification));
+        return savedNotification;
     }
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.config.AsyncConfig;
+import com.vitalapp.vital_app_backend.config.SchedulingConfig;
+import com.vitalapp.vital_app_backend.event.CoalescibleEvent;
+import com.vitalapp.vital_app_backend.event.DomainEventCodec;
+import com.vitalapp.vital_app_backend.model.OutboxEvent;
+import com.vitalapp.vital_app_backend.repository.OutboxEventRepository;
+
+/**
+ * Entrega a los listeners los eventos de dominio guardados en el outbox.
+ *
+ * Cada lote reclama con SELECT ... FOR UPDATE SKIP LOCKED el primer evento pendiente de
+ * cada agregado y después los que le siguen, de modo que varios nodos pueden entregar a
+ * la vez sin repartirse el mismo evento ni el mismo agregado. Los eventos se entregan en
+ * el pool de su tipo de agregado, en orden dentro de cada agregado, y el lote espera a
+ * que terminen antes de marcar los entregados con un solo UPDATE. Los que fallan se
+ * aplazan retry-delay y se reintentan hasta max-attempts; los eventos posteriores del
+ * mismo agregado esperan con ellos, también entre lotes. Los eventos consecutivos de un
+ * agregado que son combinables ({@link CoalescibleEvent}) se entregan como uno solo.
+ *
+ * Cada evento se entrega en su propia transacción (REQUIRES_NEW), aunque el pool lo
+ * ejecute en el hilo del relay: un listener que falla deshace solo su trabajo y no deja
+ * la transacción del lote marcada para rollback, que debe confirmar el aplazamiento.
+ *
+ * La entrega es al menos una vez: si el nodo cae tras entregar y antes de confirmar,
+ * el lote se entrega de nuevo, así que los listeners deben tolerar duplicados.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventCodec domainEventCodec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTemplate;
+    private final Map<String, Executor> executors;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration dispatchTimeout;
+    private final Duration retention;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            DomainEventCodec domainEventCodec,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Qualifier(AsyncConfig.TRIAGE_EVENT_EXECUTOR) Executor triageEventExecutor,
+            @Qualifier(AsyncConfig.APPOINTMENT_EVENT_EXECUTOR) Executor appointmentEventExecutor,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.max-batches:10}") int maxBatches,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.retry-delay:30s}") Duration retryDelay,
+            @Value("${outbox.relay.dispatch-timeout:30s}") Duration dispatchTimeout,
+            @Value("${outbox.retention:7d}") Duration retention) {
+        if (batchSize < 1 || maxBatches < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("El lote, el número de lotes y los intentos del outbox deben ser positivos");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.domainEventCodec = domainEventCodec;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.deliveryTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.deliveryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executors = Map.of(
+                DomainEventCodec.TRIAGE_AGGREGATE, triageEventExecutor,
+                DomainEventCodec.APPOINTMENT_AGGREGATE, appointmentEventExecutor);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.dispatchTimeout = dispatchTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Entrega los eventos pendientes, lote a lote, hasta vaciar el outbox o llegar a
+     * max-batches.
+     *
+     * @return número de eventos entregados
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:500ms}",
+            initialDelayString = "${outbox.relay.initial-delay:5s}",
+            scheduler = SchedulingConfig.BATCH_SCHEDULER)
+    public int relay() {
+        int delivered = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            BatchResult result = transactionTemplate.execute(status -> relayBatch());
+            if (result == null) {
+                break;
+            }
+            delivered += result.delivered();
+            if (result.claimed() < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private BatchResult relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> heads = outboxEventRepository.claimPending(now, maxAttempts, batchSize);
+        if (heads.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        List<OutboxEvent> rows = withFollowing(heads);
+
+        // Una tarea por agregado: sus eventos se entregan en el orden en que se escribieron
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        rows.forEach(row -> byAggregate
+                .computeIfAbsent(row.getAggregateType() + ":" + row.getAggregateId(), key -> new ArrayList<>())
+                .add(row));
+        List<Delivery> deliveries = byAggregate.values().stream()
+                .map(group -> new Delivery(group, CompletableFuture.supplyAsync(
+                        () -> deliver(group),
+                        executors.getOrDefault(group.get(0).getAggregateType(), Runnable::run))))
+                .toList();
+
+        Map<Long, String> failed = awaitDeliveries(deliveries);
+        List<Long> delivered = rows.stream()
+                .map(OutboxEvent::getId)
+                .filter(id -> !failed.containsKey(id))
+                .toList();
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markProcessed(delivered, now);
+        }
+        if (!failed.isEmpty()) {
+            postpone(rows, failed, now);
+        }
+        logger.debug("Eventos del outbox reclamados: {}, entregados: {}, aplazados: {}",
+                rows.size(), delivered.size(), failed.size());
+        return new BatchResult(heads.size(), delivered.size());
+    }
+
+    /**
+     * Añade a los eventos reclamados los pendientes que les siguen en sus agregados, en
+     * orden de ID y hasta batch-size más
+     */
+    private List<OutboxEvent> withFollowing(List<OutboxEvent> heads) {
+        List<Long> claimedIds = heads.stream().map(OutboxEvent::getId).toList();
+        List<OutboxEvent> rows = new ArrayList<>(heads);
+        heads.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getAggregateType, LinkedHashMap::new,
+                        Collectors.mapping(OutboxEvent::getAggregateId, Collectors.toSet())))
+                .forEach((aggregateType, aggregateIds) -> rows.addAll(outboxEventRepository.claimFollowing(
+                        aggregateType, aggregateIds, claimedIds, maxAttempts, batchSize)));
+        rows.sort(Comparator.comparing(OutboxEvent::getId));
+        return rows;
+    }
+
+    /**
+     * Entrega en orden los eventos de un agregado y devuelve los que fallaron con su error
+     */
+    private Map<Long, String> deliver(List<OutboxEvent> group) {
+        Map<Long, String> failed = new LinkedHashMap<>();
+        for (Run run : coalesce(group)) {
+            String error = failed.isEmpty() ? run.error() : "A la espera de un evento anterior del mismo agregado";
+            if (error == null) {
+                try {
+                    deliveryTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(run.event()));
+                } catch (RuntimeException e) {
+                    OutboxEvent first = run.rows().get(0);
+                    logger.warn("Error entregando el evento {} del outbox ({} {}, {} filas): {}",
+                            first.getId(), first.getEventType(), first.getAggregateId(), run.rows().size(),
+                            e.getMessage());
+                    error = describe(e);
+                }
+            }
+            if (error != null) {
+                String runError = error;
+                run.rows().forEach(row -> failed.put(row.getId(), runError));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Lee los eventos de un agregado y combina los consecutivos de la misma clase que son
+     * combinables, de modo que una ráfaga de cambios se entrega como su cambio neto
+     */
+    private List<Run> coalesce(List<OutboxEvent> group) {
+        List<Run> runs = new ArrayList<>();
+        for (OutboxEvent row : group) {
+            Object event;
+            try {
+                event = domainEventCodec.decode(row);
+            } catch (RuntimeException e) {
+                logger.warn("Error leyendo el evento {} del outbox ({} {}): {}",
+                        row.getId(), row.getEventType(), row.getAggregateId(), e.getMessage());
+                runs.add(new Run(List.of(row), null, describe(e)));
+                continue;
+            }
+            Run last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last != null && last.error() == null && event instanceof CoalescibleEvent<?>
+                    && last.event().getClass() == event.getClass()) {
+                List<OutboxEvent> rows = new ArrayList<>(last.rows());
+                rows.add(row);
+                runs.set(runs.size() - 1, new Run(rows, merge(last.event(), event), null));
+            } else {
+                runs.add(new Run(List.of(row), event, null));
+            }
+        }
+        return runs;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object merge(Object first, Object next) {
+        return ((CoalescibleEvent) first).coalesce((CoalescibleEvent) next);
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    private Map<Long, String> awaitDeliveries(List<Delivery> deliveries) {
+        try {
+            CompletableFuture.allOf(deliveries.stream().map(Delivery::task).toArray(CompletableFuture[]::new))
+                    .get(dispatchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Cada tarea se revisa abajo: las que no terminaron cuentan como fallidas
+        }
+        Map<Long, String> failed = new HashMap<>();
+        for (Delivery delivery : deliveries) {
+            Map<Long, String> groupFailed = delivery.task().getNow(null);
+            if (groupFailed != null) {
+                failed.putAll(groupFailed);
+            } else {
+                delivery.task().cancel(false);
+                delivery.group().forEach(row -> failed.put(row.getId(), "Entrega sin terminar en " + dispatchTimeout));
+            }
+        }
+        return failed;
+    }
+
+    private void postpone(List<OutboxEvent> rows, Map<Long, String> failed, LocalDateTime now) {
+        LocalDateTime retryAt = now.plus(retryDelay);
+        failed.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((error, ids) -> outboxEventRepository.markFailed(ids, retryAt, truncate(error)));
+        rows.stream()
+                .filter(row -> failed.containsKey(row.getId()) && row.getAttempts() + 1 >= maxAttempts)
+                .forEach(row -> logger.error("El evento {} del outbox ({} {}) agotó sus {} intentos: {}",
+                        row.getId(), row.getEventType(), row.getAggregateId(), maxAttempts, failed.get(row.getId())));
+    }
+
+    /**
+     * Elimina los eventos entregados hace más de retention, por lotes.
+     *
+     * @return número de eventos eliminados
+     */
+    @Scheduled(fixedDelayString = "${outbox.purge-interval:1h}", initialDelayString = "${outbox.purge-interval:1h}",
+            scheduler = SchedulingConfig.BATCH_SCHEDULER)
+    public int purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int deleted = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer removed = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxEventRepository.findProcessedIds(before, Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : outboxEventRepository.deleteByIdIn(ids);
+            });
+            deleted += removed != null ? removed : 0;
+            if (removed == null || removed < batchSize) {
+                break;
+            }
+        }
+        logger.debug("Eventos entregados eliminados del outbox: {}", deleted);
+        return deleted;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record BatchResult(int claimed, int delivered) {
+    }
+
+    private record Delivery(List<OutboxEvent> group, CompletableFuture<Map<Long, String>> task) {
+    }
+
+    // Filas consecutivas de un agregado entregadas como un solo evento, o la que no se pudo leer
+    private record Run(List<OutboxEvent> rows, Object event, String error) {
+    }
+}
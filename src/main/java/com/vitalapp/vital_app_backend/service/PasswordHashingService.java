@@ -0,0 +1,86 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.vitalapp.vital_app_backend.exception.custom.ServiceUnavailableException;
+
+/**
+ * Ejecuta el trabajo costoso de contraseñas (autenticación y hashing) en el pool
+ * dedicado {@code passwordHashingExecutor}.
+ *
+ * El hilo de la petición solo espera el resultado durante un tiempo acotado. Si el
+ * pool está saturado o la espera se agota se lanza {@link ServiceUnavailableException},
+ * que se traduce en 503 con Retry-After.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration maxWait;
+    private final long retryAfterSeconds;
+
+    public PasswordHashingService(
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${security.password-hashing.max-wait:10s}") Duration maxWait,
+            @Value("${security.password-hashing.retry-after:5s}") Duration retryAfter) {
+        this.executor = executor;
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * Ejecuta la tarea en el pool de hashing y espera su resultado.
+     *
+     * Las excepciones de la tarea (p. ej. BadCredentialsException) se relanzan tal cual.
+     *
+     * @throws ServiceUnavailableException si la cola está llena o se agota la espera
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Pool de hashing saturado (cola: {})", executor.getQueueSize());
+            throw new ServiceUnavailableException(
+                    "El servicio de autenticación está saturado, intente de nuevo en unos segundos",
+                    retryAfterSeconds, e);
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException(
+                    "Tiempo de espera agotado en el servicio de autenticación", retryAfterSeconds, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(
+                    "Autenticación interrumpida", retryAfterSeconds, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
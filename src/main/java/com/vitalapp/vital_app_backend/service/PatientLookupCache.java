@@ -0,0 +1,123 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.PatientMapper;
+import com.vitalapp.vital_app_backend.repository.PatientRepository;
+import com.vitalapp.vital_app_backend.util.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Índice en memoria de resúmenes de pacientes por ID y por número de documento.
+ *
+ * Los resúmenes son los mismos {@link PatientResponseDTO} que devuelve la API y no
+ * deben modificarse. La caché está acotada en tamaño y expira por tiempo; las
+ * escrituras en una transacción se aplican tras el commit y las invalidaciones se
+ * repiten al terminarla, para no publicar datos de una transacción revertida ni
+ * conservar los previos a un cambio confirmado. Publica métricas {@code cache.*}
+ * con {@code cache=patients.by-id} y {@code cache=patients.by-document}.
+ */
+@Component
+public class PatientLookupCache {
+
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+
+    private final Cache<Long, PatientResponseDTO> byId;
+    private final Cache<String, Long> idByDocument;
+
+    public PatientLookupCache(
+            PatientRepository patientRepository,
+            PatientMapper patientMapper,
+            MeterRegistry meterRegistry,
+            @Value("${patient.lookup-cache.max-size:10000}") long maxSize,
+            @Value("${patient.lookup-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.idByDocument = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "patients.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByDocument, "patients.by-document");
+    }
+
+    /**
+     * Resumen del paciente si está en memoria; null en caso contrario.
+     */
+    public PatientResponseDTO getIfPresent(Long id) {
+        return id != null ? byId.getIfPresent(id) : null;
+    }
+
+    /**
+     * Resumen del paciente con ese documento si está en memoria; null en caso contrario.
+     * Un null no implica que el documento no exista.
+     */
+    public PatientResponseDTO getIfPresentByDocument(String documentNumber) {
+        if (documentNumber == null) {
+            return null;
+        }
+        Long id = idByDocument.getIfPresent(documentNumber);
+        PatientResponseDTO cached = getIfPresent(id);
+        // El índice por documento puede sobrevivir a la entrada por ID; se valida contra ella
+        return cached != null && documentNumber.equals(cached.getDocumentNumber()) ? cached : null;
+    }
+
+    /**
+     * Resumen del paciente, cargándolo de la base de datos si no está en memoria.
+     */
+    public Optional<PatientResponseDTO> findById(Long id) {
+        PatientResponseDTO cached = getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<PatientResponseDTO> loaded = patientRepository.findById(id).map(patientMapper::toResponseDTO);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Guarda un resumen; dentro de una transacción, solo cuando esta confirma.
+     */
+    public void put(PatientResponseDTO patient) {
+        if (patient == null || patient.getId() == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            byId.put(patient.getId(), patient);
+            if (patient.getDocumentNumber() != null) {
+                idByDocument.put(patient.getDocumentNumber(), patient.getId());
+            }
+        });
+    }
+
+    /**
+     * Descarta el paciente tras una actualización, desactivación o eliminación.
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        TransactionHooks.afterCompletion(() -> evict(id));
+    }
+
+    private void evict(Long id) {
+        PatientResponseDTO removed = byId.asMap().remove(id);
+        if (removed != null && removed.getDocumentNumber() != null) {
+            idByDocument.asMap().remove(removed.getDocumentNumber(), id);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,19 +18,24 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.KeysetCursor;
 import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.patient.PatientCreateDTO;
 import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.dto.patient.PatientUpdateDTO;
+import com.vitalapp.vital_app_backend.exception.custom.BusinessException;
 import com.vitalapp.vital_app_backend.exception.custom.DuplicateResourceException;
 import com.vitalapp.vital_app_backend.exception.custom.ResourceNotFoundException;
 import com.vitalapp.vital_app_backend.mapper.PatientMapper;
 import com.vitalapp.vital_app_backend.model.Gender;
 import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.model.Triage;
 import com.vitalapp.vital_app_backend.repository.AppointmentRepository;
 import com.vitalapp.vital_app_backend.repository.PatientRepository;
 import com.vitalapp.vital_app_backend.repository.TriageRepository;
 import com.vitalapp.vital_app_backend.specification.PatientSpecification;
+import com.vitalapp.vital_app_backend.util.TextNormalizer;
 
 /**
  * Servicio de negocio para la gestión de pacientes en el sistema VitalApp.
@@ -47,6 +54,23 @@ public class PatientService {
 
     private static final Logger logger = LoggerFactory.getLogger(PatientService.class);
 
+    /**
+     * Tamaño máximo de página en modo cursor.
+     */
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Resultados por defecto y máximos de la búsqueda por nombre.
+     */
+    public static final int DEFAULT_SEARCH_RESULTS = 20;
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    /**
+     * Usar la búsqueda por trigramas de PostgreSQL (requiere la extensión pg_trgm).
+     */
+    @Value("${patient.search.trigram-enabled:true}")
+    private boolean trigramSearchEnabled;
+
     /**
      * Repositorio para acceder a los datos de pacientes en la base de datos.
      * Inyectado automáticamente por Spring.
@@ -66,6 +90,12 @@ public class PatientService {
     @Autowired
     private TriageRepository triageRepository;
 
+    /**
+     * Cola en memoria de triajes abiertos.
+     */
+    @Autowired
+    private TriageQueueService triageQueueService;
+
     /**
      * Mapper para convertir entre entidades Patient y DTOs.
      * Inyectado automáticamente por Spring.
@@ -73,6 +103,12 @@ public class PatientService {
     @Autowired
     private PatientMapper patientMapper;
 
+    /**
+     * Caché de resúmenes de pacientes por ID y documento.
+     */
+    @Autowired
+    private PatientLookupCache patientLookupCache;
+
     /**
      * Crea un nuevo paciente en el sistema.
      *
@@ -87,7 +123,9 @@ public class PatientService {
     public PatientResponseDTO createPatient(PatientCreateDTO dto) {
         logger.info("Creando paciente con documento: {}", dto.getDocumentNumber());
 
-        if (patientRepository.existsByDocumentNumber(dto.getDocumentNumber())) {
+        // Un documento ya presente en la caché es duplicado sin consultar la base de datos
+        if (patientLookupCache.getIfPresentByDocument(dto.getDocumentNumber()) != null
+                || patientRepository.existsByDocumentNumber(dto.getDocumentNumber())) {
             throw new DuplicateResourceException("Ya existe un paciente con el documento: " + dto.getDocumentNumber());
         }
 
@@ -103,7 +141,9 @@ public class PatientService {
 
         logger.info("Paciente creado exitosamente con ID: {}", savedPatient.getId());
 
-        return patientMapper.toResponseDTO(savedPatient);
+        PatientResponseDTO created = patientMapper.toResponseDTO(savedPatient);
+        patientLookupCache.put(created);
+        return created;
     }
 
     /**
@@ -172,6 +212,80 @@ public class PatientService {
         return PageResponseDTO.from(dtoPage);
     }
 
+    /**
+     * Obtiene pacientes con paginación por cursor (keyset).
+     *
+     * En lugar de saltar filas con OFFSET, cada página continúa desde la clave de
+     * ordenamiento y el ID de la última fila de la anterior, por lo que el coste no
+     * crece con la profundidad. El conteo total solo se ejecuta si se solicita.
+     *
+     * @param cursor Token de continuación devuelto por la página anterior (null para la primera)
+     * @param size Tamaño de página (máximo {@value #MAX_CURSOR_PAGE_SIZE})
+     * @param sortBy Campo por el cual ordenar; debe ser uno de {@link PatientSpecification#KEYSET_SORT_FIELDS}
+     * @param sortDirection Dirección del ordenamiento (ASC o DESC)
+     * @param includeTotal Si se debe calcular el total de elementos
+     * @return Página de pacientes con el cursor de la siguiente
+     * @throws BusinessException si el cursor es inválido o no corresponde al ordenamiento pedido
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<PatientResponseDTO> getPatientsByCursor(
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDirection,
+            String fullName,
+            String documentNumber,
+            String phone,
+            Gender gender,
+            LocalDate birthDateFrom,
+            LocalDate birthDateTo,
+            Boolean active,
+            boolean includeTotal) {
+
+        boolean descending = sortDirection.equalsIgnoreCase("DESC");
+        String validSortBy = PatientSpecification.KEYSET_SORT_FIELDS.contains(sortBy) ? sortBy : "id";
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        Specification<Patient> filters = PatientSpecification.filterBy(
+            fullName,
+            documentNumber,
+            phone,
+            gender,
+            birthDateFrom,
+            birthDateTo,
+            active
+        );
+
+        Specification<Patient> spec = filters.and(PatientSpecification.keysetOrder(validSortBy, descending));
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (!position.sortBy().equals(validSortBy) || position.descending() != descending) {
+                throw new BusinessException("El cursor no corresponde al ordenamiento solicitado");
+            }
+            spec = spec.and(PatientSpecification.keysetAfter(position));
+        }
+
+        // Se pide una fila de más para saber si hay página siguiente sin contar
+        List<Patient> rows = patientRepository.findBy(spec, query -> query.limit(pageSize + 1).all());
+        boolean hasNext = rows.size() > pageSize;
+        List<Patient> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Patient last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(validSortBy, descending,
+                PatientSpecification.keysetValue(last, validSortBy), last.getId()).encode();
+        }
+
+        return CursorPageResponseDTO.<PatientResponseDTO>builder()
+            .content(pageRows.stream().map(patientMapper::toResponseDTO).collect(Collectors.toList()))
+            .size(pageSize)
+            .hasNext(hasNext)
+            .nextCursor(nextCursor)
+            .totalElements(includeTotal ? patientRepository.count(filters) : null)
+            .build();
+    }
+
     /**
      * Valida que el campo de ordenamiento sea válido
      */
@@ -199,11 +313,18 @@ public class PatientService {
      */
     @Transactional(readOnly = true)
     public PatientResponseDTO getPatientById(Long id) {
+        PatientResponseDTO cached = patientLookupCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
         logger.debug("Buscando paciente con ID: {}", id);
         Patient patient = patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con ID: " + id));
         logger.debug("Paciente encontrado: {}", patient.getFullName());
-        return patientMapper.toResponseDTO(patient);
+        PatientResponseDTO dto = patientMapper.toResponseDTO(patient);
+        patientLookupCache.put(dto);
+        return dto;
     }
 
     /**
@@ -211,17 +332,43 @@ public class PatientService {
      */
     @Transactional(readOnly = true)
     public PatientResponseDTO getPatientByDocument(String documentNumber) {
+        PatientResponseDTO cached = patientLookupCache.getIfPresentByDocument(documentNumber);
+        if (cached != null) {
+            return cached;
+        }
+
         Patient patient = patientRepository.findByDocumentNumber(documentNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con documento: " + documentNumber));
-        return patientMapper.toResponseDTO(patient);
+        PatientResponseDTO dto = patientMapper.toResponseDTO(patient);
+        patientLookupCache.put(dto);
+        return dto;
     }
 
     /**
-     * Busca pacientes por nombre
+     * Busca pacientes por nombre, sin distinguir mayúsculas ni tildes.
+     *
+     * En PostgreSQL usa el índice de trigramas sobre search_name y ordena por
+     * similitud, de modo que también encuentra nombres con errores de escritura.
+     * Si patient.search.trigram-enabled está desactivado (bases sin pg_trgm) se
+     * recurre a una búsqueda por subcadena sobre la misma columna.
+     *
+     * @param name Texto a buscar
+     * @param limit Número máximo de resultados (máximo {@value #MAX_SEARCH_RESULTS})
+     * @return Pacientes encontrados, los más parecidos primero
      */
     @Transactional(readOnly = true)
-    public List<PatientResponseDTO> searchPatientsByName(String name) {
-        return patientRepository.findByFullNameContainingIgnoreCase(name).stream()
+    public List<PatientResponseDTO> searchPatientsByName(String name, int limit) {
+        String query = TextNormalizer.forSearch(name);
+        if (query == null || query.isEmpty()) {
+            return List.of();
+        }
+
+        int maxResults = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<Patient> patients = trigramSearchEnabled
+                ? patientRepository.searchByNameTrigram(query, maxResults)
+                : patientRepository.findBySearchNameContainingOrderByFullNameAscIdAsc(query, Limit.of(maxResults));
+
+        return patients.stream()
                 .map(patientMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -241,6 +388,7 @@ public class PatientService {
         calculateAndSetAge(patient);
 
         Patient updatedPatient = patientRepository.save(patient);
+        patientLookupCache.invalidate(id);
         logger.info("Paciente actualizado exitosamente: {}", updatedPatient.getFullName());
         return patientMapper.toResponseDTO(updatedPatient);
     }
@@ -253,6 +401,7 @@ public class PatientService {
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con ID: " + id));
         patient.setActive(false);
         patientRepository.save(patient);
+        patientLookupCache.invalidate(id);
     }
 
     /**
@@ -269,11 +418,14 @@ public class PatientService {
         logger.debug("Citas asociadas eliminadas para paciente ID: {}", id);
 
         // Eliminar triajes asociados
-        triageRepository.deleteAll(triageRepository.findByPatientId(id));
+        List<Triage> triages = triageRepository.findByPatientId(id);
+        triageRepository.deleteAll(triages);
+        triages.forEach(triage -> triageQueueService.remove(triage.getId()));
         logger.debug("Triajes asociados eliminados para paciente ID: {}", id);
 
         // Eliminar el paciente
         patientRepository.deleteById(id);
+        patientLookupCache.invalidate(id);
         logger.info("Paciente eliminado exitosamente: {}", patient.getFullName());
     }
 
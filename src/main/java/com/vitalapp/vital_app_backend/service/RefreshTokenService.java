@@ -0,0 +1,274 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.config.JwtService;
+import com.vitalapp.vital_app_backend.exception.custom.InvalidTokenException;
+import com.vitalapp.vital_app_backend.model.RefreshToken;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.RefreshTokenRepository;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Almacén de refresh tokens con rotación en cada uso y detección de reutilización.
+ *
+ * La tabla refresh_tokens es la fuente de verdad: cada token se inserta antes de
+ * entregarlo y el paso a usado es un UPDATE condicional, de modo que un token se rota
+ * una sola vez aunque lo presenten a la vez varias instancias.
+ *
+ * El índice en memoria (jti -> familia, usado, revocado) es una caché de esa tabla:
+ * se precarga al arrancar y un fallo carga la fila por jti. Rechaza sin consultar la
+ * base de datos los tokens ya usados y las familias revocadas en esta instancia; lo
+ * que cambió en otras lo detecta el UPDATE condicional.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, TokenState> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            JwtService jwtService,
+            TransactionTemplate transactionTemplate) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void load() {
+        refreshTokenRepository.findByExpiresAtAfter(LocalDateTime.now()).forEach(this::cache);
+        logger.info("Índice de refresh tokens cargado: {} tokens, {} familias", tokens.size(), families.size());
+    }
+
+    /**
+     * Emite el primer refresh token de una nueva familia (login o registro).
+     */
+    public String issue(User user) {
+        Family family = new Family(UUID.randomUUID().toString(), user.getId());
+        IssuedToken issued = transactionTemplate.execute(status -> persistNew(family, user));
+        families.put(family.id, family);
+        return remember(family, issued);
+    }
+
+    /**
+     * Rota un refresh token: lo marca como usado y emite el siguiente de su familia.
+     *
+     * Si el token ya se había usado, se asume que fue robado y se revoca la familia
+     * completa, invalidando también el token que recibió el usuario legítimo.
+     *
+     * @param claims claims verificados del refresh token presentado
+     * @param user titular del token
+     * @return el nuevo refresh token
+     * @throws InvalidTokenException si no es un refresh token, es desconocido, expiró, fue
+     *         revocado o reutilizado
+     */
+    public String rotate(Claims claims, User user) {
+        if (!JwtService.isRefreshToken(claims)) {
+            throw new InvalidTokenException("Refresh token inválido");
+        }
+        String jti = claims.getId();
+        TokenState state = jti != null ? lookup(jti) : null;
+
+        if (state == null || state.expiresAt < System.currentTimeMillis()
+                || !state.family.userId.equals(user.getId())) {
+            throw new InvalidTokenException("Refresh token inválido");
+        }
+
+        Family family = state.family;
+        if (family.revoked) {
+            throw new InvalidTokenException("Refresh token revocado");
+        }
+
+        if (!user.isEnabled()) {
+            revokeFamily(family);
+            throw new InvalidTokenException("Usuario inactivo");
+        }
+
+        if (!state.used.compareAndSet(false, true)) {
+            throw reused(family);
+        }
+
+        // El uso y el token siguiente se confirman juntos
+        IssuedToken issued;
+        try {
+            issued = transactionTemplate.execute(status ->
+                    refreshTokenRepository.claimUnused(jti) == 1 ? persistNew(family, user) : null);
+        } catch (RuntimeException e) {
+            state.used.set(false);
+            throw e;
+        }
+
+        if (issued == null) {
+            // Usado o revocado desde otra instancia
+            boolean revoked = refreshTokenRepository.findById(jti).map(RefreshToken::isRevoked).orElse(true);
+            if (revoked) {
+                family.revoked = true;
+                throw new InvalidTokenException("Refresh token revocado");
+            }
+            throw reused(family);
+        }
+        return remember(family, issued);
+    }
+
+    /**
+     * Comprueba, sin rotarlo, que un refresh token sigue vigente: registrado, no
+     * expirado, no usado y de una familia no revocada.
+     *
+     * Lo usa la renovación silenciosa del filtro JWT, que solo emite un token de
+     * acceso. Al no consumir el token, las peticiones paralelas del cliente que lo
+     * presentan a la vez no se toman por una reutilización.
+     */
+    public boolean isActive(Claims claims, User user) {
+        if (!JwtService.isRefreshToken(claims) || claims.getId() == null || !user.isEnabled()) {
+            return false;
+        }
+        TokenState state = lookup(claims.getId());
+        return state != null
+                && state.expiresAt >= System.currentTimeMillis()
+                && state.family.userId.equals(user.getId())
+                && !state.family.revoked
+                && !state.used.get();
+    }
+
+    /**
+     * Revoca todas las sesiones de un usuario.
+     */
+    public void revokeUser(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.revokeByUserId(userId));
+        families.values().stream()
+                .filter(family -> family.userId.equals(userId))
+                .forEach(family -> family.revoked = true);
+    }
+
+    /**
+     * Elimina del índice y de la tabla los tokens y familias expirados.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-store.purge-interval:1h}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(state -> state.expiresAt < now);
+        families.values().removeIf(family -> family.expiresAt < now);
+
+        int deleted = transactionTemplate.execute(status ->
+                refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+        logger.debug("Refresh tokens expirados eliminados: {}", deleted);
+    }
+
+    private InvalidTokenException reused(Family family) {
+        revokeFamily(family);
+        logger.warn("Reutilización de refresh token detectada: familia {} del usuario {} revocada",
+                family.id, family.userId);
+        return new InvalidTokenException("Refresh token reutilizado");
+    }
+
+    // Estado en memoria del token; si no está, se carga de la tabla
+    private TokenState lookup(String jti) {
+        TokenState state = tokens.get(jti);
+        if (state != null) {
+            return state;
+        }
+        return refreshTokenRepository.findById(jti).map(this::cache).orElse(null);
+    }
+
+    private TokenState cache(RefreshToken token) {
+        long expiresAt = toEpochMillis(token.getExpiresAt());
+        Family family = families.computeIfAbsent(token.getFamilyId(), id -> new Family(id, token.getUserId()));
+        family.extendTo(expiresAt);
+        if (token.isRevoked()) {
+            family.revoked = true;
+        }
+        TokenState state = new TokenState(family, expiresAt, token.isUsed());
+        TokenState previous = tokens.putIfAbsent(token.getJti(), state);
+        return previous != null ? previous : state;
+    }
+
+    // Inserta el token en la transacción en curso; se entrega solo si esta confirma
+    private IssuedToken persistNew(Family family, User user) {
+        String jti = UUID.randomUUID().toString();
+        long expiresAt = System.currentTimeMillis() + jwtService.getRefreshExpiration();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(jti)
+                .familyId(family.id)
+                .userId(family.userId)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .build());
+        return new IssuedToken(jti, expiresAt, jwtService.generateRefreshToken(user, jti));
+    }
+
+    private String remember(Family family, IssuedToken issued) {
+        tokens.put(issued.jti(), new TokenState(family, issued.expiresAt(), false));
+        family.extendTo(issued.expiresAt());
+        return issued.token();
+    }
+
+    private void revokeFamily(Family family) {
+        if (!family.revoked) {
+            family.revoked = true;
+            transactionTemplate.executeWithoutResult(status ->
+                    refreshTokenRepository.revokeFamilies(List.of(family.id)));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record IssuedToken(String jti, long expiresAt, String token) {
+    }
+
+    /**
+     * Cadena de rotaciones originada en un login.
+     */
+    private static final class Family {
+        private final String id;
+        private final Long userId;
+        private volatile boolean revoked;
+        private volatile long expiresAt;
+
+        private Family(String id, Long userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        private synchronized void extendTo(long tokenExpiresAt) {
+            if (tokenExpiresAt > expiresAt) {
+                expiresAt = tokenExpiresAt;
+            }
+        }
+    }
+
+    private static final class TokenState {
+        private final Family family;
+        private final long expiresAt;
+        private final AtomicBoolean used;
+
+        private TokenState(Family family, long expiresAt, boolean used) {
+            this.family = family;
+            this.expiresAt = expiresAt;
+            this.used = new AtomicBoolean(used);
+        }
+    }
+}
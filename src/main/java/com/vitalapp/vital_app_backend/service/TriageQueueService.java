@@ -0,0 +1,188 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.vitalapp.vital_app_backend.dto.triage.TriageResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.TriageMapper;
+import com.vitalapp.vital_app_backend.model.Triage;
+import com.vitalapp.vital_app_backend.model.TriageStatus;
+import com.vitalapp.vital_app_backend.repository.TriageRepository;
+import com.vitalapp.vital_app_backend.util.TransactionHooks;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cola viva de triajes abiertos (PENDING e IN_PROGRESS), ordenada por severidad
+ * descendente y, a igual severidad, por antigüedad.
+ *
+ * Se reconstruye desde la base de datos al arrancar y después se mantiene con los
+ * cambios que confirma {@link TriageService}, de modo que las consultas de la cola
+ * no acceden a la base de datos. Cada estado tiene su propio conjunto ordenado:
+ * obtener el siguiente paciente es O(log n) y los k primeros O(log n + k).
+ *
+ * Los cambios confirmados en otros nodos no llegan por esa vía: la cola se concilia
+ * periódicamente con los triajes abiertos de la base de datos.
+ *
+ * Los resúmenes devueltos son compartidos y no deben modificarse.
+ */
+@Service
+public class TriageQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TriageQueueService.class);
+
+    /**
+     * Estados que mantienen un triaje en la cola.
+     */
+    public static final Set<TriageStatus> OPEN_STATUSES = EnumSet.of(TriageStatus.PENDING, TriageStatus.IN_PROGRESS);
+
+    /**
+     * Máximo de elementos devueltos por una consulta de la cola.
+     */
+    static final int MAX_TOP_K = 100;
+
+    private static final Comparator<QueueEntry> PRIORITY = Comparator
+            .comparingInt(QueueEntry::severity).reversed()
+            .thenComparing(QueueEntry::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(QueueEntry::id);
+
+    private final TriageRepository triageRepository;
+    private final TriageMapper triageMapper;
+
+    private final Map<TriageStatus, NavigableSet<QueueEntry>> queues = new EnumMap<>(TriageStatus.class);
+    private final Map<Long, QueueEntry> entries = new ConcurrentHashMap<>();
+
+    public TriageQueueService(TriageRepository triageRepository, TriageMapper triageMapper) {
+        this.triageRepository = triageRepository;
+        this.triageMapper = triageMapper;
+        for (TriageStatus status : OPEN_STATUSES) {
+            queues.put(status, new ConcurrentSkipListSet<>(PRIORITY));
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        List<Triage> open = triageRepository.findByStatusIn(OPEN_STATUSES);
+        open.stream().map(triageMapper::toResponseDTO).forEach(this::apply);
+        logger.info("Cola de triajes cargada: {} pendientes, {} en atención",
+                queues.get(TriageStatus.PENDING).size(), queues.get(TriageStatus.IN_PROGRESS).size());
+    }
+
+    /**
+     * Concilia la cola con los triajes abiertos de la base de datos para recoger los
+     * cambios de otros nodos. Los triajes que cambiaron en este nodo mientras se leía
+     * se dejan como están: lo aplicado al confirmar es más reciente que lo leído.
+     */
+    @Scheduled(fixedDelayString = "${triage.queue.refresh-interval:30s}",
+            initialDelayString = "${triage.queue.refresh-interval:30s}")
+    public void refresh() {
+        Map<Long, QueueEntry> before = new HashMap<>(entries);
+        Map<Long, TriageResponseDTO> open = new HashMap<>();
+        for (Triage triage : triageRepository.findByStatusIn(OPEN_STATUSES)) {
+            open.put(triage.getId(), triageMapper.toResponseDTO(triage));
+        }
+        int removed = 0;
+        synchronized (this) {
+            Set<Long> ids = new HashSet<>(before.keySet());
+            ids.addAll(open.keySet());
+            for (Long id : ids) {
+                // Las entradas se sustituyen al aplicar un cambio: si no es la misma, cambió aquí
+                if (entries.get(id) != before.get(id)) {
+                    continue;
+                }
+                TriageResponseDTO triage = open.get(id);
+                if (triage != null) {
+                    apply(triage);
+                } else {
+                    discard(id);
+                    removed++;
+                }
+            }
+        }
+        logger.debug("Cola de triajes conciliada: {} abiertos, {} retirados", open.size(), removed);
+    }
+
+    /**
+     * Triaje pendiente de mayor prioridad, sin retirarlo de la cola.
+     */
+    public Optional<TriageResponseDTO> next() {
+        // El iterador del conjunto tolera escrituras concurrentes, a diferencia de first()
+        return queues.get(TriageStatus.PENDING).stream()
+                .findFirst()
+                .map(QueueEntry::triage);
+    }
+
+    /**
+     * Los {@code limit} triajes de mayor prioridad en el estado dado.
+     *
+     * @param status PENDING o IN_PROGRESS; para otros estados la cola está vacía
+     */
+    public List<TriageResponseDTO> top(TriageStatus status, int limit) {
+        NavigableSet<QueueEntry> queue = queues.get(status);
+        if (queue == null) {
+            return List.of();
+        }
+        return queue.stream()
+                .limit(Math.max(0, Math.min(limit, MAX_TOP_K)))
+                .map(QueueEntry::triage)
+                .toList();
+    }
+
+    /**
+     * Registra el estado actual de un triaje tras crearlo o modificarlo; si ya no
+     * está abierto, sale de la cola. Dentro de una transacción se aplica al confirmar.
+     */
+    public void upsert(TriageResponseDTO triage) {
+        if (triage == null || triage.getId() == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> apply(triage));
+    }
+
+    /**
+     * Retira un triaje eliminado. Dentro de una transacción se aplica al confirmar.
+     */
+    public void remove(Long triageId) {
+        TransactionHooks.afterCommit(() -> discard(triageId));
+    }
+
+    // Las escrituras se serializan para que el índice por ID y los conjuntos ordenados
+    // cambien juntos; las lecturas no bloquean.
+    private synchronized void apply(TriageResponseDTO triage) {
+        discard(triage.getId());
+        NavigableSet<QueueEntry> queue = queues.get(triage.getStatus());
+        if (queue != null) {
+            QueueEntry entry = new QueueEntry(triage.getId(), triage.getStatus(),
+                    triage.getSeverityLevel(), triage.getCreatedAt(), triage);
+            entries.put(entry.id(), entry);
+            queue.add(entry);
+        }
+    }
+
+    private synchronized void discard(Long triageId) {
+        QueueEntry previous = entries.remove(triageId);
+        if (previous != null) {
+            queues.get(previous.status()).remove(previous);
+        }
+    }
+
+    private record QueueEntry(
+            Long id, TriageStatus status, int severity, LocalDateTime createdAt, TriageResponseDTO triage) {
+    }
+}
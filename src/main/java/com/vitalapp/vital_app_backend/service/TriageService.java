@@ -1,33 +1,50 @@
 package com.vitalapp.vital_app_backend.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageCreateDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageUpdateDTO;
 import com.vitalapp.vital_app_backend.event.TriageCreatedEvent;
 import com.vitalapp.vital_app_backend.exception.custom.ResourceNotFoundException;
 import com.vitalapp.vital_app_backend.mapper.TriageMapper;
-import com.vitalapp.vital_app_backend.model.Patient;
 import com.vitalapp.vital_app_backend.model.Triage;
 import com.vitalapp.vital_app_backend.model.TriageStatus;
 import com.vitalapp.vital_app_backend.model.User;
 import com.vitalapp.vital_app_backend.repository.PatientRepository;
 import com.vitalapp.vital_app_backend.repository.TriageRepository;
 import com.vitalapp.vital_app_backend.repository.UserRepository;
+import com.vitalapp.vital_app_backend.util.EntityStreams;
 
 @Service
 @Transactional
 public class TriageService {
 
+    /**
+     * Tamaño máximo de página para los listados.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private static final Logger logger = LoggerFactory.getLogger(TriageService.class);
 
     @Autowired
@@ -36,6 +53,9 @@ public class TriageService {
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private PatientLookupCache patientLookupCache;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -43,7 +63,10 @@ public class TriageService {
     private TriageMapper triageMapper;
 
     @Autowired
-    private ApplicationEventPublisher eventPublisher;
+    private TriageQueueService triageQueueService;
+
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
 
     /**
      * Crea un nuevo triage
@@ -51,30 +74,60 @@ public class TriageService {
     public TriageResponseDTO createTriage(TriageCreateDTO dto) {
         logger.info("Creando triage para paciente ID: {}", dto.getPatientId());
 
-        Patient patient = patientRepository.findById(dto.getPatientId())
+        // Existencia y nombre desde la caché; la asociación usa una referencia sin SELECT
+        PatientResponseDTO patient = patientLookupCache.findById(dto.getPatientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Paciente no encontrado con ID: " + dto.getPatientId()));
 
         Triage triage = triageMapper.toEntity(dto);
-        triage.setPatient(patient);
+        triage.setPatient(patientRepository.getReferenceById(patient.getId()));
         triage.setStatus(TriageStatus.PENDING);
 
         Triage savedTriage = triageRepository.save(triage);
         logger.info("Triage creado con ID: {}", savedTriage.getId());
 
-        // Publicar evento
-        eventPublisher.publishEvent(new TriageCreatedEvent(savedTriage));
+        // Evento al outbox, en la misma transacción que el triaje
+        domainEventOutbox.append(TriageCreatedEvent.from(savedTriage));
 
-        return triageMapper.toResponseDTO(savedTriage);
+        TriageResponseDTO response = triageMapper.toResponseDTO(savedTriage, patient);
+        triageQueueService.upsert(response);
+        return response;
     }
 
     /**
-     * Obtiene todos los triages
+     * Obtiene triages paginados por número de página, en orden de ID
      */
     @Transactional(readOnly = true)
-    public List<TriageResponseDTO> getAllTriages() {
-        return triageRepository.findAll().stream()
-                .map(triageMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<TriageResponseDTO> getAllTriages(int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), clampPageSize(size), Sort.by("id"));
+        return PageResponseDTO.from(triageRepository.findAll(pageable).map(triageMapper::toResponseDTO));
+    }
+
+    /**
+     * Obtiene triages por keyset: continúa tras el ID guardado en el cursor sin
+     * recorrer las filas anteriores ni ejecutar COUNT
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<TriageResponseDTO> getTriagesByCursor(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        List<Triage> rows = triageRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPageResponseDTO.lastIdFrom(cursor), Limit.of(pageSize + 1));
+        return CursorPageResponseDTO.ofIdOrdered(rows, pageSize, Triage::getId, triageMapper::toResponseDTO);
+    }
+
+    /**
+     * Entrega todos los triages uno a uno, leyendo por lotes del cursor de la base
+     * de datos, de modo que la memoria usada no depende del tamaño de la tabla
+     *
+     * @return número de elementos entregados
+     */
+    @Transactional(readOnly = true)
+    public long streamAllTriages(Consumer<TriageResponseDTO> sink) {
+        return EntityStreams.forEach(triageRepository.streamAllByOrderByIdAsc(), entityManager,
+                triageMapper::toResponseDTO, sink);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     /**
@@ -100,7 +153,9 @@ public class TriageService {
         triageMapper.updateEntityFromDTO(dto, triage);
         Triage updatedTriage = triageRepository.save(triage);
         logger.info("Triage actualizado exitosamente: {}", updatedTriage.getId());
-        return triageMapper.toResponseDTO(updatedTriage);
+        TriageResponseDTO response = triageMapper.toResponseDTO(updatedTriage);
+        triageQueueService.upsert(response);
+        return response;
     }
 
     /**
@@ -113,6 +168,7 @@ public class TriageService {
             throw new ResourceNotFoundException("Triage no encontrado con ID: " + id);
         }
         triageRepository.deleteById(id);
+        triageQueueService.remove(id);
         logger.info("Triage eliminado exitosamente");
     }
 
@@ -148,6 +204,9 @@ public class TriageService {
         triage.setStatus(status);
         Triage updatedTriage = triageRepository.save(triage);
         logger.info("Estado de triage actualizado exitosamente");
-        return triageMapper.toResponseDTO(updatedTriage);
+        TriageResponseDTO response = triageMapper.toResponseDTO(updatedTriage);
+        triageQueueService.upsert(response);
+        return response;
     }
-}
\ No newline at end of file
+
+}
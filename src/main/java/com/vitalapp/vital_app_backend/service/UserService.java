@@ -6,6 +6,8 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.vitalapp.vital_app_backend.config.UserDetailsCache;
+import com.vitalapp.vital_app_backend.config.UserRevocationCache;
 import com.vitalapp.vital_app_backend.model.User;
 import com.vitalapp.vital_app_backend.repository.UserRepository;
 
@@ -14,10 +16,21 @@ public class UserService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private UserRevocationCache userRevocationCache;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
     
     // Crear usuario
     public User createUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsCache.invalidate(saved.getUsername());
+        return saved;
     }
     
     // Obtener todos los usuarios
@@ -42,6 +55,10 @@ public class UserService {
     
     // Eliminar usuario (cambió String a Long)
     public void deleteUser(Long id) {
+        userRepository.findById(id)
+                .ifPresent(user -> userDetailsCache.invalidate(user.getUsername()));
         userRepository.deleteById(id);
+        userRevocationCache.invalidate(id);
+        refreshTokenService.revokeUser(id);
     }
 }
\ No newline at end of file
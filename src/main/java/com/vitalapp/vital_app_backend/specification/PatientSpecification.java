@@ -1,16 +1,30 @@
 package com.vitalapp.vital_app_backend.specification;
 
+import com.vitalapp.vital_app_backend.dto.common.KeysetCursor;
+import com.vitalapp.vital_app_backend.exception.custom.BusinessException;
 import com.vitalapp.vital_app_backend.model.Gender;
 import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.util.TextNormalizer;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class PatientSpecification {
 
+    /**
+     * Campos admitidos para ordenar en modo cursor. El ID actúa siempre como desempate.
+     */
+    public static final Set<String> KEYSET_SORT_FIELDS = Set.of("id", "fullName", "documentNumber", "birthDate");
+
+    private static final char LIKE_ESCAPE = '\\';
+
     public static Specification<Patient> filterBy(
             String fullName,
             String documentNumber,
@@ -23,11 +37,14 @@ public class PatientSpecification {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            // Filtro por nombre completo (case insensitive, búsqueda parcial)
+            // Filtro por nombre completo (sin distinguir mayúsculas ni tildes, búsqueda parcial),
+            // sobre la columna normalizada, que usa el índice de trigramas.
+            // Los comodines del texto se escapan para que se busquen literalmente
             if (fullName != null && !fullName.isBlank()) {
                 predicates.add(criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("fullName")),
-                    "%" + fullName.toLowerCase() + "%"
+                    root.get("searchName"),
+                    "%" + escapeLike(TextNormalizer.forSearch(fullName)) + "%",
+                    LIKE_ESCAPE
                 ));
             }
 
@@ -81,4 +98,100 @@ public class PatientSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Ordena por el campo indicado y por ID como desempate.
+     *
+     * En orden ascendente los nulos van al final y en descendente al principio,
+     * de modo que el recorrido sea el mismo en ambos sentidos y coincida con {@link #keysetAfter}.
+     * No se aplica a las consultas de conteo.
+     */
+    public static Specification<Patient> keysetOrder(String sortBy, boolean descending) {
+        return (root, query, criteriaBuilder) -> {
+            Class<?> resultType = query.getResultType();
+            if (Long.class.equals(resultType) || long.class.equals(resultType)) {
+                return null;
+            }
+
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) criteriaBuilder;
+            if ("id".equals(sortBy)) {
+                query.orderBy(descending ? hcb.desc(root.get("id")) : hcb.asc(root.get("id")));
+            } else {
+                query.orderBy(
+                    descending ? hcb.desc(root.get(sortBy), true) : hcb.asc(root.get(sortBy), false),
+                    descending ? hcb.desc(root.get("id")) : hcb.asc(root.get("id"))
+                );
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Restringe a las filas posteriores a la posición del cursor según {@link #keysetOrder}.
+     */
+    public static Specification<Patient> keysetAfter(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<Long> id = root.get("id");
+            Predicate idAfter = cursor.descending()
+                ? criteriaBuilder.lessThan(id, cursor.id())
+                : criteriaBuilder.greaterThan(id, cursor.id());
+
+            if ("id".equals(cursor.sortBy())) {
+                return idAfter;
+            }
+
+            Expression<Comparable<Object>> field = root.get(cursor.sortBy());
+            Comparable<Object> value = parseKeysetValue(cursor.sortBy(), cursor.value());
+
+            if (value == null) {
+                // Última fila con valor nulo: quedan los nulos con ID posterior
+                // y, en descendente, todos los no nulos
+                Predicate nullsAfter = criteriaBuilder.and(criteriaBuilder.isNull(field), idAfter);
+                return cursor.descending()
+                    ? criteriaBuilder.or(nullsAfter, criteriaBuilder.isNotNull(field))
+                    : nullsAfter;
+            }
+
+            Predicate sameValueAfter = criteriaBuilder.and(criteriaBuilder.equal(field, value), idAfter);
+            if (cursor.descending()) {
+                return criteriaBuilder.or(criteriaBuilder.lessThan(field, value), sameValueAfter);
+            }
+            return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(field, value),
+                sameValueAfter,
+                criteriaBuilder.isNull(field)
+            );
+        };
+    }
+
+    /**
+     * Valor del campo de orden de un paciente, en el formato que guarda el cursor.
+     */
+    public static String keysetValue(Patient patient, String sortBy) {
+        return switch (sortBy) {
+            case "fullName" -> patient.getFullName();
+            case "documentNumber" -> patient.getDocumentNumber();
+            case "birthDate" -> patient.getBirthDate() != null ? patient.getBirthDate().toString() : null;
+            default -> null;
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseKeysetValue(String sortBy, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            Comparable<?> parsed = "birthDate".equals(sortBy) ? LocalDate.parse(value) : value;
+            return (Comparable<Object>) parsed;
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Cursor inválido", e);
+        }
+    }
+}
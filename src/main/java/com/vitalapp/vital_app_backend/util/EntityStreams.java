@@ -0,0 +1,45 @@
+package com.vitalapp.vital_app_backend.util;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Recorrido de consultas JPA en modo stream con memoria acotada.
+ */
+public final class EntityStreams {
+
+    /**
+     * Filas que el driver trae por viaje; usado como fetch size en los repositorios
+     * y como intervalo de limpieza del contexto de persistencia.
+     */
+    public static final int FETCH_SIZE = 500;
+    public static final String FETCH_SIZE_HINT = "" + FETCH_SIZE;
+
+    private EntityStreams() {
+    }
+
+    /**
+     * Mapea y entrega cada fila del stream, vaciando el contexto de persistencia cada
+     * {@link #FETCH_SIZE} filas para que las entidades ya enviadas puedan recolectarse.
+     * Debe ejecutarse dentro de una transacción de solo lectura; cierra el stream.
+     *
+     * @return número de filas entregadas
+     */
+    public static <E, T> long forEach(Stream<E> rows, EntityManager entityManager,
+                                      Function<E, T> mapper, Consumer<T> sink) {
+        long count = 0;
+        try (rows) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(mapper.apply(iterator.next()));
+                if (++count % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
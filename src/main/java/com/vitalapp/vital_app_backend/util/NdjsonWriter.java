@@ -0,0 +1,63 @@
+package com.vitalapp.vital_app_backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Escribe objetos como NDJSON (un documento JSON por línea) sobre un OutputStream,
+ * vaciando el buffer periódicamente para que el cliente reciba las filas a medida
+ * que se generan.
+ */
+public class NdjsonWriter implements Closeable {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private long written;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        // Cada valor se serializa con este writer: sin sangría y sin vaciar el buffer
+        // tras cada documento (se vacía cada FLUSH_EVERY)
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Sin separador entre valores raíz: por defecto Jackson escribe un espacio antes
+        // de cada documento a partir del segundo, que quedaría al inicio de cada línea
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+    }
+
+    /**
+     * Escribe un objeto seguido de salto de línea.
+     *
+     * @throws UncheckedIOException si el cliente cerró la conexión
+     */
+    public void write(Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+            if (++written % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,32 @@
+package com.vitalapp.vital_app_backend.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para búsquedas.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Convierte un texto a su forma de búsqueda: sin tildes ni diéresis, en minúsculas
+     * y con los espacios colapsados ("  José  Peña" -> "jose pena").
+     *
+     * @return el texto normalizado, o null si la entrada es null
+     */
+    public static String forSearch(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String withoutMarks = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,102 @@
+package com.vitalapp.vital_app_backend.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rueda de temporización con cubetas de duración fija: programar o cancelar una clave
+ * es O(1) y cada avance solo recorre las cubetas de los ticks transcurridos, no todas
+ * las claves pendientes.
+ *
+ * Una clave cuyo vencimiento queda más allá de una vuelta completa permanece en su
+ * cubeta hasta la vuelta correspondiente; para que eso sea raro, la rueda debe cubrir
+ * el horizonte con el que se programan las claves. Es segura entre hilos.
+ */
+public final class TimingWheel<K> {
+
+    private final LocalDateTime origin;
+    private final long tickMillis;
+    private final List<Map<K, LocalDateTime>> buckets;
+    private final Map<K, Integer> bucketByKey = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param tick duración de cada cubeta
+     * @param horizon tiempo que debe cubrir una vuelta de la rueda
+     * @param origin instante del primer tick
+     */
+    public TimingWheel(Duration tick, Duration horizon, LocalDateTime origin) {
+        if (tick.toMillis() < 1 || horizon.compareTo(tick) < 0) {
+            throw new IllegalArgumentException("El tick debe ser positivo y no mayor que el horizonte");
+        }
+        this.origin = origin;
+        this.tickMillis = tick.toMillis();
+        int size = (int) Math.min(Integer.MAX_VALUE - 1, horizon.toMillis() / tickMillis) + 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Programa la clave para que venza en dueAt, sustituyendo su vencimiento anterior.
+     * Si ya venció, se entrega en el siguiente avance.
+     */
+    public synchronized void schedule(K key, LocalDateTime dueAt) {
+        cancel(key);
+        int bucket = (int) (Math.max(tickOf(dueAt), currentTick) % buckets.size());
+        buckets.get(bucket).put(key, dueAt);
+        bucketByKey.put(key, bucket);
+    }
+
+    /**
+     * Retira la clave si estaba programada.
+     */
+    public synchronized void cancel(K key) {
+        Integer bucket = bucketByKey.remove(key);
+        if (bucket != null) {
+            buckets.get(bucket).remove(key);
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta now y retira las claves vencidas, en orden de cubeta.
+     */
+    public synchronized List<K> advance(LocalDateTime now) {
+        long nowTick = tickOf(now);
+        List<K> due = new ArrayList<>();
+        // Tras una vuelta completa sin avanzar ya se han visitado todas las cubetas
+        long last = Math.min(nowTick, currentTick + buckets.size() - 1);
+        for (long tick = currentTick; tick <= last; tick++) {
+            Iterator<Map.Entry<K, LocalDateTime>> entries = buckets.get((int) (tick % buckets.size()))
+                    .entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<K, LocalDateTime> entry = entries.next();
+                if (!entry.getValue().isAfter(now)) {
+                    due.add(entry.getKey());
+                    bucketByKey.remove(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick + 1);
+        return due;
+    }
+
+    /**
+     * Número de claves programadas.
+     */
+    public synchronized int size() {
+        return bucketByKey.size();
+    }
+
+    private long tickOf(LocalDateTime time) {
+        return Math.max(0, Duration.between(origin, time).toMillis() / tickMillis);
+    }
+}
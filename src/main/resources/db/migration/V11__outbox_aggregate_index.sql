@@ -0,0 +1,5 @@
+-- Eventos pendientes de un agregado en orden de ID: reclamo del primero de cada agregado
+-- (OutboxEventRepository.claimPending) y de los que le siguen (claimFollowing). Solo
+-- indexa las filas sin entregar, que son pocas frente a las conservadas hasta la purga.
+CREATE INDEX idx_outbox_events_aggregate
+    ON outbox_events (aggregate_type, aggregate_id, id) WHERE processed_at IS NULL;
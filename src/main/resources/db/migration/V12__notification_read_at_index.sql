@@ -0,0 +1,4 @@
+-- Lecturas recientes de los usuarios conectados a una instancia
+-- (NotificationRepository.findLastReadAfter). Solo indexa las notificaciones leídas.
+CREATE INDEX idx_notifications_recipient_read_at
+    ON notifications (recipient_id, read_at) WHERE read_at IS NOT NULL;
@@ -0,0 +1,20 @@
+-- Tokens de refresco emitidos: fuente de verdad de la rotación por familias
+-- (RefreshTokenService). No forma parte del esquema inicial, así que se crea aquí
+-- también en las bases existentes marcadas en la versión 1.
+
+CREATE TABLE refresh_tokens (
+    jti VARCHAR(36) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    used BOOLEAN NOT NULL,
+    revoked BOOLEAN NOT NULL,
+    PRIMARY KEY (jti)
+);
+
+-- Detección de reutilización: revocar la familia completa
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+-- Revocación de todas las sesiones de un usuario (RefreshTokenService.revokeUser)
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+-- Purga de tokens caducados
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,82 @@
+-- Esquema inicial, equivalente al generado por Hibernate (ddl-auto=update).
+-- En bases existentes no se ejecuta: spring.flyway.baseline-on-migrate las marca en la versión 1.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    active BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE patients (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    full_name VARCHAR(255),
+    document_number VARCHAR(255) UNIQUE,
+    birth_date DATE,
+    age INTEGER,
+    phone VARCHAR(255),
+    address VARCHAR(255),
+    gender VARCHAR(255) CHECK (gender IN ('MALE', 'FEMALE', 'OTHER')),
+    emergency_contact VARCHAR(255),
+    emergency_phone VARCHAR(255),
+    active BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE triages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    patient_id BIGINT NOT NULL,
+    symptoms VARCHAR(500) NOT NULL,
+    blood_pressure VARCHAR(20),
+    heart_rate INTEGER,
+    temperature FLOAT(53),
+    oxygen_saturation INTEGER,
+    severity_level INTEGER NOT NULL,
+    recommended_action VARCHAR(500) NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    created_at TIMESTAMP(6) NOT NULL,
+    created_by BIGINT,
+    notes VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE appointments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    patient_id BIGINT NOT NULL,
+    doctor VARCHAR(100) NOT NULL,
+    specialty VARCHAR(100) NOT NULL,
+    scheduled_at TIMESTAMP(6) NOT NULL,
+    duration INTEGER NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED', 'NO_SHOW')),
+    reason VARCHAR(500) NOT NULL,
+    notes VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    reminder_sent BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE notifications (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient_id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('INFO', 'WARNING', 'ALERT', 'SUCCESS')),
+    priority VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    read BOOLEAN NOT NULL,
+    read_at TIMESTAMP(6),
+    related_entity_type VARCHAR(50),
+    related_entity_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE triages ADD CONSTRAINT fk_triages_patient FOREIGN KEY (patient_id) REFERENCES patients;
+ALTER TABLE triages ADD CONSTRAINT fk_triages_created_by FOREIGN KEY (created_by) REFERENCES users;
+ALTER TABLE appointments ADD CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients;
+ALTER TABLE notifications ADD CONSTRAINT fk_notifications_recipient FOREIGN KEY (recipient_id) REFERENCES users;
@@ -0,0 +1,15 @@
+-- Búsqueda de pacientes por nombre con índice de trigramas.
+-- search_name guarda el nombre en minúsculas y sin tildes (lo mantiene la entidad Patient);
+-- el índice GIN acelera tanto LIKE '%x%' como la similitud por trigramas.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+ALTER TABLE patients ADD COLUMN IF NOT EXISTS search_name VARCHAR(255);
+
+UPDATE patients
+SET search_name = regexp_replace(lower(unaccent(btrim(full_name))), '\s+', ' ', 'g')
+WHERE full_name IS NOT NULL AND search_name IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_patients_search_name_trgm
+    ON patients USING gin (search_name gin_trgm_ops);
@@ -0,0 +1,29 @@
+-- IDs por secuencia con el optimizador pooled de Hibernate (ver PooledSequence), que
+-- permite agrupar los INSERT en lotes JDBC; con IDENTITY cada fila es un viaje aparte.
+--
+-- El INCREMENT BY de cada secuencia debe coincidir con vitalapp.id.allocation-size;
+-- ambos salen de ID_ALLOCATION_SIZE. Cambiarlo después requiere una migración con
+-- ALTER SEQUENCE ... INCREMENT BY.
+--
+-- Con pooled, el valor devuelto por nextval es el extremo superior del bloque, así que
+-- cada secuencia arranca en MAX(id) + incremento para no reutilizar IDs existentes.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + ${idAllocationSize}, false) FROM users;
+
+ALTER TABLE patients ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS patients_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('patients_seq', COALESCE(MAX(id), 0) + ${idAllocationSize}, false) FROM patients;
+
+ALTER TABLE triages ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS triages_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('triages_seq', COALESCE(MAX(id), 0) + ${idAllocationSize}, false) FROM triages;
+
+ALTER TABLE appointments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS appointments_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('appointments_seq', COALESCE(MAX(id), 0) + ${idAllocationSize}, false) FROM appointments;
+
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('notifications_seq', COALESCE(MAX(id), 0) + ${idAllocationSize}, false) FROM notifications;
@@ -0,0 +1,39 @@
+-- Índices para los accesos de los repositorios. Los no parciales coinciden con los
+-- declarados en @Table de cada entidad; AccessPathExplainTest comprueba que ninguna
+-- consulta filtrada recorra la tabla completa.
+--
+-- CONCURRENTLY evita bloquear las escrituras mientras se construyen; Flyway ejecuta
+-- esta migración fuera de transacción porque todas sus sentencias lo requieren.
+
+-- Notificaciones: listado y reanudación por destinatario, y MAX(id) del destinatario
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_recipient_id
+    ON notifications (recipient_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_recipient_created
+    ON notifications (recipient_id, created_at DESC);
+-- Conteo, listado y marcado masivo de no leídas: solo indexa las filas pendientes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_recipient_unread
+    ON notifications (recipient_id, id) WHERE read = false;
+-- Relectura de las alertas difundidas por entidad relacionada
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_related_entity
+    ON notifications (related_entity_type, related_entity_id);
+-- Purga de expiradas; la mayoría de notificaciones no expira y queda fuera del índice
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_expires_at
+    ON notifications (expires_at) WHERE expires_at IS NOT NULL;
+
+-- Triajes: historial del paciente, cola por estado y filtro por severidad
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_triages_patient_created
+    ON triages (patient_id, created_at DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_triages_status_severity
+    ON triages (status, severity_level DESC, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_triages_severity
+    ON triages (severity_level);
+
+-- Citas: por paciente (y estado), por estado, por rango de fechas y próximas no canceladas
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient_status
+    ON appointments (patient_id, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_status_scheduled
+    ON appointments (status, scheduled_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_scheduled_at
+    ON appointments (scheduled_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_upcoming
+    ON appointments (scheduled_at) WHERE status <> 'CANCELLED';
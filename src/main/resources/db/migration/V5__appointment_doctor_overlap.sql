@@ -0,0 +1,16 @@
+-- Impide que un doctor tenga dos citas activas que se solapen en el tiempo.
+-- La restricción de exclusión usa un índice GiST sobre (doctor, intervalo de la cita)
+-- y garantiza la regla entre nodos; AppointmentScheduleService la comprueba antes
+-- en memoria y traduce su violación a un conflicto de horario.
+--
+-- Las citas canceladas o ausentes no ocupan la agenda. Si la tabla ya contiene
+-- solapamientos activos la migración falla y deben resolverse antes de aplicarla.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_doctor_no_overlap
+    EXCLUDE USING gist (
+        doctor WITH =,
+        tsrange(scheduled_at, scheduled_at + duration * INTERVAL '1 minute') WITH &&
+    ) WHERE (status NOT IN ('CANCELLED', 'NO_SHOW'));
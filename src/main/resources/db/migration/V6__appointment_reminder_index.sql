@@ -0,0 +1,6 @@
+-- Citas pendientes de recordatorio: la recarga de AppointmentReminderService lee por
+-- rango de fecha solo las citas activas sin recordatorio, que quedan en un índice
+-- parcial pequeño. CONCURRENTLY evita bloquear las escrituras mientras se construye.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_reminder_due
+    ON appointments (scheduled_at)
+    WHERE reminder_sent = false AND status IN ('SCHEDULED', 'CONFIRMED');
@@ -0,0 +1,24 @@
+-- Outbox de eventos de dominio: cada evento se guarda en la misma transacción que el
+-- cambio que lo origina y OutboxRelay lo entrega después a los listeners.
+--
+-- Los eventos entregados conservan processed_at hasta que la purga los elimina; los
+-- que agotan sus intentos quedan con processed_at nulo y last_error para revisarlos.
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY ${idAllocationSize};
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    available_at TIMESTAMP(6) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    processed_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+-- Pendientes en orden de ID (processed_at IS NULL) y purga de entregados por fecha
+CREATE INDEX idx_outbox_events_processed ON outbox_events (processed_at, id);
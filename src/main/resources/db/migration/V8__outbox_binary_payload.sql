@@ -0,0 +1,9 @@
+-- Los eventos del outbox pasan de JSON al formato binario de DomainEventCodec, que
+-- solo lleva IDs, estados y fechas.
+--
+-- Los eventos JSON pendientes no se pueden leer con el nuevo formato: conviene vaciar
+-- el outbox antes de desplegar. Los que queden se reintentan hasta agotar sus intentos
+-- y permanecen con last_error para revisarlos.
+
+ALTER TABLE outbox_events
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
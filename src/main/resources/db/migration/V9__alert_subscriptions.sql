@@ -0,0 +1,23 @@
+-- Reglas de enrutamiento de avisos: cada fila suscribe a un usuario, con el rol que
+-- cubre, a las alertas de severidad mínima dada, opcionalmente limitadas a una
+-- especialidad y a una franja horaria de turno. AlertRoutingService las mantiene en
+-- memoria; la tabla solo se lee completa al recargar el índice.
+
+CREATE SEQUENCE IF NOT EXISTS alert_subscriptions_seq INCREMENT BY ${idAllocationSize};
+
+CREATE TABLE alert_subscriptions (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    role VARCHAR(255) NOT NULL CHECK (role IN ('DOCTOR', 'NURSE', 'COORDINATOR')),
+    specialty VARCHAR(100),
+    min_severity INTEGER NOT NULL,
+    shift_start TIME(6),
+    shift_end TIME(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE alert_subscriptions ADD CONSTRAINT fk_alert_subscriptions_user FOREIGN KEY (user_id) REFERENCES users;
+
+-- Suscripciones de un usuario
+CREATE INDEX idx_alert_subscriptions_user_id ON alert_subscriptions (user_id, id);
@@ -0,0 +1,55 @@
+package com.vitalapp.vital_app_backend.benchmark;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.h2.tools.Server;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Base de datos de los benchmarks de persistencia: H2 en modo PostgreSQL servida por
+ * TCP, para que cada sentencia y cada consulta de metadatos sea un viaje de red real.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final Server server;
+    private final DriverManagerDataSource dataSource;
+
+    private BenchmarkDatabase(Server server) {
+        this.server = server;
+        this.dataSource = new DriverManagerDataSource(
+                "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:vitalapp;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+
+    static BenchmarkDatabase start() throws SQLException {
+        return new BenchmarkDatabase(Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start());
+    }
+
+    /**
+     * Arranca la unidad de persistencia de las entidades de la aplicación con la misma
+     * estrategia de nombres que Spring Boot, más las propiedades dadas.
+     */
+    LocalContainerEntityManagerFactoryBean entityManagerFactory(Map<String, Object> properties) {
+        Map<String, Object> jpaProperties = new HashMap<>(properties);
+        jpaProperties.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy());
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.vitalapp.vital_app_backend.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
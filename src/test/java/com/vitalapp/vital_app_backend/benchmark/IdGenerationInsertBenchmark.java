@@ -0,0 +1,149 @@
+package com.vitalapp.vital_app_backend.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.NotificationPriority;
+import com.vitalapp.vital_app_backend.model.NotificationType;
+import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Rendimiento de inserción con IDs de secuencia con optimizador pooled.
+ *
+ * Usa {@link BenchmarkDatabase}, donde cada sentencia es un viaje de red real.
+ * Con batchSize=1 cada fila cuesta un viaje, igual que con IDENTITY, que obliga a
+ * insertar fila a fila para leer el ID generado; con batchSize=20 las filas viajan
+ * en lotes y la secuencia solo se consulta cada allocationSize IDs.
+ *
+ * Ejecución: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=IdGenerationInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class IdGenerationInsertBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"1", "20"})
+    private int batchSize;
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    private BenchmarkDatabase database;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> activeUserIds;
+    private long documentSequence;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        properties.put(AvailableSettings.ORDER_INSERTS, true);
+        properties.put("vitalapp.id.allocation-size", allocationSize);
+        factoryBean = database.entityManagerFactory(properties);
+        entityManagerFactory = factoryBean.getObject();
+
+        activeUserIds = new ArrayList<>();
+        inTransaction(entityManager -> {
+            for (int i = 0; i < ROWS; i++) {
+                User user = User.builder()
+                        .username("usuario" + i)
+                        .email("usuario" + i + "@vitalapp.com")
+                        .password("secret")
+                        .build();
+                entityManager.persist(user);
+                activeUserIds.add(user.getId());
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        factoryBean.destroy();
+        database.close();
+    }
+
+    /**
+     * Importación masiva de pacientes en una sola transacción.
+     */
+    @Benchmark
+    public void bulkPatientImport() {
+        inTransaction(entityManager -> {
+            for (int i = 0; i < ROWS; i++) {
+                String document = "DOC-" + documentSequence++;
+                entityManager.persist(Patient.builder()
+                        .fullName("Paciente " + document)
+                        .documentNumber(document)
+                        .birthDate(LocalDate.of(1980, 1, 1))
+                        .phone("3000000000")
+                        .build());
+            }
+        });
+    }
+
+    /**
+     * Una notificación por usuario activo, insertadas desde la aplicación.
+     */
+    @Benchmark
+    public void notificationFanOut() {
+        LocalDateTime now = LocalDateTime.now();
+        inTransaction(entityManager -> {
+            for (Long userId : activeUserIds) {
+                entityManager.persist(Notification.builder()
+                        .recipient(entityManager.getReference(User.class, userId))
+                        .title("Alerta")
+                        .message("Triaje urgente")
+                        .type(NotificationType.ALERT)
+                        .priority(NotificationPriority.URGENT)
+                        .relatedEntityType("TRIAGE")
+                        .relatedEntityId(1L)
+                        .createdAt(now)
+                        .build());
+            }
+        });
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
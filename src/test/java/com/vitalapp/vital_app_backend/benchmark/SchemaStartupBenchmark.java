@@ -0,0 +1,61 @@
+package com.vitalapp.vital_app_backend.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+/**
+ * Coste de arranque de la unidad de persistencia según spring.jpa.hibernate.ddl-auto,
+ * sobre un esquema ya creado (como el que dejan las migraciones).
+ *
+ * update introspecciona todas las tablas, columnas, índices y secuencias para calcular
+ * diferencias; validate las lee para compararlas con las entidades; none no consulta
+ * el esquema.
+ *
+ * Ejecución: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=SchemaStartupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SchemaStartupBenchmark {
+
+    @Param({"update", "validate", "none"})
+    private String ddlAuto;
+
+    private BenchmarkDatabase database;
+
+    @Setup
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start();
+        database.entityManagerFactory(Map.of(AvailableSettings.HBM2DDL_AUTO, "create")).destroy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public void bootstrap() {
+        LocalContainerEntityManagerFactoryBean factoryBean =
+                database.entityManagerFactory(Map.of(AvailableSettings.HBM2DDL_AUTO, ddlAuto));
+        factoryBean.destroy();
+    }
+}
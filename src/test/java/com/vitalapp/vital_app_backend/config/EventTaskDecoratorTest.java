@@ -0,0 +1,110 @@
+package com.vitalapp.vital_app_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Event Task Decorator Tests")
+class EventTaskDecoratorTest {
+
+    private ExecutorService pool;
+    private Timer waitTimer;
+    private Timer executionTimer;
+    private EventTaskDecorator decorator;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        waitTimer = registry.timer("events.executor.wait");
+        executionTimer = registry.timer("events.executor.execution");
+        decorator = new EventTaskDecorator(waitTimer, executionTimer);
+        pool = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Debe propagar el MDC y el usuario del hilo que publica")
+    void decorate_shouldPropagatePublisherContext() throws Exception {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("doctor", null);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MDC.put("requestId", "req-1");
+        AtomicReference<String> requestId = new AtomicReference<>();
+        AtomicReference<Authentication> user = new AtomicReference<>();
+
+        // When
+        Runnable task = decorator.decorate(() -> {
+            requestId.set(MDC.get("requestId"));
+            user.set(SecurityContextHolder.getContext().getAuthentication());
+        });
+        CompletableFuture.runAsync(task, pool).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(requestId.get()).isEqualTo("req-1");
+        assertThat(user.get()).isSameAs(authentication);
+        assertThat(waitTimer.count()).isEqualTo(1);
+        assertThat(executionTimer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe dejar el hilo del pool sin el contexto de la tarea")
+    void decorate_shouldRestorePoolThreadContext() throws Exception {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("doctor", null));
+        MDC.put("requestId", "req-1");
+        CompletableFuture.runAsync(decorator.decorate(() -> { }), pool).get(5, TimeUnit.SECONDS);
+        AtomicReference<String> requestId = new AtomicReference<>("sin leer");
+        AtomicReference<Authentication> user = new AtomicReference<>();
+
+        // When
+        CompletableFuture.runAsync(() -> {
+            requestId.set(MDC.get("requestId"));
+            user.set(SecurityContextHolder.getContext().getAuthentication());
+        }, pool).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(requestId.get()).isNull();
+        assertThat(user.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe medir la ejecución aunque la tarea falle")
+    void decorate_shouldRecordFailedTasks() {
+        // Given
+        Runnable task = decorator.decorate(() -> {
+            throw new IllegalStateException("Fallo del listener");
+        });
+
+        // When
+        try {
+            task.run();
+        } catch (IllegalStateException expected) {
+            // El pool registra el error; aquí solo importa la métrica
+        }
+
+        // Then
+        assertThat(executionTimer.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,117 @@
+package com.vitalapp.vital_app_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.vitalapp.vital_app_backend.model.User;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+@DisplayName("Jwt Service Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(3600000L);
+
+        user = User.builder()
+                .id(7L)
+                .username("enfermera")
+                .email("enfermera@vitalapp.com")
+                .password("hash")
+                .active(true)
+                .build();
+    }
+
+    private JwtService newJwtService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 7200000L);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", 100L);
+        service.init();
+        return service;
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar los claims verificados de un mismo token")
+    void extractAllClaims_shouldReturnCachedClaims() {
+        // Given
+        String token = jwtService.generateToken(user);
+
+        // When
+        Claims first = jwtService.extractAllClaims(token);
+        Claims second = jwtService.extractAllClaims(token);
+
+        // Then
+        assertSame(first, second);
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenExpired(first));
+    }
+
+    @Test
+    @DisplayName("Debe embeber ID, estado activo y roles del usuario")
+    void generateToken_shouldEmbedPrincipalClaims() {
+        // When
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo("enfermera");
+        assertThat(claims.get(JwtService.CLAIM_USER_ID, Long.class)).isEqualTo(7L);
+        assertThat(claims.get(JwtService.CLAIM_ACTIVE, Boolean.class)).isTrue();
+        assertThat(claims.get(JwtService.CLAIM_ROLES, List.class)).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Debe distinguir los refresh tokens de los tokens de acceso")
+    void isRefreshToken_shouldDistinguishTokenTypes() {
+        // When
+        Claims access = jwtService.extractAllClaims(jwtService.generateToken(user));
+        Claims refresh = jwtService.extractAllClaims(jwtService.generateRefreshToken(user, "jti-1"));
+
+        // Then
+        assertThat(access.get(JwtService.CLAIM_TOKEN_TYPE)).isEqualTo(JwtService.TOKEN_TYPE_ACCESS);
+        assertThat(refresh.get(JwtService.CLAIM_TOKEN_TYPE)).isEqualTo(JwtService.TOKEN_TYPE_REFRESH);
+        assertFalse(JwtService.isRefreshToken(access));
+        assertTrue(JwtService.isRefreshToken(refresh));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token con firma alterada")
+    void extractAllClaims_shouldRejectTamperedToken() {
+        // Given
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(tampered));
+    }
+
+    @Test
+    @DisplayName("No debe cachear tokens expirados")
+    void extractAllClaims_shouldRejectExpiredToken() {
+        // Given
+        String expiredToken = newJwtService(-1000L).generateToken(user);
+
+        // When & Then
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(expiredToken));
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(expiredToken));
+    }
+}
@@ -0,0 +1,63 @@
+package com.vitalapp.vital_app_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("Password Encoder Tests")
+class PasswordEncoderTest {
+
+    private static final String PASSWORD = "password123";
+
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationConfig config = new ApplicationConfig(null, null);
+        ReflectionTestUtils.setField(config, "bcryptStrength", 6);
+        ReflectionTestUtils.setField(config, "calibrate", false);
+        passwordEncoder = config.passwordEncoder();
+    }
+
+    @Test
+    @DisplayName("Debe verificar y marcar para actualización los hashes sin prefijo")
+    void legacyHash_shouldMatchAndRequireUpgrade() {
+        // Given
+        String legacyHash = new BCryptPasswordEncoder(6).encode(PASSWORD);
+
+        // When & Then
+        assertThat(passwordEncoder.matches(PASSWORD, legacyHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe marcar para actualización los hashes con coste inferior")
+    void weakerHash_shouldRequireUpgrade() {
+        // Given
+        String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        String currentHash = passwordEncoder.encode(PASSWORD);
+
+        // When & Then
+        assertThat(currentHash).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches(PASSWORD, weakHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(currentHash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("La calibración nunca debe bajar del coste mínimo")
+    void calibrate_shouldRespectMinimumStrength() {
+        // When
+        int strength = BCryptWorkFactorCalibrator.calibrate(Duration.ofNanos(1), 5, 8);
+
+        // Then
+        assertThat(strength).isEqualTo(5);
+    }
+}
@@ -0,0 +1,122 @@
+package com.vitalapp.vital_app_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("User Details Cache Tests")
+class UserDetailsCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        // Reloj manual y ejecutor manual: las recargas quedan en cola hasta runPendingTasks()
+        userDetailsCache = new UserDetailsCache(userRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(5), nanos::get, pendingTasks::add);
+    }
+
+    @Test
+    @DisplayName("Debe resolver desde la caché las consultas repetidas de un usuario")
+    void get_shouldHitCacheOnRepeatedLookups() {
+        // Given
+        when(userRepository.findByUsername("medico")).thenReturn(Optional.of(user("medico", true)));
+
+        // When
+        User first = userDetailsCache.get("medico");
+        User second = userDetailsCache.get("medico");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByUsername("medico");
+    }
+
+    @Test
+    @DisplayName("No debe cachear usuarios inexistentes")
+    void get_shouldNotCacheMissingUsers() {
+        // Given
+        when(userRepository.findByUsername("nadie")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("nadie"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("nadie"));
+        verify(userRepository, times(2)).findByUsername("nadie");
+    }
+
+    @Test
+    @DisplayName("Debe recargar el usuario tras invalidarlo")
+    void invalidate_shouldReloadOnNextLookup() {
+        // Given
+        when(userRepository.findByUsername("medico"))
+                .thenReturn(Optional.of(user("medico", true)), Optional.of(user("medico", false)));
+        userDetailsCache.get("medico");
+
+        // When
+        userDetailsCache.invalidate("medico");
+        User reloaded = userDetailsCache.get("medico");
+
+        // Then
+        assertThat(reloaded.isActive()).isFalse();
+        verify(userRepository, times(2)).findByUsername("medico");
+    }
+
+    @Test
+    @DisplayName("Debe recargar en segundo plano las entradas consultadas tras el intervalo de refresco")
+    void get_shouldRefreshAfterWrite() {
+        // Given
+        when(userRepository.findByUsername("medico"))
+                .thenReturn(Optional.of(user("medico", true)), Optional.of(user("medico", false)));
+        userDetailsCache.get("medico");
+
+        // When
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        User stale = userDetailsCache.get("medico");
+        runPendingTasks();
+        User refreshed = userDetailsCache.get("medico");
+
+        // Then: la consulta que dispara la recarga aún recibe el valor anterior
+        assertThat(stale.isActive()).isTrue();
+        assertThat(refreshed.isActive()).isFalse();
+        verify(userRepository, times(2)).findByUsername("medico");
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static User user(String username, boolean active) {
+        return User.builder()
+                .id(3L)
+                .username(username)
+                .email(username + "@vitalapp.com")
+                .password("hash")
+                .active(active)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.vitalapp.vital_app_backend.controller;
+
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.notification.NotificationResponseDTO;
+import com.vitalapp.vital_app_backend.service.NotificationService;
+import com.vitalapp.vital_app_backend.util.NdjsonWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Notification Controller Integration Tests")
+class NotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/notifications?pagination=cursor debe pasar el cursor y devolver el siguiente")
+    void getAllNotificationsByCursor_shouldReturnNextCursor() throws Exception {
+        // Given
+        CursorPageResponseDTO<NotificationResponseDTO> page = CursorPageResponseDTO.<NotificationResponseDTO>builder()
+                .content(List.of(notification(3L), notification(4L)))
+                .size(2)
+                .hasNext(true)
+                .nextCursor("siguiente")
+                .build();
+        when(notificationService.getNotificationsByCursor("anterior", 2)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/notifications")
+                        .param("pagination", "cursor")
+                        .param("cursor", "anterior")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(3, 4)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("siguiente")));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/notifications/stream debe devolver un documento JSON por línea")
+    @SuppressWarnings("unchecked")
+    void streamNotifications_shouldWriteNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<NotificationResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(notification(1L));
+            sink.accept(notification(2L));
+            return 2L;
+        }).when(notificationService).streamAllNotifications(any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/notifications/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonWriter.MEDIA_TYPE))
+                .andExpect(content().string(matchesRegex(
+                        "\\{[^\\n]*\"id\":1[,}][^\\n]*\\n\\{[^\\n]*\"id\":2[,}][^\\n]*\\n")));
+    }
+
+    private static NotificationResponseDTO notification(Long id) {
+        NotificationResponseDTO notification = new NotificationResponseDTO();
+        notification.setId(id);
+        notification.setTitle("Aviso " + id);
+        return notification;
+    }
+}
@@ -137,7 +137,7 @@ class PatientControllerTest {
     void searchPatients_shouldReturnSearchResults() throws Exception {
         // Given
         List<PatientResponseDTO> patients = Arrays.asList(responseDTO);
-        when(patientService.searchPatientsByName("Juan")).thenReturn(patients);
+        when(patientService.searchPatientsByName("Juan", 20)).thenReturn(patients);
 
         // When & Then
         mockMvc.perform(get("/api/patients/search").param("name", "Juan"))
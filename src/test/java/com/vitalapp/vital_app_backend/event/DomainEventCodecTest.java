@@ -0,0 +1,67 @@
+package com.vitalapp.vital_app_backend.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.model.OutboxEvent;
+
+@DisplayName("Domain Event Codec Tests")
+class DomainEventCodecTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+
+    private final DomainEventCodec codec = new DomainEventCodec();
+
+    @Test
+    @DisplayName("Debe reconstruir cada tipo de evento tal como se serializó")
+    void deserialize_shouldRoundTripEveryEventType() {
+        // Given
+        TriageCreatedEvent triage = new TriageCreatedEvent(7L, 3L, 5, NOW);
+        AppointmentCreatedEvent created = new AppointmentCreatedEvent(9L, 3L, NOW.plusDays(1), NOW);
+        AppointmentStatusChangedEvent changed = new AppointmentStatusChangedEvent(
+                9L, null, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED, NOW.plusDays(1), NOW);
+
+        // When & Then
+        assertEquals(triage, codec.deserialize(codec.serialize(triage)));
+        assertEquals(created, codec.deserialize(codec.serialize(created)));
+        assertEquals(changed, codec.deserialize(codec.serialize(changed)));
+        assertThat(codec.serialize(changed)).hasSizeLessThan(80);
+    }
+
+    @Test
+    @DisplayName("Debe crear la fila del outbox con el tipo y el agregado del evento")
+    void encode_shouldDescribeAggregate() {
+        // When
+        OutboxEvent row = codec.encode(new AppointmentStatusChangedEvent(
+                9L, 3L, AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED, NOW, NOW));
+
+        // Then
+        assertEquals(DomainEventCodec.APPOINTMENT_STATUS_CHANGED, row.getEventType());
+        assertEquals(DomainEventCodec.APPOINTMENT_AGGREGATE, row.getAggregateType());
+        assertEquals(9L, row.getAggregateId());
+        assertThat(codec.decode(row)).isInstanceOf(AppointmentStatusChangedEvent.class);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar contenidos truncados o de versión desconocida")
+    void deserialize_shouldRejectInvalidPayloads() {
+        // Given
+        byte[] payload = codec.serialize(new TriageCreatedEvent(7L, 3L, 4, NOW));
+        byte[] unknownVersion = payload.clone();
+        unknownVersion[0] = 99;
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.deserialize(Arrays.copyOf(payload, payload.length - 3)));
+        assertThrows(IllegalArgumentException.class, () -> codec.deserialize(unknownVersion));
+        assertThrows(IllegalArgumentException.class, () -> codec.serialize("sin formato"));
+    }
+}
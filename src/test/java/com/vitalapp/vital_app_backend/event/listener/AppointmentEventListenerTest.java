@@ -0,0 +1,77 @@
+package com.vitalapp.vital_app_backend.event.listener;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
+import com.vitalapp.vital_app_backend.event.AppointmentStatusChangedEvent;
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.service.NotificationService;
+import com.vitalapp.vital_app_backend.service.PatientLookupCache;
+
+@DisplayName("Appointment Event Listener Tests")
+class AppointmentEventListenerTest {
+
+    private PatientLookupCache patientLookupCache;
+    private AppointmentEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        patientLookupCache = mock(PatientLookupCache.class);
+        listener = new AppointmentEventListener(mock(NotificationService.class), patientLookupCache);
+        when(patientLookupCache.findById(1L)).thenReturn(Optional.of(PatientResponseDTO.builder().id(1L).build()));
+    }
+
+    @Test
+    @DisplayName("Debe procesar el cambio de estado al recibirlo")
+    void handleAppointmentStatusChanged_shouldProcessChange() {
+        // When
+        listener.handleAppointmentStatusChanged(change(10L, 1L, AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED));
+
+        // Then
+        verify(patientLookupCache).findById(1L);
+    }
+
+    @Test
+    @DisplayName("No debe procesar una cita que vuelve a su estado inicial")
+    void handleAppointmentStatusChanged_shouldSkipRevertedTransitions() {
+        // Given
+        AppointmentStatusChangedEvent net = change(10L, 1L, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED)
+                .coalesce(change(10L, 1L, AppointmentStatus.CANCELLED, AppointmentStatus.SCHEDULED));
+
+        // When
+        listener.handleAppointmentStatusChanged(net);
+
+        // Then
+        verify(patientLookupCache, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Debe combinar el estado inicial del primer cambio con los datos del último")
+    void coalesce_shouldKeepFirstOldStatusAndLastNewStatus() {
+        // When
+        AppointmentStatusChangedEvent net = change(10L, 1L, AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED)
+                .coalesce(change(10L, 1L, AppointmentStatus.CONFIRMED, AppointmentStatus.COMPLETED));
+
+        // Then
+        assertEquals(AppointmentStatus.SCHEDULED, net.oldStatus());
+        assertEquals(AppointmentStatus.COMPLETED, net.newStatus());
+    }
+
+    private static AppointmentStatusChangedEvent change(Long appointmentId, Long patientId,
+            AppointmentStatus oldStatus, AppointmentStatus newStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AppointmentStatusChangedEvent(appointmentId, patientId, oldStatus, newStatus, now.plusDays(1), now);
+    }
+}
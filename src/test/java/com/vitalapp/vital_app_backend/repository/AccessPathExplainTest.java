@@ -0,0 +1,393 @@
+package com.vitalapp.vital_app_backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vitalapp.vital_app_backend.model.AlertSubscription;
+import com.vitalapp.vital_app_backend.model.Appointment;
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.NotificationPriority;
+import com.vitalapp.vital_app_backend.model.NotificationType;
+import com.vitalapp.vital_app_backend.model.OutboxEvent;
+import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.model.RefreshToken;
+import com.vitalapp.vital_app_backend.model.StaffRole;
+import com.vitalapp.vital_app_backend.model.Triage;
+import com.vitalapp.vital_app_backend.model.TriageStatus;
+import com.vitalapp.vital_app_backend.model.User;
+
+/**
+ * Ejecuta cada consulta filtrada de los repositorios sobre un conjunto de datos
+ * sembrado y comprueba con EXPLAIN que ninguna recorre una tabla completa.
+ *
+ * Las sentencias se capturan tal como las genera Hibernate. Quedan fuera los accesos
+ * que recorren la tabla por diseño: listados completos y paginados por ID,
+ * pacientes activos (casi todos lo son), la carga completa de las reglas de avisos
+ * y la búsqueda por subcadena, que en PostgreSQL usa el índice de trigramas.
+ *
+ * El esquema de H2 lo genera Hibernate a partir de las anotaciones {@code @Table} de
+ * las entidades, no de las migraciones de Flyway: los planes verifican esas
+ * declaraciones y no los índices que crean V4 y siguientes en PostgreSQL, ni sus
+ * variantes parciales, de trigramas o de exclusión. Las migraciones usan sintaxis de
+ * PostgreSQL (CONCURRENTLY, USING gin, índices parciales) que H2 no admite, así que no
+ * se pueden aplicar aquí. Para que no diverjan, se comprueba además que cada índice
+ * declarado en una entidad lo cree alguna migración sobre la misma tabla y las mismas
+ * columnas, en el mismo orden; la condición de los índices parciales no se compara.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.vitalapp.vital_app_backend.repository.AccessPathExplainTest$SqlRecorder")
+@ActiveProfiles("test")
+@DisplayName("Access Path Explain Tests")
+class AccessPathExplainTest {
+
+    // Un recorrido en el plan de H2 es un tableScan o un índice recorrido sin condición
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* ([A-Z_\"]+\\.)+(tableScan|[A-Z0-9_\"]+) \\*/");
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:CONCURRENTLY\\s+)?(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)"
+                    + "\\s+ON\\s+(\\w+)\\s*(?:USING\\s+\\w+\\s*)?\\(([^)]*)\\)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern MIGRATION_VERSION = Pattern.compile("^V(\\d+)__");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TriageRepository triageRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AlertSubscriptionRepository alertSubscriptionRepository;
+
+    private final Map<String, String> fullScans = new LinkedHashMap<>();
+    private Patient patient;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(entityManager.persist(User.builder()
+                    .username("usuario" + i)
+                    .email("usuario" + i + "@vitalapp.com")
+                    .password("secret")
+                    .build()));
+        }
+        for (int i = 0; i < 100; i++) {
+            Patient seeded = entityManager.persist(Patient.builder()
+                    .fullName("Paciente " + i)
+                    .documentNumber("DOC-" + i)
+                    .birthDate(LocalDate.of(1980, 1, 1))
+                    .active(true)
+                    .build());
+            for (int j = 0; j < 4; j++) {
+                entityManager.persist(Triage.builder()
+                        .patient(seeded)
+                        .createdBy(users.get(i % users.size()))
+                        .symptoms("Dolor")
+                        .severityLevel(1 + (i + j) % 5)
+                        .recommendedAction("Reposo")
+                        .status(TriageStatus.values()[j])
+                        .build());
+                entityManager.persist(Appointment.builder()
+                        .patient(seeded)
+                        .doctor("Dr. House")
+                        .specialty("Medicina general")
+                        .scheduledAt(now.plusDays(i - 50L).plusHours(j))
+                        .status(AppointmentStatus.values()[(i + j) % AppointmentStatus.values().length])
+                        .reason("Control")
+                        .build());
+            }
+            patient = seeded;
+        }
+        for (User recipient : users) {
+            for (int i = 0; i < 25; i++) {
+                entityManager.persist(Notification.builder()
+                        .recipient(recipient)
+                        .title("Aviso")
+                        .message("Mensaje")
+                        .type(NotificationType.values()[i % NotificationType.values().length])
+                        .priority(NotificationPriority.LOW)
+                        .read(i % 3 == 0)
+                        .relatedEntityType("TRIAGE")
+                        .relatedEntityId((long) i)
+                        .expiresAt(i % 5 == 0 ? now.minusDays(i) : null)
+                        .build());
+                entityManager.persist(RefreshToken.builder()
+                        .jti(recipient.getUsername() + "-" + i)
+                        .familyId(recipient.getUsername() + "-" + i % 5)
+                        .userId(recipient.getId())
+                        .expiresAt(now.plusDays(i - 10L))
+                        .build());
+            }
+            for (StaffRole role : StaffRole.values()) {
+                entityManager.persist(AlertSubscription.builder()
+                        .user(recipient)
+                        .role(role)
+                        .minSeverity(4)
+                        .build());
+            }
+            user = recipient;
+        }
+        for (int i = 0; i < 200; i++) {
+            entityManager.persist(OutboxEvent.builder()
+                    .eventType("TRIAGE_CREATED")
+                    .aggregateType("TRIAGE")
+                    .aggregateId((long) i)
+                    .payload(new byte[] {1, 1})
+                    .processedAt(i % 10 == 0 ? null : now.minusDays(i % 14))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Las consultas de notificaciones deben usar índices")
+    void notificationAccessPaths_shouldUseIndexes() {
+        Long recipientId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        explain("findById", () -> notificationRepository.findById(1L));
+        explain("findByRecipientId", () -> notificationRepository.findByRecipientId(recipientId));
+        explain("findByRecipientIdAndReadFalse", () -> notificationRepository.findByRecipientIdAndReadFalse(recipientId));
+        explain("findByRecipientIdOrderByCreatedAtDesc",
+                () -> notificationRepository.findByRecipientIdOrderByCreatedAtDesc(recipientId));
+        explain("findByRecipientIdAndType",
+                () -> notificationRepository.findByRecipientIdAndType(recipientId, NotificationType.ALERT));
+        explain("countByRecipientIdAndReadFalse",
+                () -> notificationRepository.countByRecipientIdAndReadFalse(recipientId));
+        explain("findByRecipientIdAndCreatedAtAfter",
+                () -> notificationRepository.findByRecipientIdAndCreatedAtAfter(recipientId, now.minusDays(1), Limit.of(10)));
+        explain("findByRecipientIdInAndCreatedAtAfter",
+                () -> notificationRepository.findByRecipientIdInAndCreatedAtAfter(
+                        List.of(recipientId), now.minusDays(1), Limit.of(10)));
+        explain("findLastReadAfter",
+                () -> notificationRepository.findLastReadAfter(List.of(recipientId), now.minusDays(1)));
+        explain("findByRelatedEntityTypeAndRelatedEntityIdAndRecipientIdIn",
+                () -> notificationRepository.findByRelatedEntityTypeAndRelatedEntityIdAndRecipientIdIn(
+                        "TRIAGE", 3L, List.of(recipientId)));
+        explain("findCreatedForRelatedEntities",
+                () -> notificationRepository.findCreatedForRelatedEntities(
+                        "APPOINTMENT", List.of(3L, 4L), now, List.of(recipientId)));
+        explain("findExpiredIds", () -> notificationRepository.findExpiredIds(now, Limit.of(10)));
+        explain("deleteByIdIn", () -> notificationRepository.deleteByIdIn(List.of(1L, 2L)));
+        explain("deleteExpired", () -> notificationRepository.deleteExpired(now));
+        explain("markAllAsReadByRecipientId",
+                () -> notificationRepository.markAllAsReadByRecipientId(recipientId, now));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Las consultas de triajes deben usar índices")
+    void triageAccessPaths_shouldUseIndexes() {
+        Long patientId = patient.getId();
+
+        explain("findById", () -> triageRepository.findById(1L));
+        explain("findByPatientId", () -> triageRepository.findByPatientId(patientId));
+        explain("findByPatientIdOrderByCreatedAtDesc",
+                () -> triageRepository.findByPatientIdOrderByCreatedAtDesc(patientId));
+        explain("findByStatus", () -> triageRepository.findByStatus(TriageStatus.PENDING));
+        explain("findByStatusIn", () -> triageRepository.findByStatusIn(
+                EnumSet.of(TriageStatus.PENDING, TriageStatus.IN_PROGRESS)));
+        explain("findBySeverityLevelGreaterThanEqual", () -> triageRepository.findBySeverityLevelGreaterThanEqual(5));
+        explain("findByIdGreaterThanOrderByIdAsc", () -> triageRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(10)));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Las consultas de citas deben usar índices")
+    void appointmentAccessPaths_shouldUseIndexes() {
+        Long patientId = patient.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        explain("findById", () -> appointmentRepository.findById(1L));
+        explain("findByPatientId", () -> appointmentRepository.findByPatientId(patientId));
+        explain("findByStatus", () -> appointmentRepository.findByStatus(AppointmentStatus.CONFIRMED));
+        explain("findByScheduledAtBetween",
+                () -> appointmentRepository.findByScheduledAtBetween(now, now.plusDays(7)));
+        explain("findByPatientIdAndStatus",
+                () -> appointmentRepository.findByPatientIdAndStatus(patientId, AppointmentStatus.SCHEDULED));
+        explain("findUpcoming", () -> appointmentRepository.findUpcoming(now.plusDays(45)));
+        explain("findBlockingFrom", () -> appointmentRepository.findBlockingFrom(now.plusDays(45)));
+        explain("findReminderCandidates",
+                () -> appointmentRepository.findReminderCandidates(now.plusDays(45), now.plusDays(46)));
+        explain("claimDueReminders", () -> appointmentRepository.claimDueReminders(
+                List.of(1L, 2L, 3L), now, now.plusDays(1)));
+        explain("markRemindersSent", () -> appointmentRepository.markRemindersSent(List.of(1L, 2L, 3L), now));
+        explain("findByIdGreaterThanOrderByIdAsc",
+                () -> appointmentRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(10)));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Las consultas de pacientes, usuarios, reglas de avisos y refresh tokens deben usar índices")
+    void lookupAccessPaths_shouldUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+
+        explain("findByDocumentNumber", () -> patientRepository.findByDocumentNumber("DOC-7"));
+        explain("findByDocumentNumberAndActiveTrue", () -> patientRepository.findByDocumentNumberAndActiveTrue("DOC-7"));
+        explain("existsByDocumentNumber", () -> patientRepository.existsByDocumentNumber("DOC-7"));
+        explain("findByUsername", () -> userRepository.findByUsername("usuario3"));
+        explain("findByEmail", () -> userRepository.findByEmail("usuario3@vitalapp.com"));
+        explain("existsByUsername", () -> userRepository.existsByUsername("usuario3"));
+        explain("existsByEmail", () -> userRepository.existsByEmail("usuario3@vitalapp.com"));
+        explain("findActiveById", () -> userRepository.findActiveById(user.getId()));
+        explain("findAlertSubscriptionsByUserId", () -> alertSubscriptionRepository.findByUserId(user.getId()));
+        explain("findByExpiresAtAfter", () -> refreshTokenRepository.findByExpiresAtAfter(now.plusDays(12)));
+        explain("claimUnused", () -> refreshTokenRepository.claimUnused("usuario1-1"));
+        explain("revokeByUserId", () -> refreshTokenRepository.revokeByUserId(user.getId()));
+        explain("revokeFamilies", () -> refreshTokenRepository.revokeFamilies(List.of("usuario1-1")));
+        explain("deleteExpired", () -> refreshTokenRepository.deleteExpired(now.minusDays(8)));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Las consultas del outbox deben usar índices")
+    void outboxAccessPaths_shouldUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+
+        explain("claimPending", () -> outboxEventRepository.claimPending(now, 10, 50));
+        explain("claimFollowing", () -> outboxEventRepository.claimFollowing(
+                "TRIAGE", List.of(10L, 20L), List.of(1L), 10, 50));
+        explain("markProcessed", () -> outboxEventRepository.markProcessed(List.of(1L, 2L, 3L), now));
+        explain("markFailed", () -> outboxEventRepository.markFailed(List.of(1L, 2L, 3L), now, "Error"));
+        explain("findProcessedIds", () -> outboxEventRepository.findProcessedIds(now.minusDays(7), Limit.of(10)));
+        explain("deleteByIdIn", () -> outboxEventRepository.deleteByIdIn(List.of(1L, 2L)));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Cada índice declarado en una entidad debe crearlo una migración con las mismas columnas")
+    void indexDeclarations_shouldMatchMigrations() throws Exception {
+        // Índice -> "tabla (columnas)" según la última migración que lo crea
+        Map<String, String> migrated = new LinkedHashMap<>();
+        List<Resource> migrations = new ArrayList<>(List.of(new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/*.sql")));
+        migrations.sort(Comparator.comparingInt(AccessPathExplainTest::migrationVersion));
+        for (Resource migration : migrations) {
+            Matcher create = CREATE_INDEX.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+            while (create.find()) {
+                migrated.put(create.group(1).toLowerCase(Locale.ROOT),
+                        indexDefinition(create.group(2), create.group(3)));
+            }
+        }
+        List<String> mismatched = new ArrayList<>();
+        for (EntityType<?> entity : entityManager.getEntityManager().getMetamodel().getEntities()) {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            for (Index index : table != null ? table.indexes() : new Index[0]) {
+                String declared = indexDefinition(table.name(), index.columnList());
+                String created = migrated.get(index.name().toLowerCase(Locale.ROOT));
+                if (!declared.equals(created)) {
+                    mismatched.add(entity.getName() + "." + index.name() + ": " + declared + " / " + created);
+                }
+            }
+        }
+
+        assertThat(migrated).isNotEmpty();
+        assertThat(mismatched).isEmpty();
+    }
+
+    private static int migrationVersion(Resource migration) {
+        Matcher version = MIGRATION_VERSION.matcher(String.valueOf(migration.getFilename()));
+        return version.find() ? Integer.parseInt(version.group(1)) : Integer.MAX_VALUE;
+    }
+
+    // Tabla y columnas en forma comparable: minúsculas, espacios simples y sin ASC explícito
+    private static String indexDefinition(String table, String columns) {
+        List<String> normalized = new ArrayList<>();
+        for (String column : columns.split(",")) {
+            normalized.add(column.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT).replaceAll(" asc$", ""));
+        }
+        return table.toLowerCase(Locale.ROOT) + " (" + String.join(", ", normalized) + ")";
+    }
+
+    /**
+     * Ejecuta el acceso, pide el plan de cada sentencia que generó y registra las que
+     * recorren una tabla completa.
+     */
+    private void explain(String accessPath, Runnable access) {
+        SqlRecorder.STATEMENTS.clear();
+        access.run();
+        List<String> statements = List.copyOf(SqlRecorder.STATEMENTS);
+        assertThat(statements).as(accessPath).isNotEmpty();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+            Matcher scan = FULL_SCAN.matcher(plan);
+            if (scan.find()) {
+                fullScans.put(accessPath, scan.group() + "\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * Registra el SQL que Hibernate envía a la base de datos.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
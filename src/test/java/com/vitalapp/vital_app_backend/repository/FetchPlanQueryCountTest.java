@@ -0,0 +1,256 @@
+package com.vitalapp.vital_app_backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vitalapp.vital_app_backend.dto.appointment.AppointmentResponseDTO;
+import com.vitalapp.vital_app_backend.dto.notification.NotificationResponseDTO;
+import com.vitalapp.vital_app_backend.dto.triage.TriageResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.AppointmentMapper;
+import com.vitalapp.vital_app_backend.mapper.NotificationMapper;
+import com.vitalapp.vital_app_backend.mapper.TriageMapper;
+import com.vitalapp.vital_app_backend.model.Appointment;
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.model.Gender;
+import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.NotificationPriority;
+import com.vitalapp.vital_app_backend.model.NotificationType;
+import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.model.Triage;
+import com.vitalapp.vital_app_backend.model.TriageStatus;
+import com.vitalapp.vital_app_backend.model.User;
+
+/**
+ * Verifica que las consultas detrás de cada listado cargan las asociaciones que usa
+ * el mapper en una sola sentencia, sin importar cuántas filas devuelvan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({TriageMapper.class, AppointmentMapper.class, NotificationMapper.class})
+@DisplayName("Fetch Plan Query Count Tests")
+class FetchPlanQueryCountTest {
+
+    private static final int ROWS_PER_PARENT = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TriageRepository triageRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TriageMapper triageMapper;
+
+    @Autowired
+    private AppointmentMapper appointmentMapper;
+
+    @Autowired
+    private NotificationMapper notificationMapper;
+
+    private Statistics statistics;
+    private Patient firstPatient;
+    private User firstUser;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        // Varios pacientes y usuarios distintos: un N+1 haría una consulta por cada uno
+        for (int i = 0; i < 4; i++) {
+            Patient patient = entityManager.persist(Patient.builder()
+                    .fullName("Paciente " + i)
+                    .documentNumber("DOC-" + i)
+                    .birthDate(LocalDate.of(1980 + i, 1, 1))
+                    .gender(Gender.FEMALE)
+                    .active(true)
+                    .build());
+            User user = entityManager.persist(User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@vitalapp.com")
+                    .password("secret")
+                    .build());
+            if (i == 0) {
+                firstPatient = patient;
+                firstUser = user;
+            }
+
+            for (int j = 0; j < ROWS_PER_PARENT; j++) {
+                entityManager.persist(Triage.builder()
+                        .patient(patient)
+                        .createdBy(user)
+                        .symptoms("Dolor de cabeza")
+                        .severityLevel(3)
+                        .recommendedAction("Reposo")
+                        .status(TriageStatus.PENDING)
+                        .build());
+                entityManager.persist(Appointment.builder()
+                        .patient(patient)
+                        .doctor("Dr. House")
+                        .specialty("Medicina general")
+                        .scheduledAt(LocalDateTime.now().plusDays(j + 1))
+                        .status(AppointmentStatus.SCHEDULED)
+                        .reason("Control")
+                        .build());
+                entityManager.persist(Notification.builder()
+                        .recipient(user)
+                        .title("Aviso")
+                        .message("Mensaje")
+                        .type(NotificationType.INFO)
+                        .priority(NotificationPriority.LOW)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("GET /api/triages: una página con paciente y autor en una consulta más el COUNT")
+    void triagePage_shouldUseTwoStatements() {
+        List<TriageResponseDTO> result = countStatements(2, () -> triageRepository
+                .findAll(PageRequest.of(0, 5, Sort.by("id")))
+                .map(triageMapper::toResponseDTO)
+                .getContent());
+
+        assertThat(result).hasSize(5).allSatisfy(dto -> {
+            assertThat(dto.getPatientName()).isNotNull();
+            assertThat(dto.getCreatedByName()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/triages?pagination=cursor: una consulta")
+    void triageCursor_shouldUseOneStatement() {
+        List<TriageResponseDTO> result = countStatements(1, () -> triageRepository
+                .findByIdGreaterThanOrderByIdAsc(0L, Limit.of(20)).stream()
+                .map(triageMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(4 * ROWS_PER_PARENT);
+    }
+
+    @Test
+    @DisplayName("GET /api/triages/status/{status}: una consulta")
+    void triagesByStatus_shouldUseOneStatement() {
+        List<TriageResponseDTO> result = countStatements(1, () -> triageRepository
+                .findByStatus(TriageStatus.PENDING).stream()
+                .map(triageMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(4 * ROWS_PER_PARENT);
+    }
+
+    @Test
+    @DisplayName("GET /api/triages/patient/{id}: una consulta")
+    void triagesByPatient_shouldUseOneStatement() {
+        List<TriageResponseDTO> result = countStatements(1, () -> triageRepository
+                .findByPatientId(firstPatient.getId()).stream()
+                .map(triageMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(ROWS_PER_PARENT);
+    }
+
+    @Test
+    @DisplayName("GET /api/triages/{id}: una consulta")
+    void triageById_shouldUseOneStatement() {
+        Long id = triageRepository.findByPatientId(firstPatient.getId()).get(0).getId();
+        entityManager.clear();
+
+        TriageResponseDTO result = countStatements(1, () -> triageRepository.findById(id)
+                .map(triageMapper::toResponseDTO)
+                .orElseThrow());
+
+        assertEquals("Paciente 0", result.getPatientName());
+        assertEquals("user0", result.getCreatedByName());
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/status/{status}: una consulta")
+    void appointmentsByStatus_shouldUseOneStatement() {
+        List<AppointmentResponseDTO> result = countStatements(1, () -> appointmentRepository
+                .findByStatus(AppointmentStatus.SCHEDULED).stream()
+                .map(appointmentMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(4 * ROWS_PER_PARENT)
+                .allSatisfy(dto -> assertThat(dto.getPatientName()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments/upcoming: una consulta")
+    void upcomingAppointments_shouldUseOneStatement() {
+        List<AppointmentResponseDTO> result = countStatements(1, () -> appointmentRepository
+                .findUpcoming(LocalDateTime.now()).stream()
+                .map(appointmentMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(4 * ROWS_PER_PARENT);
+    }
+
+    @Test
+    @DisplayName("GET /api/appointments: una página con paciente en una consulta más el COUNT")
+    void appointmentPage_shouldUseTwoStatements() {
+        List<AppointmentResponseDTO> result = countStatements(2, () -> appointmentRepository
+                .findAll(PageRequest.of(0, 5, Sort.by("id")))
+                .map(appointmentMapper::toResponseDTO)
+                .getContent());
+
+        assertThat(result).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("GET /api/notifications/recipient/{recipientId}: una consulta")
+    void notificationsByRecipient_shouldUseOneStatement() {
+        List<NotificationResponseDTO> result = countStatements(1, () -> notificationRepository
+                .findByRecipientId(firstUser.getId()).stream()
+                .map(notificationMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(ROWS_PER_PARENT)
+                .allSatisfy(dto -> assertEquals("user0", dto.getRecipientName()));
+    }
+
+    @Test
+    @DisplayName("GET /api/notifications?pagination=cursor: una consulta")
+    void notificationCursor_shouldUseOneStatement() {
+        List<NotificationResponseDTO> result = countStatements(1, () -> notificationRepository
+                .findByIdGreaterThanOrderByIdAsc(0L, Limit.of(20)).stream()
+                .map(notificationMapper::toResponseDTO)
+                .toList());
+
+        assertThat(result).hasSize(4 * ROWS_PER_PARENT);
+    }
+
+    private <T> T countStatements(long expected, Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "Sentencias SQL ejecutadas");
+        return result;
+    }
+}
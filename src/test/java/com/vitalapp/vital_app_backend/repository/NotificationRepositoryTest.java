@@ -0,0 +1,235 @@
+package com.vitalapp.vital_app_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vitalapp.vital_app_backend.dto.common.CursorPageResponseDTO;
+import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.NotificationPriority;
+import com.vitalapp.vital_app_backend.model.NotificationType;
+import com.vitalapp.vital_app_backend.model.User;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Notification Repository Integration Tests")
+class NotificationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private User otherActiveUser;
+    private User inactiveUser;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(user("ana", true));
+        otherActiveUser = entityManager.persist(user("luis", true));
+        inactiveUser = entityManager.persist(user("inactivo", false));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Debe crear una notificación por cada usuario activo en una sola sentencia")
+    void insertForActiveUsers_shouldCreateOneRowPerActiveUser() {
+        // When
+        int created = notificationRepository.insertForActiveUsers(
+                "Alerta", "Triaje urgente", NotificationType.ALERT, NotificationPriority.URGENT,
+                "TRIAGE", 7L, LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(2, created);
+        List<Notification> notifications = notificationRepository.findAll();
+        assertThat(notifications).hasSize(2).allSatisfy(notification -> {
+            assertThat(notification.isRead()).isFalse();
+            assertThat(notification.getCreatedAt()).isNotNull();
+            assertEquals(7L, notification.getRelatedEntityId());
+        });
+    }
+
+    @Test
+    @DisplayName("No debe duplicar la notificación de una entidad ya notificada")
+    void insertForActiveUsers_shouldSkipAlreadyNotifiedUsers() {
+        // Given
+        notificationRepository.insertForActiveUsers(
+                "Alerta", "Triaje urgente", NotificationType.ALERT, NotificationPriority.URGENT,
+                "TRIAGE", 9L, LocalDateTime.now());
+
+        // When
+        int repeated = notificationRepository.insertForActiveUsers(
+                "Alerta", "Triaje urgente", NotificationType.ALERT, NotificationPriority.URGENT,
+                "TRIAGE", 9L, LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, repeated);
+        assertThat(notificationRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Debe crear la notificación solo para los destinatarios indicados que siguen activos")
+    void insertForUsers_shouldCreateRowsForActiveRecipientsOnly() {
+        // When
+        int created = notificationRepository.insertForUsers(
+                List.of(otherActiveUser.getId(), inactiveUser.getId()),
+                "Alerta", "Triaje urgente", NotificationType.ALERT, NotificationPriority.URGENT,
+                "TRIAGE", 6L, LocalDateTime.now());
+        int repeated = notificationRepository.insertForUsers(
+                List.of(otherActiveUser.getId()),
+                "Alerta", "Triaje urgente", NotificationType.ALERT, NotificationPriority.URGENT,
+                "TRIAGE", 6L, LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, created);
+        assertEquals(0, repeated);
+        assertThat(notificationRepository.findAll()).singleElement()
+                .satisfies(notification -> assertEquals("luis", notification.getRecipient().getUsername()));
+    }
+
+    @Test
+    @DisplayName("Debe releer solo las notificaciones de los destinatarios indicados")
+    void findByRelatedEntityAndRecipients_shouldFilterRecipients() {
+        // Given
+        notificationRepository.insertForActiveUsers(
+                "Alerta", "Triaje urgente", NotificationType.ALERT, NotificationPriority.HIGH,
+                "TRIAGE", 8L, LocalDateTime.now());
+        entityManager.clear();
+
+        // When
+        List<Notification> found = notificationRepository.findByRelatedEntityTypeAndRelatedEntityIdAndRecipientIdIn(
+                "TRIAGE", 8L, List.of(otherActiveUser.getId()));
+
+        // Then
+        assertThat(found).hasSize(1);
+        assertEquals("luis", found.get(0).getRecipient().getUsername());
+    }
+
+    @Test
+    @DisplayName("Debe marcar como leídas solo las notificaciones pendientes del destinatario")
+    void markAllAsReadByRecipientId_shouldUpdateOnlyRecipientUnread() {
+        // Given
+        entityManager.persist(notification(otherActiveUser, false, null));
+        entityManager.persist(notification(otherActiveUser, false, null));
+        entityManager.persist(notification(otherActiveUser, true, null));
+        entityManager.flush();
+
+        // When
+        int updated = notificationRepository.markAllAsReadByRecipientId(otherActiveUser.getId(), LocalDateTime.now());
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(0, notificationRepository.countByRecipientIdAndReadFalse(otherActiveUser.getId()));
+    }
+
+    @Test
+    @DisplayName("Debe eliminar por lotes solo las notificaciones expiradas")
+    void findExpiredIdsAndDeleteByIdIn_shouldPurgeExpiredInChunks() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(notification(otherActiveUser, false, now.minusDays(1)));
+        }
+        Notification current = entityManager.persist(notification(otherActiveUser, false, now.plusDays(1)));
+        entityManager.persist(notification(otherActiveUser, false, null));
+        entityManager.flush();
+
+        // When
+        List<Long> firstChunk = notificationRepository.findExpiredIds(now, Limit.of(2));
+        int deleted = notificationRepository.deleteByIdIn(firstChunk);
+        int remaining = notificationRepository.deleteExpired(now);
+
+        // Then
+        assertEquals(2, deleted);
+        assertEquals(1, remaining);
+        assertThat(notificationRepository.findAll()).hasSize(2).extracting(Notification::getId).contains(current.getId());
+    }
+
+    @Test
+    @DisplayName("La paginación por keyset debe continuar tras el cursor sin repetir ni saltar filas")
+    void findByIdGreaterThan_shouldContinueFromCursor() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(entityManager.persist(notification(otherActiveUser, false, null)).getId());
+        }
+        entityManager.flush();
+
+        // When
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            List<Notification> rows = notificationRepository.findByIdGreaterThanOrderByIdAsc(
+                    CursorPageResponseDTO.lastIdFrom(cursor), Limit.of(3));
+            CursorPageResponseDTO<Long> page = CursorPageResponseDTO.ofIdOrdered(
+                    rows, 2, Notification::getId, Notification::getId);
+            visited.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(3, pages);
+        assertThat(visited).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("El recorrido en streaming debe entregar todas las filas en orden de ID con su destinatario")
+    void streamAllByOrderByIdAsc_shouldReturnAllRowsInIdOrder() {
+        // Given
+        Notification first = entityManager.persist(notification(otherActiveUser, false, null));
+        Notification second = entityManager.persist(notification(inactiveUser, true, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Notification> streamed;
+        try (Stream<Notification> rows = notificationRepository.streamAllByOrderByIdAsc()) {
+            streamed = rows.toList();
+        }
+
+        // Then
+        assertThat(streamed).extracting(Notification::getId).containsExactly(first.getId(), second.getId());
+        assertThat(streamed).extracting(notification -> notification.getRecipient().getUsername())
+                .containsExactly("luis", "inactivo");
+    }
+
+    private static Notification notification(User recipient, boolean read, LocalDateTime expiresAt) {
+        return Notification.builder()
+                .recipient(recipient)
+                .title("Aviso")
+                .message("Mensaje")
+                .type(NotificationType.INFO)
+                .priority(NotificationPriority.LOW)
+                .read(read)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static User user(String username, boolean active) {
+        return User.builder()
+                .username(username)
+                .email(username + "@vitalapp.com")
+                .password("secret")
+                .active(active)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.vitalapp.vital_app_backend.repository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +17,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.vitalapp.vital_app_backend.dto.common.KeysetCursor;
 import com.vitalapp.vital_app_backend.model.Gender;
 import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.specification.PatientSpecification;
+import com.vitalapp.vital_app_backend.util.TextNormalizer;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -220,4 +227,81 @@ class PatientRepositoryTest {
         assertEquals(3, allPatients.size());
         assertThat(activePatients).allMatch(Patient::isActive);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("La paginación por keyset debe recorrer todas las filas sin repetir, incluidos los nulos")
+    void keysetPagination_shouldVisitEveryRowOnce() {
+        // Given
+        patientRepository.save(patient1);
+        patientRepository.save(patient2);
+        patientRepository.save(Patient.builder().fullName("Ana Ruiz").documentNumber("111")
+                .birthDate(LocalDate.of(1990, 5, 15)).gender(Gender.FEMALE).build());
+        patientRepository.save(Patient.builder().fullName("Luis Gómez").documentNumber("222")
+                .gender(Gender.MALE).build());
+        patientRepository.save(Patient.builder().fullName("Eva Díaz").documentNumber("333")
+                .gender(Gender.FEMALE).build());
+
+        // When
+        List<String> ascending = walkByBirthDate(false);
+        List<String> descending = walkByBirthDate(true);
+
+        // Then
+        assertThat(ascending).containsExactly("0987654321", "1234567890", "111", "222", "333");
+        assertThat(descending).containsExactly("333", "222", "111", "1234567890", "0987654321");
+    }
+
+    private List<String> walkByBirthDate(boolean descending) {
+        List<String> visited = new ArrayList<>();
+        KeysetCursor cursor = null;
+        do {
+            Specification<Patient> spec = PatientSpecification.keysetOrder("birthDate", descending);
+            if (cursor != null) {
+                spec = spec.and(PatientSpecification.keysetAfter(cursor));
+            }
+            List<Patient> page = patientRepository.findBy(spec, query -> query.limit(2).all());
+            page.forEach(patient -> visited.add(patient.getDocumentNumber()));
+
+            Patient last = page.isEmpty() ? null : page.get(page.size() - 1);
+            cursor = page.size() < 2 ? null : KeysetCursor.decode(new KeysetCursor("birthDate", descending,
+                    PatientSpecification.keysetValue(last, "birthDate"), last.getId()).encode());
+        } while (cursor != null);
+        return visited;
+    }
+
+    @Test
+    @DisplayName("Debe buscar por nombre normalizado sin distinguir tildes ni mayúsculas")
+    void findBySearchName_shouldIgnoreAccentsAndCase() {
+        // Given
+        patientRepository.save(patient1);
+        patientRepository.save(patient2);
+
+        // When
+        List<Patient> found = patientRepository.findBySearchNameContainingOrderByFullNameAscIdAsc(
+                TextNormalizer.forSearch("PEREZ"), Limit.of(10));
+
+        // Then
+        assertThat(found).extracting(Patient::getDocumentNumber).containsExactly("1234567890");
+        assertThat(found.get(0).getSearchName()).isEqualTo("juan perez");
+    }
+
+    @Test
+    @DisplayName("El filtro por nombre debe tratar los comodines de LIKE como texto literal")
+    void filterByFullName_shouldMatchWildcardsLiterally() {
+        // Given
+        patientRepository.save(patient1);
+        patientRepository.save(patient2);
+
+        // When
+        List<Patient> percent = patientRepository.findAll(
+                PatientSpecification.filterBy("%", null, null, null, null, null, null));
+        List<Patient> underscore = patientRepository.findAll(
+                PatientSpecification.filterBy("juan_perez", null, null, null, null, null, null));
+        List<Patient> partial = patientRepository.findAll(
+                PatientSpecification.filterBy("PÉREZ", null, null, null, null, null, null));
+
+        // Then
+        assertThat(percent).isEmpty();
+        assertThat(underscore).isEmpty();
+        assertThat(partial).extracting(Patient::getDocumentNumber).containsExactly("1234567890");
+    }
+}
@@ -0,0 +1,153 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.mapper.AlertSubscriptionMapper;
+import com.vitalapp.vital_app_backend.model.AlertSubscription;
+import com.vitalapp.vital_app_backend.model.StaffRole;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.AlertSubscriptionRepository;
+import com.vitalapp.vital_app_backend.repository.UserRepository;
+import com.vitalapp.vital_app_backend.service.AlertRoutingService.AlertRoute;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Alert Routing Service Tests")
+class AlertRoutingServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+
+    private final AlertSubscriptionRepository alertSubscriptionRepository = mock(AlertSubscriptionRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Debe avisar solo a quienes están de turno con un rol y severidad cubiertos")
+    void routeTriage_shouldSelectOnDutyStaff() {
+        // Given
+        AlertRoutingService service = service(true,
+                rule(1L, StaffRole.DOCTOR, 4, null, LocalTime.of(8, 0), LocalTime.of(16, 0)),
+                rule(2L, StaffRole.NURSE, 4, null, LocalTime.of(22, 0), LocalTime.of(6, 0)),
+                rule(3L, StaffRole.DOCTOR, 5, null, null, null),
+                rule(4L, StaffRole.NURSE, 4, null, LocalTime.of(8, 30), LocalTime.of(9, 0)),
+                rule(1L, StaffRole.COORDINATOR, 4, null, null, null));
+
+        // When
+        AlertRoute morning = service.routeTriage(4, TODAY.atTime(8, 15));
+        AlertRoute night = service.routeTriage(5, TODAY.atTime(2, 0));
+        AlertRoute afterShift = service.routeTriage(4, TODAY.atTime(16, 0));
+
+        // Then
+        assertFalse(morning.broadcast());
+        assertEquals(Set.of(1L), morning.recipients());
+        assertEquals(Set.of(1L, 2L, 3L), night.recipients());
+        assertEquals(Set.of(1L), afterShift.recipients());
+        assertEquals(3, meterRegistry.get("alerts.routing.fanout").tag("alert", "triage").summary().count());
+    }
+
+    @Test
+    @DisplayName("Debe limitar las reglas de una especialidad a los avisos de esa especialidad")
+    void route_shouldMatchSpecialty() {
+        // Given
+        AlertRoutingService service = service(true,
+                rule(1L, StaffRole.DOCTOR, 3, "Cardiología", null, null),
+                rule(2L, StaffRole.DOCTOR, 3, "Pediatría", null, null),
+                rule(3L, StaffRole.DOCTOR, 3, null, null, null));
+        Set<StaffRole> doctors = Set.of(StaffRole.DOCTOR);
+        LocalDateTime at = TODAY.atTime(12, 0);
+
+        // When & Then
+        assertEquals(Set.of(1L, 3L), service.route("test", doctors, 4, " cardiología ", at).recipients());
+        assertEquals(Set.of(1L, 2L, 3L), service.route("test", doctors, 4, null, at).recipients());
+        assertEquals(Set.of(), service.route("test", Set.of(StaffRole.NURSE), 4, null, at).recipients());
+    }
+
+    @Test
+    @DisplayName("Debe avisar a todos los usuarios activos si ninguna regla aplica")
+    void routeTriage_shouldBroadcastWithoutMatchingRules() {
+        // Given
+        AlertRoutingService service = service(true, rule(1L, StaffRole.DOCTOR, 5, null, null, null));
+
+        // When
+        AlertRoute route = service.routeTriage(4, TODAY.atTime(12, 0));
+
+        // Then
+        assertTrue(route.broadcast());
+        assertThat(route.recipients()).isEmpty();
+        assertEquals(1.0, meterRegistry.get("alerts.routing.broadcast").tag("alert", "triage").counter().count());
+        assertEquals(1.0, meterRegistry.get("alerts.routing.rules").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Los recordatorios sin regla aplicable no deben enviarse a todos")
+    void routeReminder_shouldNotBroadcast() {
+        // Given
+        AlertRoutingService service = service(true,
+                rule(1L, StaffRole.DOCTOR, 1, "Cardiología", null, null),
+                rule(2L, StaffRole.NURSE, 1, null, null, null),
+                rule(3L, StaffRole.COORDINATOR, 4, null, null, null));
+        LocalDateTime at = TODAY.atTime(12, 0);
+
+        // When
+        AlertRoute cardiology = service.routeReminder("Cardiología", at);
+        AlertRoute pediatrics = service.routeReminder("Pediatría", at);
+
+        // Then
+        assertEquals(Set.of(1L), cardiology.recipients());
+        assertFalse(pediatrics.broadcast());
+        assertThat(pediatrics.recipients()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe recoger los cambios de reglas al recargar el índice")
+    void refresh_shouldRebuildIndex() {
+        // Given
+        AlertRoutingService service = service(false);
+        when(alertSubscriptionRepository.findAllForActiveUsers())
+                .thenReturn(List.of(rule(7L, StaffRole.NURSE, 4, null, null, null)));
+
+        // When
+        AlertRoute before = service.routeTriage(4, TODAY.atTime(12, 0));
+        service.refresh();
+        AlertRoute after = service.routeTriage(4, TODAY.atTime(12, 0));
+
+        // Then
+        assertFalse(before.broadcast());
+        assertThat(before.recipients()).isEmpty();
+        assertEquals(Set.of(7L), after.recipients());
+    }
+
+    private AlertRoutingService service(boolean fallbackToActiveUsers, AlertSubscription... rules) {
+        when(alertSubscriptionRepository.findAllForActiveUsers()).thenReturn(List.of(rules));
+        AlertRoutingService service = new AlertRoutingService(alertSubscriptionRepository, mock(UserRepository.class),
+                new AlertSubscriptionMapper(), meterRegistry, Set.of(StaffRole.values()),
+                Set.of(StaffRole.DOCTOR, StaffRole.COORDINATOR), fallbackToActiveUsers);
+        service.load();
+        return service;
+    }
+
+    private static AlertSubscription rule(Long userId, StaffRole role, int minSeverity, String specialty,
+            LocalTime shiftStart, LocalTime shiftEnd) {
+        return AlertSubscription.builder()
+                .user(User.builder().id(userId).build())
+                .role(role)
+                .minSeverity(minSeverity)
+                .specialty(specialty)
+                .shiftStart(shiftStart)
+                .shiftEnd(shiftEnd)
+                .build();
+    }
+}
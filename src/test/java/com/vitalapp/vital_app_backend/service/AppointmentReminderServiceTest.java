@@ -0,0 +1,218 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.model.Appointment;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository.ClaimedReminder;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository.ReminderCandidate;
+import com.vitalapp.vital_app_backend.service.AlertRoutingService.AlertRoute;
+
+@DisplayName("Appointment Reminder Service Tests")
+class AppointmentReminderServiceTest {
+
+    private AppointmentRepository appointmentRepository;
+    private NotificationService notificationService;
+    private AlertRoutingService alertRoutingService;
+    private AppointmentReminderService reminderService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        notificationService = mock(NotificationService.class);
+        alertRoutingService = mock(AlertRoutingService.class);
+        when(alertRoutingService.routeReminder(any(), any(LocalDateTime.class)))
+                .thenReturn(new AlertRoute(Set.of(7L), false));
+        LocalDateTime now = LocalDateTime.now();
+        when(appointmentRepository.findReminderCandidates(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        candidate(1L, now.plusHours(2)),
+                        candidate(2L, now.plusHours(3)),
+                        candidate(3L, now.plusHours(30))));
+
+        reminderService = new AppointmentReminderService(appointmentRepository, notificationService,
+                alertRoutingService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofHours(1), 200);
+        reminderService.load();
+    }
+
+    @Test
+    @DisplayName("Debe reclamar solo las citas vencidas y enviarlas en un lote")
+    void dispatch_shouldClaimDueAppointmentsInOneBatch() {
+        // Given
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(claimed(1L, "Cardiología"), claimed(2L, "Cardiología")));
+        when(appointmentRepository.markRemindersSent(anyCollection(), any(LocalDateTime.class))).thenReturn(2);
+
+        // When
+        int sent = reminderService.dispatch();
+
+        // Then
+        assertEquals(2, sent);
+        verify(appointmentRepository).claimDueReminders(eq(List.of(1L, 2L)), any(LocalDateTime.class),
+                any(LocalDateTime.class));
+        verify(notificationService).createAppointmentReminders(List.of(1L, 2L), Set.of(7L));
+        verify(appointmentRepository).markRemindersSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        assertEquals(0, reminderService.dispatch());
+    }
+
+    @Test
+    @DisplayName("No debe enviar nada si otro nodo reclamó las citas")
+    void dispatch_shouldSkipWhenNothingClaimed() {
+        // Given
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // When
+        int sent = reminderService.dispatch();
+
+        // Then
+        assertEquals(0, sent);
+        verify(notificationService, never()).createAppointmentReminders(anyCollection(), anyCollection());
+        verify(appointmentRepository, never()).markRemindersSent(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe reintentar en el siguiente tick las citas de un lote fallido")
+    void dispatch_shouldRequeueFailedBatch() {
+        // Given
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("Conexión perdida"))
+                .thenReturn(List.of(claimed(1L, null), claimed(2L, null)));
+        when(appointmentRepository.markRemindersSent(anyCollection(), any(LocalDateTime.class))).thenReturn(2);
+
+        // When
+        int first = reminderService.dispatch();
+        int retried = reminderService.dispatch(LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(2, retried);
+    }
+
+    @Test
+    @DisplayName("No debe programar citas fuera del tramo cargado")
+    void schedule_shouldIgnoreAppointmentsBeyondLoadedRange() {
+        // Given
+        reminderService.schedule(Appointment.builder().id(4L).scheduledAt(LocalDateTime.now().plusDays(7)).build());
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // When
+        reminderService.dispatch();
+
+        // Then
+        verify(appointmentRepository).claimDueReminders(eq(List.of(1L, 2L)), any(LocalDateTime.class),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe dejar pendiente el recordatorio si ninguna regla cubre la cita")
+    void dispatch_shouldKeepRemindersWithoutSubscribersPending() {
+        // Given
+        when(alertRoutingService.routeReminder(eq("Pediatría"), any(LocalDateTime.class)))
+                .thenReturn(new AlertRoute(Set.of(), false));
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(claimed(1L, "Cardiología"), claimed(2L, "Pediatría")));
+        when(appointmentRepository.markRemindersSent(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        int sent = reminderService.dispatch();
+
+        // Then
+        assertEquals(1, sent);
+        verify(notificationService).createAppointmentReminders(List.of(1L), Set.of(7L));
+        verify(notificationService, never()).createAppointmentReminders(eq(List.of(2L)), anyCollection());
+        verify(appointmentRepository).markRemindersSent(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("No debe consumir ningún recordatorio si no hay reglas de avisos")
+    void dispatch_withoutAnyRules_shouldNotMarkReminders() {
+        // Given
+        when(alertRoutingService.routeReminder(any(), any(LocalDateTime.class)))
+                .thenReturn(new AlertRoute(Set.of(), false));
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(claimed(1L, "Cardiología"), claimed(2L, null)));
+
+        // When
+        int sent = reminderService.dispatch();
+
+        // Then
+        assertEquals(0, sent);
+        verify(notificationService, never()).createAppointmentReminders(anyCollection(), anyCollection());
+        verify(appointmentRepository, never()).markRemindersSent(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe recoger al releer el tramo cargado las citas creadas en otro nodo")
+    void resync_shouldScheduleAppointmentsFromOtherNodes() {
+        // Given
+        when(appointmentRepository.findReminderCandidates(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(candidate(5L, LocalDateTime.now().plusHours(4))));
+        when(appointmentRepository.claimDueReminders(anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // When
+        reminderService.resync();
+        reminderService.dispatch();
+
+        // Then
+        verify(appointmentRepository).claimDueReminders(eq(List.of(1L, 2L, 5L)), any(LocalDateTime.class),
+                any(LocalDateTime.class));
+    }
+
+    private static ClaimedReminder claimed(Long id, String specialty) {
+        return new ClaimedReminder() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSpecialty() {
+                return specialty;
+            }
+        };
+    }
+
+    private static ReminderCandidate candidate(Long id, LocalDateTime scheduledAt) {
+        return new ReminderCandidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getScheduledAt() {
+                return scheduledAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.dto.appointment.AvailableSlotDTO;
+import com.vitalapp.vital_app_backend.exception.custom.ScheduleConflictException;
+import com.vitalapp.vital_app_backend.model.Appointment;
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.repository.AppointmentRepository;
+
+@DisplayName("Appointment Schedule Service Tests")
+class AppointmentScheduleServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+
+    private AppointmentScheduleService scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        List<Appointment> blocking = List.of(
+                appointment(1L, "Dr. House", "Medicina general", DAY.atTime(9, 0), 30),
+                appointment(2L, "Dr. House", "Medicina general", DAY.atTime(10, 0), 60),
+                appointment(3L, "Dra. Grey", "Cirugía", DAY.atTime(9, 0), 30));
+        when(appointmentRepository.findBlockingFrom(any(LocalDateTime.class))).thenReturn(blocking);
+        blocking.forEach(appointment ->
+                when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment)));
+
+        scheduleService = new AppointmentScheduleService(appointmentRepository, "08:00", "12:00", Duration.ofMinutes(30));
+        scheduleService.load();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar citas que se solapan con otra del mismo doctor")
+    void reserve_shouldRejectOverlapForSameDoctor() {
+        assertThatThrownBy(() -> scheduleService.reserve(
+                appointment(4L, "Dr. House", "Medicina general", DAY.atTime(9, 15), 30)))
+                .isInstanceOf(ScheduleConflictException.class);
+        assertThatThrownBy(() -> scheduleService.reserve(
+                appointment(4L, "Dr. House", "Medicina general", DAY.atTime(8, 45), 240)))
+                .isInstanceOf(ScheduleConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Debe aceptar citas contiguas, de otro doctor o que mueven la propia cita")
+    void reserve_shouldAcceptAdjacentOtherDoctorAndOwnMove() {
+        // When
+        scheduleService.reserve(appointment(4L, "Dr. House", "Medicina general", DAY.atTime(9, 30), 30));
+        scheduleService.reserve(appointment(5L, "Dra. Grey", "Cirugía", DAY.atTime(10, 0), 60));
+        scheduleService.reserve(appointment(2L, "Dr. House", "Medicina general", DAY.atTime(10, 30), 60));
+
+        // Then
+        assertThat(scheduleService.findFreeSlots("Dr. House", DAY, 30))
+                .extracting(AvailableSlotDTO::getStartsAt)
+                .containsExactly(DAY.atTime(8, 0), DAY.atTime(8, 30), DAY.atTime(10, 0), DAY.atTime(11, 30));
+    }
+
+    @Test
+    @DisplayName("Debe listar los huecos libres de un doctor dentro del horario de atención")
+    void findFreeSlots_shouldSkipBusyIntervals() {
+        // When
+        List<AvailableSlotDTO> free = scheduleService.findFreeSlots("Dr. House", DAY, 30);
+
+        // Then
+        assertThat(free).extracting(AvailableSlotDTO::getStartsAt).containsExactly(
+                DAY.atTime(8, 0), DAY.atTime(8, 30), DAY.atTime(9, 30), DAY.atTime(11, 0), DAY.atTime(11, 30));
+        assertThat(free.get(0).getEndsAt()).isEqualTo(DAY.atTime(8, 30));
+        assertThat(scheduleService.findFreeSlots("Dr. House", DAY, 90))
+                .extracting(AvailableSlotDTO::getStartsAt).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe combinar los huecos de los doctores de una especialidad y liberar las canceladas")
+    void findFreeSlotsBySpecialty_shouldMergeDoctorsAndReflectReleases() {
+        // When
+        scheduleService.reserve(appointment(4L, "Dr. Wilson", "medicina GENERAL", DAY.atTime(8, 0), 120));
+        scheduleService.release(1L);
+
+        // Then
+        assertThat(scheduleService.findFreeSlotsBySpecialty("Medicina General", DAY, 60))
+                .extracting(AvailableSlotDTO::getDoctor, AvailableSlotDTO::getStartsAt)
+                .containsExactly(
+                        tuple("Dr. House", DAY.atTime(8, 0)),
+                        tuple("Dr. House", DAY.atTime(8, 30)),
+                        tuple("Dr. House", DAY.atTime(9, 0)),
+                        tuple("Dr. Wilson", DAY.atTime(10, 0)),
+                        tuple("Dr. Wilson", DAY.atTime(10, 30)),
+                        tuple("Dr. House", DAY.atTime(11, 0)),
+                        tuple("Dr. Wilson", DAY.atTime(11, 0)));
+    }
+
+    @Test
+    @DisplayName("Debe comprobar en la base de datos un conflicto desfasado antes de rechazar la reserva")
+    void reserve_shouldRecheckStaleConflictInDatabase() {
+        // Given: otro nodo canceló la cita 1 y movió la 2 a las 11:00
+        Appointment cancelled = appointment(1L, "Dr. House", "Medicina general", DAY.atTime(9, 0), 30);
+        cancelled.setStatus(AppointmentStatus.CANCELLED);
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(cancelled));
+        when(appointmentRepository.findById(2L)).thenReturn(Optional.of(
+                appointment(2L, "Dr. House", "Medicina general", DAY.atTime(11, 0), 60)));
+
+        // When
+        scheduleService.reserve(appointment(4L, "Dr. House", "Medicina general", DAY.atTime(9, 0), 90));
+
+        // Then
+        assertThat(scheduleService.findFreeSlots("Dr. House", DAY, 30))
+                .extracting(AvailableSlotDTO::getStartsAt)
+                .containsExactly(DAY.atTime(8, 0), DAY.atTime(8, 30), DAY.atTime(10, 30));
+        assertThatThrownBy(() -> scheduleService.reserve(
+                appointment(5L, "Dr. House", "Medicina general", DAY.atTime(11, 30), 30)))
+                .isInstanceOf(ScheduleConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Debe recoger en la relectura las citas creadas, movidas y liberadas en otros nodos")
+    void refresh_shouldApplyChangesFromOtherNodes() {
+        // Given
+        scheduleService.reserve(appointment(4L, "Dr. House", "Medicina general", DAY.atTime(8, 0), 30));
+        when(appointmentRepository.findBlockingFrom(any(LocalDateTime.class))).thenReturn(List.of(
+                appointment(2L, "Dr. House", "Medicina general", DAY.atTime(11, 0), 60),
+                appointment(3L, "Dra. Grey", "Cirugía", DAY.atTime(9, 0), 30),
+                appointment(4L, "Dr. House", "Medicina general", DAY.atTime(8, 0), 30),
+                appointment(5L, "Dr. House", "Medicina general", DAY.atTime(9, 30), 30)));
+
+        // When
+        scheduleService.refresh();
+
+        // Then
+        assertThat(scheduleService.findFreeSlots("Dr. House", DAY, 30))
+                .extracting(AvailableSlotDTO::getStartsAt)
+                .containsExactly(DAY.atTime(8, 30), DAY.atTime(9, 0), DAY.atTime(10, 0), DAY.atTime(10, 30));
+    }
+
+    private static Appointment appointment(Long id, String doctor, String specialty, LocalDateTime start, int minutes) {
+        return Appointment.builder()
+                .id(id)
+                .doctor(doctor)
+                .specialty(specialty)
+                .scheduledAt(start)
+                .duration(minutes)
+                .status(AppointmentStatus.SCHEDULED)
+                .build();
+    }
+}
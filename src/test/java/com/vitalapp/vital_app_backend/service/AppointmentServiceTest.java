@@ -14,19 +14,30 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentCreateDTO;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentResponseDTO;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.dto.appointment.AppointmentUpdateDTO;
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
+import com.vitalapp.vital_app_backend.event.AppointmentCreatedEvent;
+import com.vitalapp.vital_app_backend.exception.custom.ScheduleConflictException;
 import com.vitalapp.vital_app_backend.mapper.AppointmentMapper;
 import com.vitalapp.vital_app_backend.model.Appointment;
 import com.vitalapp.vital_app_backend.model.AppointmentStatus;
@@ -44,17 +55,27 @@ class AppointmentServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private PatientLookupCache patientLookupCache;
+
+    @Mock
+    private AppointmentScheduleService appointmentScheduleService;
+
+    @Mock
+    private AppointmentReminderService appointmentReminderService;
+
     @Mock
     private AppointmentMapper appointmentMapper;
 
     @Mock
-    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private DomainEventOutbox domainEventOutbox;
 
     @InjectMocks
     private AppointmentService appointmentService;
 
     private Appointment appointment;
     private Patient patient;
+    private PatientResponseDTO patientSummary;
     private AppointmentCreateDTO createDTO;
     private AppointmentResponseDTO responseDTO;
 
@@ -66,6 +87,12 @@ class AppointmentServiceTest {
                 .active(true)
                 .build();
 
+        patientSummary = PatientResponseDTO.builder()
+                .id(1L)
+                .fullName("Juan Pérez")
+                .active(true)
+                .build();
+
         appointment = Appointment.builder()
                 .id(1L)
                 .patient(patient)
@@ -105,10 +132,11 @@ class AppointmentServiceTest {
     @DisplayName("Debe crear cita exitosamente")
     void createAppointment_shouldCreateSuccessfully() {
         // Given
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientLookupCache.findById(1L)).thenReturn(Optional.of(patientSummary));
+        when(patientRepository.getReferenceById(1L)).thenReturn(patient);
         when(appointmentMapper.toEntity(any(AppointmentCreateDTO.class))).thenReturn(appointment);
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
-        when(appointmentMapper.toResponseDTO(any(Appointment.class))).thenReturn(responseDTO);
+        when(appointmentMapper.toResponseDTO(any(Appointment.class), eq(patientSummary))).thenReturn(responseDTO);
 
         // When
         AppointmentResponseDTO result = appointmentService.createAppointment(createDTO);
@@ -118,13 +146,32 @@ class AppointmentServiceTest {
         assertEquals("Dr. García", result.getDoctor());
         assertEquals(AppointmentStatus.SCHEDULED, result.getStatus());
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(appointmentScheduleService).reserve(appointment);
+        verify(appointmentReminderService).schedule(appointment);
+        verify(domainEventOutbox).append(any(AppointmentCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la cita si el doctor tiene ocupado el horario")
+    void createAppointment_shouldRejectOverlappingSchedule() {
+        // Given
+        when(patientLookupCache.findById(1L)).thenReturn(Optional.of(patientSummary));
+        when(patientRepository.getReferenceById(1L)).thenReturn(patient);
+        when(appointmentMapper.toEntity(any(AppointmentCreateDTO.class))).thenReturn(appointment);
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
+        doThrow(new ScheduleConflictException("Horario ocupado"))
+                .when(appointmentScheduleService).reserve(appointment);
+
+        // When & Then
+        assertThrows(ScheduleConflictException.class, () -> appointmentService.createAppointment(createDTO));
+        verify(domainEventOutbox, never()).append(any());
     }
 
     @Test
     @DisplayName("Debe lanzar excepción si paciente no existe")
     void createAppointment_shouldThrowExceptionWhenPatientNotFound() {
         // Given
-        when(patientRepository.findById(1L)).thenReturn(Optional.empty());
+        when(patientLookupCache.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(
@@ -172,17 +219,17 @@ class AppointmentServiceTest {
     @DisplayName("Debe obtener todas las citas")
     void getAllAppointments_shouldReturnList() {
         // Given
-        List<Appointment> appointments = Arrays.asList(appointment);
-        when(appointmentRepository.findAll()).thenReturn(appointments);
+        Page<Appointment> appointments = new PageImpl<>(Arrays.asList(appointment));
+        when(appointmentRepository.findAll(any(Pageable.class))).thenReturn(appointments);
         when(appointmentMapper.toResponseDTO(any(Appointment.class))).thenReturn(responseDTO);
 
         // When
-        List<AppointmentResponseDTO> result = appointmentService.getAllAppointments();
+        PageResponseDTO<AppointmentResponseDTO> result = appointmentService.getAllAppointments(0, 500);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(appointmentRepository, times(1)).findAll();
+        assertEquals(1, result.getContent().size());
+        verify(appointmentRepository, times(1)).findAll(PageRequest.of(0, AppointmentService.MAX_PAGE_SIZE, Sort.by("id")));
     }
 
     @Test
@@ -224,7 +271,7 @@ class AppointmentServiceTest {
     void getUpcomingAppointments_shouldReturnUpcoming() {
         // Given
         List<Appointment> appointments = Arrays.asList(appointment);
-        when(appointmentRepository.findByScheduledAtAfterOrderByScheduledAtAsc(any(LocalDateTime.class))).thenReturn(appointments);
+        when(appointmentRepository.findUpcoming(any(LocalDateTime.class))).thenReturn(appointments);
         when(appointmentMapper.toResponseDTO(any(Appointment.class))).thenReturn(responseDTO);
 
         // When
@@ -233,7 +280,7 @@ class AppointmentServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(appointmentRepository, times(1)).findByScheduledAtAfterOrderByScheduledAtAsc(any(LocalDateTime.class));
+        verify(appointmentRepository, times(1)).findUpcoming(any(LocalDateTime.class));
     }
 
     @Test
@@ -293,6 +340,7 @@ class AppointmentServiceTest {
         assertNotNull(result);
         verify(appointmentRepository, times(1)).findById(1L);
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(appointmentScheduleService).release(1L);
     }
 
     @Test
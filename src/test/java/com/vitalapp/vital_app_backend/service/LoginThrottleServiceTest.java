@@ -0,0 +1,66 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.exception.custom.TooManyRequestsException;
+
+@DisplayName("Login Throttle Service Tests")
+class LoginThrottleServiceTest {
+
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottleService = new LoginThrottleService(Duration.ofMinutes(1), 3, 5, 1000);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar intentos por encima del límite por usuario")
+    void checkLogin_shouldThrottleByUsername() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.checkLogin("juan", "10.0.0." + i);
+        }
+
+        // When & Then
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkLogin("JUAN", "10.0.0.9"));
+        assertThat(ex.getRetryAfterSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar intentos por encima del límite por IP")
+    void checkLogin_shouldThrottleByIp() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            loginThrottleService.checkLogin("usuario" + i, "10.0.0.1");
+        }
+
+        // When & Then
+        assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkRegister("10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Un login exitoso debe reiniciar el contador del usuario")
+    void recordSuccess_shouldResetUsernameCounter() {
+        // Given
+        loginThrottleService.checkLogin("juan", "10.0.0.1");
+        loginThrottleService.checkLogin("juan", "10.0.0.2");
+        loginThrottleService.checkLogin("juan", "10.0.0.3");
+
+        // When
+        loginThrottleService.recordSuccess("juan");
+
+        // Then
+        assertDoesNotThrow(() -> loginThrottleService.checkLogin("juan", "10.0.0.4"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.repository.NotificationRepository;
+
+@DisplayName("Notification Expiry Purger Tests")
+class NotificationExpiryPurgerTest {
+
+    private NotificationRepository notificationRepository;
+    private NotificationExpiryPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        purger = new NotificationExpiryPurger(notificationRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2, 10, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Debe eliminar por lotes hasta encontrar un lote incompleto")
+    void purge_shouldDeleteInBatchesUntilPartialBatch() {
+        // Given
+        when(notificationRepository.findExpiredIds(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(notificationRepository.deleteByIdIn(any())).thenReturn(2, 2, 1);
+
+        // When
+        int deleted = purger.purge();
+
+        // Then
+        assertEquals(5, deleted);
+        verify(notificationRepository, times(3)).deleteByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("No debe ejecutar más lotes que el máximo por ejecución")
+    void purge_shouldStopAtMaxBatches() {
+        // Given
+        purger = new NotificationExpiryPurger(notificationRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2, 3, Duration.ZERO);
+        when(notificationRepository.findExpiredIds(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(notificationRepository.deleteByIdIn(any())).thenReturn(2);
+
+        // When
+        int deleted = purger.purge();
+
+        // Then
+        assertEquals(6, deleted);
+        verify(notificationRepository, times(3)).findExpiredIds(any(LocalDateTime.class), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Sin notificaciones expiradas no debe ejecutar DELETE")
+    void purge_shouldSkipDeleteWhenNothingExpired() {
+        // Given
+        when(notificationRepository.findExpiredIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of());
+
+        // When
+        int deleted = purger.purge();
+
+        // Then
+        assertEquals(0, deleted);
+        verify(notificationRepository, never()).deleteByIdIn(any());
+    }
+}
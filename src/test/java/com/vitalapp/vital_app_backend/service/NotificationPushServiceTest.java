@@ -0,0 +1,220 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.vitalapp.vital_app_backend.dto.notification.NotificationResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.NotificationMapper;
+import com.vitalapp.vital_app_backend.model.Notification;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.NotificationRepository;
+
+@DisplayName("Notification Push Service Tests")
+class NotificationPushServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.ofEpochMilli(1_700_000_000_000L), ZoneOffset.UTC);
+
+    private NotificationRepository notificationRepository;
+    private NotificationPushService notificationPushService;
+    private final List<RecordingEmitter> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        when(notificationRepository.countByRecipientIdAndReadFalse(1L)).thenReturn(3L);
+
+        // Envío en el mismo hilo para poder verificar los eventos de inmediato
+        notificationPushService = newService(Runnable::run, 64);
+    }
+
+    @Test
+    @DisplayName("Al conectar debe enviar el conteo de no leídas con el instante del conteo como ID")
+    void subscribe_shouldSendUnreadCountSnapshot() {
+        // When
+        notificationPushService.subscribe(1L, null);
+
+        // Then
+        assertThat(opened.get(0).events).containsExactly("id:1700000000000\nevent:unread-count\ndata:{unreadCount=3}");
+        assertThat(notificationPushService.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Al reanudar debe reenviar las creadas desde el instante recibido menos el margen")
+    void subscribe_shouldReplayMissedNotifications() {
+        // Given
+        User recipient = User.builder().id(1L).username("ana").build();
+        LocalDateTime lastSeen = LocalDateTime.ofInstant(Instant.ofEpochMilli(1_699_999_990_000L), ZoneOffset.UTC);
+        // IDs fuera de orden: la 7 se confirmó después de entregar la 60
+        when(notificationRepository.findByRecipientIdAndCreatedAtAfter(
+                eq(1L), eq(lastSeen.minusSeconds(30)), any(Limit.class)))
+                .thenReturn(List.of(
+                        Notification.builder().id(60L).recipient(recipient).title("A")
+                                .createdAt(lastSeen.minusSeconds(1)).build(),
+                        Notification.builder().id(7L).recipient(recipient).title("B")
+                                .createdAt(lastSeen.plusSeconds(1)).build()));
+
+        // When
+        notificationPushService.subscribe(1L, 1_699_999_990_000L);
+
+        // Then
+        assertThat(opened.get(0).events)
+                .extracting(event -> event.substring(0, event.indexOf('\n')))
+                .containsExactly("id:1699999989000", "id:1699999991000", "id:1700000000000");
+    }
+
+    @Test
+    @DisplayName("Debe enviar los cambios solo a las conexiones del destinatario")
+    void push_shouldReachOnlyRecipientConnections() {
+        // Given
+        notificationPushService.subscribe(1L, null);
+        notificationPushService.subscribe(2L, null);
+        NotificationResponseDTO created = new NotificationResponseDTO();
+        created.setId(13L);
+        created.setRecipientId(1L);
+        created.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(1_700_000_001_000L), ZoneOffset.UTC));
+
+        // When
+        notificationPushService.notificationCreated(created);
+        notificationPushService.notificationRead(1L, 13L);
+
+        // Then
+        assertThat(opened.get(0).events).hasSize(3);
+        assertThat(opened.get(0).events.get(1)).startsWith("id:1700000001000\nevent:notification\n");
+        assertThat(opened.get(0).events.get(2)).isEqualTo("event:read\ndata:13");
+        assertThat(opened.get(1).events).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe descartar las conexiones que fallan al enviar")
+    void heartbeat_shouldDropBrokenConnections() {
+        // Given
+        notificationPushService.subscribe(1L, null);
+        opened.get(0).broken = true;
+
+        // When
+        notificationPushService.heartbeat();
+
+        // Then
+        assertThat(notificationPushService.connectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe cerrar la conexión del cliente que acumula demasiados eventos sin enviar")
+    void push_shouldDropClientThatFallsBehind() {
+        // Given: el envío no avanza
+        List<Runnable> stalled = new ArrayList<>();
+        NotificationPushService stalledService = newService(stalled::add, 2);
+        stalledService.subscribe(1L, null);
+
+        // When
+        stalledService.notificationRead(1L, 13L);
+        stalledService.notificationRead(1L, 14L);
+        stalledService.notificationRead(1L, 15L);
+
+        // Then: una sola tarea de envío para la conexión y la conexión cerrada al desbordar
+        assertThat(stalled).hasSize(1);
+        assertThat(stalledService.connectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe enviar una sola vez lo creado y leído en otros nodos")
+    void syncFromOtherNodes_shouldPushRemoteChangesOnce() {
+        // Given
+        User recipient = User.builder().id(1L).username("ana").build();
+        LocalDateTime now = LocalDateTime.now(CLOCK);
+        notificationPushService.subscribe(1L, null);
+        when(notificationRepository.findByRecipientIdInAndCreatedAtAfter(
+                eq(List.of(1L)), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(Notification.builder().id(21L).recipient(recipient).title("Remota")
+                        .createdAt(now.minusSeconds(1)).build()));
+        NotificationRepository.RecipientRead read = mock(NotificationRepository.RecipientRead.class);
+        when(read.getRecipientId()).thenReturn(1L);
+        when(read.getLastReadAt()).thenReturn(now.minusSeconds(2));
+        when(notificationRepository.findLastReadAfter(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(read));
+
+        // When
+        notificationPushService.syncFromOtherNodes();
+        notificationPushService.syncFromOtherNodes();
+
+        // Then
+        assertThat(opened.get(0).events).hasSize(3);
+        assertThat(opened.get(0).events.get(1)).startsWith("id:1699999999000\nevent:notification\n");
+        assertThat(opened.get(0).events.get(2)).isEqualTo("event:unread-count\ndata:{unreadCount=3}");
+    }
+
+    @Test
+    @DisplayName("Con una sola instancia no debe consultar la base de datos al sincronizar")
+    void syncFromOtherNodes_singleNode_shouldNotQuery() {
+        // Given
+        NotificationPushService singleNode = newService(Runnable::run, 64, false);
+        singleNode.subscribe(1L, null);
+
+        // When
+        singleNode.syncFromOtherNodes();
+
+        // Then
+        verify(notificationRepository, never()).findByRecipientIdInAndCreatedAtAfter(
+                anyList(), any(LocalDateTime.class), any(Limit.class));
+        verify(notificationRepository, never()).findLastReadAfter(anyList(), any(LocalDateTime.class));
+    }
+
+    private NotificationPushService newService(Executor pushExecutor, int sendQueueCapacity) {
+        return newService(pushExecutor, sendQueueCapacity, true);
+    }
+
+    private NotificationPushService newService(Executor pushExecutor, int sendQueueCapacity, boolean multiNode) {
+        return new NotificationPushService(notificationRepository, new NotificationMapper(), pushExecutor,
+                Duration.ofMinutes(1), Duration.ofSeconds(30), sendQueueCapacity, multiNode, CLOCK) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                opened.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    /**
+     * Emisor que guarda cada evento como texto en lugar de escribirlo en una respuesta.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining())
+                    .trim());
+        }
+    }
+}
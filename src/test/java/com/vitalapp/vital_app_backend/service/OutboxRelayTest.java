@@ -0,0 +1,236 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.event.AppointmentStatusChangedEvent;
+import com.vitalapp.vital_app_backend.event.DomainEventCodec;
+import com.vitalapp.vital_app_backend.model.AppointmentStatus;
+import com.vitalapp.vital_app_backend.model.OutboxEvent;
+import com.vitalapp.vital_app_backend.repository.OutboxEventRepository;
+
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private DomainEventCodec domainEventCodec;
+    private ApplicationEventPublisher eventPublisher;
+    private PlatformTransactionManager transactionManager;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        domainEventCodec = mock(DomainEventCodec.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        relay = new OutboxRelay(outboxEventRepository, domainEventCodec, eventPublisher,
+                new TransactionTemplate(transactionManager),
+                Runnable::run, Runnable::run,
+                100, 10, 3, Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("Debe entregar el lote y marcarlo como entregado en una sola sentencia")
+    void relay_shouldDeliverBatchAndMarkProcessed() {
+        // Given
+        List<OutboxEvent> rows = List.of(
+                row(1L, DomainEventCodec.TRIAGE_AGGREGATE, 10L),
+                row(2L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L));
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(rows);
+        when(domainEventCodec.decode(rows.get(0))).thenReturn("triaje");
+        when(domainEventCodec.decode(rows.get(1))).thenReturn("cita");
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(2, delivered);
+        verify(eventPublisher).publishEvent("triaje");
+        verify(eventPublisher).publishEvent("cita");
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).markFailed(anyCollection(), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Debe aplazar el evento fallido y los siguientes de su agregado")
+    void relay_shouldPostponeFailedEventAndItsSuccessors() {
+        // Given
+        List<OutboxEvent> rows = List.of(
+                row(1L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L),
+                row(2L, DomainEventCodec.TRIAGE_AGGREGATE, 10L),
+                row(3L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L));
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(rows);
+        when(domainEventCodec.decode(rows.get(0))).thenReturn("cita creada");
+        when(domainEventCodec.decode(rows.get(1))).thenReturn("triaje");
+        when(domainEventCodec.decode(rows.get(2))).thenReturn("cita confirmada");
+        doThrow(new IllegalStateException("Base de datos caída")).when(eventPublisher).publishEvent("cita creada");
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(1, delivered);
+        verify(eventPublisher, never()).publishEvent("cita confirmada");
+        verify(outboxEventRepository).markProcessed(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), any(LocalDateTime.class),
+                contains("IllegalStateException"));
+        verify(outboxEventRepository).markFailed(eq(List.of(3L)), any(LocalDateTime.class),
+                contains("evento anterior"));
+    }
+
+    @Test
+    @DisplayName("Debe reclamar tras el primer evento de cada agregado los que le siguen y entregarlos en orden")
+    void relay_shouldClaimFollowingEventsOfClaimedAggregates() {
+        // Given
+        OutboxEvent head = row(1L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L);
+        OutboxEvent next = row(4L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L);
+        OutboxEvent triage = row(2L, DomainEventCodec.TRIAGE_AGGREGATE, 10L);
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenReturn(List.of(head, triage));
+        when(outboxEventRepository.claimFollowing(eq(DomainEventCodec.APPOINTMENT_AGGREGATE), eq(Set.of(20L)),
+                eq(List.of(1L, 2L)), anyInt(), anyInt())).thenReturn(List.of(next));
+        when(domainEventCodec.decode(head)).thenReturn("cita creada");
+        when(domainEventCodec.decode(next)).thenReturn("cita confirmada");
+        when(domainEventCodec.decode(triage)).thenReturn("triaje");
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(3, delivered);
+        InOrder inOrder = inOrder(eventPublisher);
+        inOrder.verify(eventPublisher).publishEvent("cita creada");
+        inOrder.verify(eventPublisher).publishEvent("cita confirmada");
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L, 2L, 4L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe entregar cada evento en su propia transacción y deshacer solo la que falla")
+    void relay_shouldDeliverEachEventInItsOwnTransaction() {
+        // Given
+        List<OutboxEvent> rows = List.of(
+                row(1L, DomainEventCodec.TRIAGE_AGGREGATE, 10L),
+                row(2L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L));
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(rows);
+        when(domainEventCodec.decode(rows.get(0))).thenReturn("triaje");
+        when(domainEventCodec.decode(rows.get(1))).thenReturn("cita");
+        doThrow(new IllegalStateException("Listener fallido")).when(eventPublisher).publishEvent("cita");
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> definition != null
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).rollback(any());
+        verify(outboxEventRepository).markFailed(eq(List.of(2L)), any(LocalDateTime.class),
+                contains("Listener fallido"));
+    }
+
+    @Test
+    @DisplayName("Debe entregar como uno solo los cambios de estado seguidos de una cita")
+    void relay_shouldCoalesceConsecutiveEventsOfAnAggregate() {
+        // Given
+        List<OutboxEvent> rows = List.of(
+                row(1L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L),
+                row(2L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L),
+                row(3L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L));
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(rows);
+        when(domainEventCodec.decode(rows.get(0))).thenReturn("cita creada");
+        when(domainEventCodec.decode(rows.get(1))).thenReturn(
+                statusChange(AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED));
+        when(domainEventCodec.decode(rows.get(2))).thenReturn(
+                statusChange(AppointmentStatus.CONFIRMED, AppointmentStatus.IN_PROGRESS));
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(3, delivered);
+        verify(eventPublisher).publishEvent("cita creada");
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof AppointmentStatusChangedEvent change
+                        && change.oldStatus() == AppointmentStatus.SCHEDULED
+                        && change.newStatus() == AppointmentStatus.IN_PROGRESS));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L, 2L, 3L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe aplazar los eventos que no se pueden leer")
+    void relay_shouldPostponeUnreadableEvents() {
+        // Given
+        List<OutboxEvent> rows = List.of(row(1L, DomainEventCodec.APPOINTMENT_AGGREGATE, 20L));
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(rows);
+        when(domainEventCodec.decode(rows.get(0))).thenThrow(new IllegalArgumentException("Evento truncado"));
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(0, delivered);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(outboxEventRepository, never()).markProcessed(anyCollection(), any(LocalDateTime.class));
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), any(LocalDateTime.class),
+                contains("Evento truncado"));
+    }
+
+    @Test
+    @DisplayName("No debe hacer nada si no hay eventos pendientes")
+    void relay_shouldStopWhenNothingClaimed() {
+        // Given
+        when(outboxEventRepository.claimPending(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(List.of());
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(0, delivered);
+        verify(domainEventCodec, never()).decode(any(OutboxEvent.class));
+        verify(outboxEventRepository, never()).markProcessed(anyCollection(), any(LocalDateTime.class));
+    }
+
+    private static AppointmentStatusChangedEvent statusChange(AppointmentStatus oldStatus,
+            AppointmentStatus newStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AppointmentStatusChangedEvent(20L, 1L, oldStatus, newStatus, now.plusDays(1), now);
+    }
+
+    private static OutboxEvent row(Long id, String aggregateType, Long aggregateId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(aggregateType + "_EVENT")
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .payload(new byte[] {1})
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.PatientMapper;
+import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.repository.PatientRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Patient Lookup Cache Tests")
+class PatientLookupCacheTest {
+
+    private PatientRepository patientRepository;
+    private PatientLookupCache patientLookupCache;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository = mock(PatientRepository.class);
+        patientLookupCache = new PatientLookupCache(patientRepository, new PatientMapper(),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Debe cargar una sola vez el paciente y resolverlo también por documento")
+    void findById_shouldLoadOnceAndIndexByDocument() {
+        // Given
+        Patient patient = Patient.builder().id(1L).fullName("Juan Pérez").documentNumber("123").build();
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+
+        // When
+        patientLookupCache.findById(1L);
+        Optional<PatientResponseDTO> second = patientLookupCache.findById(1L);
+
+        // Then
+        assertThat(second).map(PatientResponseDTO::getFullName).contains("Juan Pérez");
+        assertThat(patientLookupCache.getIfPresentByDocument("123")).isNotNull();
+        verify(patientRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Tras invalidar no debe resolver ni el ID ni el documento anterior")
+    void invalidate_shouldDropBothIndexes() {
+        // Given
+        patientLookupCache.put(PatientResponseDTO.builder().id(2L).documentNumber("456").build());
+
+        // When
+        patientLookupCache.invalidate(2L);
+        patientLookupCache.put(PatientResponseDTO.builder().id(2L).documentNumber("789").build());
+
+        // Then
+        assertThat(patientLookupCache.getIfPresentByDocument("456")).isNull();
+        assertThat(patientLookupCache.getIfPresentByDocument("789")).isNotNull();
+    }
+}
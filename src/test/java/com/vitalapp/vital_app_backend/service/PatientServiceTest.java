@@ -25,6 +25,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -53,6 +54,12 @@ class PatientServiceTest {
     @Mock
     private PatientMapper patientMapper;
 
+    @Mock
+    private PatientLookupCache patientLookupCache;
+
+    @Mock
+    private TriageQueueService triageQueueService;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -206,16 +213,17 @@ class PatientServiceTest {
     void searchPatientsByName_shouldReturnMatchingPatients() {
         // Given
         List<Patient> patients = Arrays.asList(patient);
-        when(patientRepository.findByFullNameContainingIgnoreCase("Juan")).thenReturn(patients);
+        when(patientRepository.findBySearchNameContainingOrderByFullNameAscIdAsc("juan", Limit.of(20)))
+                .thenReturn(patients);
         when(patientMapper.toResponseDTO(any(Patient.class))).thenReturn(responseDTO);
 
         // When
-        List<PatientResponseDTO> result = patientService.searchPatientsByName("Juan");
+        List<PatientResponseDTO> result = patientService.searchPatientsByName("Juan", 20);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(patientRepository, times(1)).findByFullNameContainingIgnoreCase("Juan");
+        verify(patientRepository, times(1)).findBySearchNameContainingOrderByFullNameAscIdAsc("juan", Limit.of(20));
     }
 
     @Test
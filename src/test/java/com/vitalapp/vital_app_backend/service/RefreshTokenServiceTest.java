@@ -0,0 +1,219 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vitalapp.vital_app_backend.config.JwtService;
+import com.vitalapp.vital_app_backend.exception.custom.InvalidTokenException;
+import com.vitalapp.vital_app_backend.model.RefreshToken;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.RefreshTokenRepository;
+
+@DisplayName("Refresh Token Service Tests")
+class RefreshTokenServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private JwtService jwtService;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 7200000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(refreshTokenRepository.claimUnused(anyString())).thenReturn(1);
+
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, jwtService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.invokeMethod(refreshTokenService, "load");
+
+        user = User.builder()
+                .id(3L)
+                .username("medico")
+                .email("medico@vitalapp.com")
+                .password("hash")
+                .active(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe rotar el token y rechazar el ya usado")
+    void rotate_shouldIssueNewTokenAndConsumeOld() {
+        // Given
+        String original = refreshTokenService.issue(user);
+
+        // When
+        String rotated = refreshTokenService.rotate(jwtService.extractAllClaims(original), user);
+
+        // Then
+        assertThat(rotated).isNotEqualTo(original);
+        assertThat(jwtService.extractAllClaims(rotated).getId())
+                .isNotEqualTo(jwtService.extractAllClaims(original).getId());
+    }
+
+    @Test
+    @DisplayName("La reutilización de un token debe revocar toda la familia")
+    void rotate_reusedToken_shouldRevokeFamily() {
+        // Given
+        String original = refreshTokenService.issue(user);
+        String rotated = refreshTokenService.rotate(jwtService.extractAllClaims(original), user);
+
+        // When & Then
+        assertThrows(InvalidTokenException.class,
+                () -> refreshTokenService.rotate(jwtService.extractAllClaims(original), user));
+        assertThrows(InvalidTokenException.class,
+                () -> refreshTokenService.rotate(jwtService.extractAllClaims(rotated), user));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar tokens sin jti registrado")
+    void rotate_unknownToken_shouldThrow() {
+        // Given
+        String foreign = jwtService.generateRefreshToken(user, "desconocido");
+
+        // When & Then
+        assertThrows(InvalidTokenException.class,
+                () -> refreshTokenService.rotate(jwtService.extractAllClaims(foreign), user));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token de acceso presentado como refresh token")
+    void rotate_accessToken_shouldThrow() {
+        // Given
+        String access = jwtService.generateToken(user);
+
+        // When & Then
+        assertThrows(InvalidTokenException.class,
+                () -> refreshTokenService.rotate(jwtService.extractAllClaims(access), user));
+    }
+
+    @Test
+    @DisplayName("Comprobar un token vigente no debe consumirlo")
+    void isActive_shouldNotConsumeToken() {
+        // Given
+        String original = refreshTokenService.issue(user);
+
+        // When
+        boolean first = refreshTokenService.isActive(jwtService.extractAllClaims(original), user);
+        boolean second = refreshTokenService.isActive(jwtService.extractAllClaims(original), user);
+
+        // Then: sigue pudiendo rotarse una vez
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(refreshTokenService.rotate(jwtService.extractAllClaims(original), user)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Un token ya rotado o de otro tipo no debe considerarse vigente")
+    void isActive_usedOrAccessToken_shouldReturnFalse() {
+        // Given
+        String original = refreshTokenService.issue(user);
+        refreshTokenService.rotate(jwtService.extractAllClaims(original), user);
+        String access = jwtService.generateToken(user);
+
+        // When & Then
+        assertThat(refreshTokenService.isActive(jwtService.extractAllClaims(original), user)).isFalse();
+        assertThat(refreshTokenService.isActive(jwtService.extractAllClaims(access), user)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe persistir cada token antes de entregarlo")
+    void issue_shouldPersistTokenBeforeReturningIt() {
+        // When
+        String token = refreshTokenService.issue(user);
+
+        // Then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(jwtService.extractAllClaims(token).getId(), saved.getValue().getJti());
+        assertThat(saved.getValue().isNew()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe rotar un token emitido en otra instancia cargándolo de la tabla")
+    void rotate_tokenNotInMemory_shouldLoadFromTable() {
+        // Given
+        String foreign = jwtService.generateRefreshToken(user, "otra-instancia");
+        when(refreshTokenRepository.findById("otra-instancia")).thenReturn(Optional.of(stored("otra-instancia")));
+
+        // When
+        String rotated = refreshTokenService.rotate(jwtService.extractAllClaims(foreign), user);
+
+        // Then
+        assertThat(rotated).isNotEqualTo(foreign);
+        verify(refreshTokenRepository).claimUnused("otra-instancia");
+    }
+
+    @Test
+    @DisplayName("Debe revocar la familia si otra instancia ya rotó el token")
+    void rotate_tokenUsedElsewhere_shouldRevokeFamily() {
+        // Given
+        String original = refreshTokenService.issue(user);
+        String jti = jwtService.extractAllClaims(original).getId();
+        when(refreshTokenRepository.claimUnused(jti)).thenReturn(0);
+        RefreshToken used = stored(jti);
+        used.setUsed(true);
+        when(refreshTokenRepository.findById(jti)).thenReturn(Optional.of(used));
+
+        // When & Then
+        InvalidTokenException error = assertThrows(InvalidTokenException.class,
+                () -> refreshTokenService.rotate(jwtService.extractAllClaims(original), user));
+        assertEquals("Refresh token reutilizado", error.getMessage());
+        verify(refreshTokenRepository).revokeFamilies(anyCollection());
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Debe revocar en la tabla todas las sesiones del usuario")
+    void revokeUser_shouldRevokeStoredAndCachedFamilies() {
+        // Given
+        String original = refreshTokenService.issue(user);
+
+        // When
+        refreshTokenService.revokeUser(user.getId());
+
+        // Then
+        verify(refreshTokenRepository).revokeByUserId(user.getId());
+        assertThrows(InvalidTokenException.class,
+                () -> refreshTokenService.rotate(jwtService.extractAllClaims(original), user));
+    }
+
+    private RefreshToken stored(String jti) {
+        return RefreshToken.builder()
+                .jti(jti)
+                .familyId("familia-" + jti)
+                .userId(user.getId())
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .newEntity(false)
+                .build();
+    }
+}
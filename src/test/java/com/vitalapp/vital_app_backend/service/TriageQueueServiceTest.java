@@ -0,0 +1,115 @@
+package com.vitalapp.vital_app_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.vitalapp.vital_app_backend.dto.triage.TriageResponseDTO;
+import com.vitalapp.vital_app_backend.mapper.TriageMapper;
+import com.vitalapp.vital_app_backend.model.Patient;
+import com.vitalapp.vital_app_backend.model.Triage;
+import com.vitalapp.vital_app_backend.model.TriageStatus;
+import com.vitalapp.vital_app_backend.repository.TriageRepository;
+
+@DisplayName("Triage Queue Service Tests")
+class TriageQueueServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private TriageRepository triageRepository;
+    private TriageQueueService triageQueueService;
+
+    @BeforeEach
+    void setUp() {
+        triageRepository = mock(TriageRepository.class);
+        when(triageRepository.findByStatusIn(TriageQueueService.OPEN_STATUSES)).thenReturn(List.of(
+                triage(1L, 3, NOW, TriageStatus.PENDING),
+                triage(2L, 5, NOW.plusMinutes(10), TriageStatus.PENDING),
+                triage(3L, 3, NOW.minusMinutes(5), TriageStatus.PENDING),
+                triage(4L, 4, NOW, TriageStatus.IN_PROGRESS)));
+
+        triageQueueService = new TriageQueueService(triageRepository, new TriageMapper());
+        triageQueueService.load();
+    }
+
+    @Test
+    @DisplayName("Debe ordenar por severidad y, a igual severidad, por tiempo de espera")
+    void top_shouldOrderBySeverityThenWaitingTime() {
+        // When
+        List<TriageResponseDTO> pending = triageQueueService.top(TriageStatus.PENDING, 10);
+
+        // Then
+        assertThat(pending).extracting(TriageResponseDTO::getId).containsExactly(2L, 3L, 1L);
+        assertThat(triageQueueService.top(TriageStatus.IN_PROGRESS, 10))
+                .extracting(TriageResponseDTO::getId).containsExactly(4L);
+        assertThat(triageQueueService.top(TriageStatus.PENDING, 2)).hasSize(2);
+        assertThat(triageQueueService.next()).map(TriageResponseDTO::getId).contains(2L);
+    }
+
+    @Test
+    @DisplayName("Debe mover, retirar y añadir triajes según su estado")
+    void upsertAndRemove_shouldKeepQueueInSync() {
+        // When
+        triageQueueService.upsert(dto(2L, 5, NOW.plusMinutes(10), TriageStatus.IN_PROGRESS));
+        triageQueueService.upsert(dto(4L, 4, NOW, TriageStatus.COMPLETED));
+        triageQueueService.upsert(dto(5L, 4, NOW.plusMinutes(20), TriageStatus.PENDING));
+        triageQueueService.remove(1L);
+
+        // Then
+        assertThat(triageQueueService.top(TriageStatus.PENDING, 10))
+                .extracting(TriageResponseDTO::getId).containsExactly(5L, 3L);
+        assertThat(triageQueueService.top(TriageStatus.IN_PROGRESS, 10))
+                .extracting(TriageResponseDTO::getId).containsExactly(2L);
+        assertThat(triageQueueService.top(TriageStatus.COMPLETED, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Sin triajes pendientes no debe haber siguiente paciente")
+    void next_shouldBeEmptyWhenNoPendingTriages() {
+        // When
+        List.of(1L, 2L, 3L).forEach(triageQueueService::remove);
+
+        // Then
+        assertThat(triageQueueService.next()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe recoger en la conciliación los triajes cambiados en otros nodos")
+    void refresh_shouldReconcileWithDatabase() {
+        // Given
+        when(triageRepository.findByStatusIn(TriageQueueService.OPEN_STATUSES)).thenReturn(List.of(
+                triage(1L, 3, NOW, TriageStatus.IN_PROGRESS),
+                triage(3L, 3, NOW.minusMinutes(5), TriageStatus.PENDING),
+                triage(5L, 5, NOW.plusMinutes(20), TriageStatus.PENDING)));
+
+        // When
+        triageQueueService.refresh();
+
+        // Then
+        assertThat(triageQueueService.top(TriageStatus.PENDING, 10))
+                .extracting(TriageResponseDTO::getId).containsExactly(5L, 3L);
+        assertThat(triageQueueService.top(TriageStatus.IN_PROGRESS, 10))
+                .extracting(TriageResponseDTO::getId).containsExactly(1L);
+    }
+
+    private static Triage triage(Long id, int severity, LocalDateTime createdAt, TriageStatus status) {
+        return Triage.builder()
+                .id(id)
+                .patient(Patient.builder().id(id * 10).fullName("Paciente " + id).build())
+                .severityLevel(severity)
+                .createdAt(createdAt)
+                .status(status)
+                .build();
+    }
+
+    private static TriageResponseDTO dto(Long id, int severity, LocalDateTime createdAt, TriageStatus status) {
+        return new TriageMapper().toResponseDTO(triage(id, severity, createdAt, status));
+    }
+}
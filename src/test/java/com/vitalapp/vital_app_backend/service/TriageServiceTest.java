@@ -14,6 +14,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -23,11 +24,18 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import com.vitalapp.vital_app_backend.dto.common.PageResponseDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageCreateDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageResponseDTO;
+import com.vitalapp.vital_app_backend.dto.patient.PatientResponseDTO;
 import com.vitalapp.vital_app_backend.dto.triage.TriageUpdateDTO;
+import com.vitalapp.vital_app_backend.event.TriageCreatedEvent;
 import com.vitalapp.vital_app_backend.mapper.TriageMapper;
 import com.vitalapp.vital_app_backend.model.Patient;
 import com.vitalapp.vital_app_backend.model.Triage;
@@ -45,17 +53,24 @@ class TriageServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private PatientLookupCache patientLookupCache;
+
     @Mock
     private TriageMapper triageMapper;
 
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private TriageQueueService triageQueueService;
+
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
 
     @InjectMocks
     private TriageService triageService;
 
     private Triage triage;
     private Patient patient;
+    private PatientResponseDTO patientSummary;
     private TriageCreateDTO createDTO;
     private TriageResponseDTO responseDTO;
 
@@ -67,6 +82,12 @@ class TriageServiceTest {
                 .active(true)
                 .build();
 
+        patientSummary = PatientResponseDTO.builder()
+                .id(1L)
+                .fullName("Juan Pérez")
+                .active(true)
+                .build();
+
         triage = Triage.builder()
                 .id(1L)
                 .patient(patient)
@@ -112,10 +133,11 @@ class TriageServiceTest {
     @DisplayName("Debe crear triage exitosamente")
     void createTriage_shouldCreateSuccessfully() {
         // Given
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientLookupCache.findById(1L)).thenReturn(Optional.of(patientSummary));
+        when(patientRepository.getReferenceById(1L)).thenReturn(patient);
         when(triageMapper.toEntity(any(TriageCreateDTO.class))).thenReturn(triage);
         when(triageRepository.save(any(Triage.class))).thenReturn(triage);
-        when(triageMapper.toResponseDTO(any(Triage.class))).thenReturn(responseDTO);
+        when(triageMapper.toResponseDTO(any(Triage.class), eq(patientSummary))).thenReturn(responseDTO);
 
         // When
         TriageResponseDTO result = triageService.createTriage(createDTO);
@@ -125,13 +147,14 @@ class TriageServiceTest {
         assertEquals("Dolor de cabeza intenso", result.getSymptoms());
         assertEquals(TriageStatus.PENDING, result.getStatus());
         verify(triageRepository, times(1)).save(any(Triage.class));
+        verify(domainEventOutbox).append(any(TriageCreatedEvent.class));
     }
 
     @Test
     @DisplayName("Debe lanzar excepción si paciente no existe")
     void createTriage_shouldThrowExceptionWhenPatientNotFound() {
         // Given
-        when(patientRepository.findById(1L)).thenReturn(Optional.empty());
+        when(patientLookupCache.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(
@@ -179,17 +202,17 @@ class TriageServiceTest {
     @DisplayName("Debe obtener todos los triages")
     void getAllTriages_shouldReturnList() {
         // Given
-        List<Triage> triages = Arrays.asList(triage);
-        when(triageRepository.findAll()).thenReturn(triages);
+        Page<Triage> triages = new PageImpl<>(Arrays.asList(triage));
+        when(triageRepository.findAll(any(Pageable.class))).thenReturn(triages);
         when(triageMapper.toResponseDTO(any(Triage.class))).thenReturn(responseDTO);
 
         // When
-        List<TriageResponseDTO> result = triageService.getAllTriages();
+        PageResponseDTO<TriageResponseDTO> result = triageService.getAllTriages(0, 500);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(triageRepository, times(1)).findAll();
+        assertEquals(1, result.getContent().size());
+        verify(triageRepository, times(1)).findAll(PageRequest.of(0, TriageService.MAX_PAGE_SIZE, Sort.by("id")));
     }
 
     @Test
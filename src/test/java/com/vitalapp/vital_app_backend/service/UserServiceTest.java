@@ -0,0 +1,83 @@
+package com.vitalapp.vital_app_backend.service;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.vitalapp.vital_app_backend.config.UserDetailsCache;
+import com.vitalapp.vital_app_backend.config.UserRevocationCache;
+import com.vitalapp.vital_app_backend.model.User;
+import com.vitalapp.vital_app_backend.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Service Tests")
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserRevocationCache userRevocationCache;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(5L)
+                .username("enfermera")
+                .email("enfermera@vitalapp.com")
+                .password("hash")
+                .active(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Crear un usuario debe descartar su entrada de la caché de usuarios")
+    void createUser_shouldInvalidateCachedUser() {
+        // Given
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        // When
+        User created = userService.createUser(user);
+
+        // Then
+        assertThat(created).isSameAs(user);
+        verify(userDetailsCache).invalidate("enfermera");
+    }
+
+    @Test
+    @DisplayName("Eliminar un usuario debe descartarlo de las cachés y revocar sus sesiones")
+    void deleteUser_shouldInvalidateCachesAndRevokeSessions() {
+        // Given
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+
+        // When
+        userService.deleteUser(5L);
+
+        // Then
+        verify(userDetailsCache).invalidate("enfermera");
+        verify(userRepository).deleteById(5L);
+        verify(userRevocationCache).invalidate(5L);
+        verify(refreshTokenService).revokeUser(5L);
+    }
+}
@@ -0,0 +1,56 @@
+package com.vitalapp.vital_app_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityManager;
+
+@DisplayName("Entity Streams Tests")
+class EntityStreamsTest {
+
+    @Test
+    @DisplayName("Debe entregar todas las filas en orden, limpiar el contexto por lotes y cerrar el stream")
+    void forEach_shouldDeliverRowsClearContextAndCloseStream() {
+        // Given
+        EntityManager entityManager = mock(EntityManager.class);
+        AtomicBoolean closed = new AtomicBoolean();
+        int total = EntityStreams.FETCH_SIZE * 2 + 1;
+        Stream<Integer> rows = IntStream.range(0, total).boxed().onClose(() -> closed.set(true));
+        List<String> delivered = new ArrayList<>();
+
+        // When
+        long count = EntityStreams.forEach(rows, entityManager, String::valueOf, delivered::add);
+
+        // Then
+        assertThat(count).isEqualTo(total);
+        assertThat(delivered).hasSize(total).startsWith("0", "1").endsWith(String.valueOf(total - 1));
+        verify(entityManager, times(2)).clear();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe cerrar el stream aunque el destino falle")
+    void forEach_shouldCloseStreamWhenSinkFails() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> rows = Stream.of(1, 2).onClose(() -> closed.set(true));
+
+        // When & Then
+        assertThatThrownBy(() -> EntityStreams.forEach(rows, mock(EntityManager.class), row -> row, row -> {
+            throw new IllegalStateException("Cliente desconectado");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.vitalapp.vital_app_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@DisplayName("NDJSON Writer Tests")
+class NdjsonWriterTest {
+
+    @Test
+    @DisplayName("Debe escribir un documento por línea, sin separadores ni sangría")
+    void write_shouldProduceOneDocumentPerLine() throws IOException {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            writer.write(Map.of("id", 1));
+            writer.write(Map.of("id", 2));
+            writer.write(Map.of("id", 3));
+        }
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n");
+    }
+
+    @Test
+    @DisplayName("No debe cerrar el flujo de salida del cliente")
+    void close_shouldNotCloseTarget() throws IOException {
+        // Given
+        boolean[] closed = {false};
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // When
+        new NdjsonWriter(new ObjectMapper(), out).close();
+
+        // Then
+        assertThat(closed[0]).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe traducir el cierre de la conexión a una excepción no comprobada")
+    void write_shouldWrapIOException() throws IOException {
+        // Given
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        NdjsonWriter writer = new NdjsonWriter(new ObjectMapper(), broken);
+
+        // When & Then
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                writer.write(Map.of("id", i));
+            }
+        }).isInstanceOf(UncheckedIOException.class);
+    }
+}